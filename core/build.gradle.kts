@@ -0,0 +1,62 @@
+plugins {
+    id("java-library") // Java support
+    id("java-test-fixtures") // Fixture generator shared with the plugin tests and the benchmarks
+    alias(libs.plugins.jmh) // JMH benchmarks, run with ./gradlew :core:jmh
+}
+
+group = providers.gradleProperty("pluginGroup").get()
+version = providers.gradleProperty("pluginVersion").get()
+
+// Set the JVM language level used to build the project.
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    compileOnly(libs.annotations)
+    testFixturesCompileOnly(libs.annotations)
+    testImplementation(libs.junit)
+    testCompileOnly(libs.annotations)
+}
+
+// Benchmarks are not part of "check", run them explicitly with ./gradlew :core:jmh
+jmh {
+    warmupIterations = 2
+    iterations = 5
+    fork = 1
+    includes = providers.gradleProperty("jmhIncludes").map { listOf(it) }.orElse(emptyList())
+}
+
+tasks {
+    // Validates WireMock roots without an IDE, e.g. ./gradlew :core:validateWireMock -PwiremockRoots=wiremock,other/root
+    // Custom layouts are passed with -PwiremockMappings=stubs,wiremock/mappings and -PwiremockFiles=files
+    register<JavaExec>("validateWireMock") {
+        group = "verification"
+        description = "Reports dangling bodyFileName references and orphaned body files of WireMock roots"
+        mainClass = "com.github.onbassnaga.wiremockjsonplugin.WireMockValidatorCli"
+        classpath = sourceSets.main.get().runtimeClasspath
+        workingDir = rootProject.layout.projectDirectory.asFile
+
+        val roots = providers.gradleProperty("wiremockRoots")
+        val mappings = providers.gradleProperty("wiremockMappings")
+        val files = providers.gradleProperty("wiremockFiles")
+        val noOrphans = providers.gradleProperty("wiremockNoOrphans").map { it.toBoolean() }.orElse(false)
+        doFirst {
+            if (!roots.isPresent) {
+                throw GradleException("Set the WireMock roots to validate, e.g. -PwiremockRoots=wiremock,other/root")
+            }
+        }
+        argumentProviders += CommandLineArgumentProvider {
+            (if (noOrphans.get()) listOf("--no-orphans") else emptyList()) +
+                    (if (mappings.isPresent) listOf("--mappings", mappings.get()) else emptyList()) +
+                    (if (files.isPresent) listOf("--files", files.get()) else emptyList()) +
+                    roots.getOrElse("").split(',').filter { it.isNotBlank() }
+        }
+    }
+}
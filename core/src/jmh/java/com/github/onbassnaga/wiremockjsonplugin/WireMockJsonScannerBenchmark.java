@@ -0,0 +1,42 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks for scanning generated multi stub mapping files.
+ */
+@State(Scope.Benchmark)
+public class WireMockJsonScannerBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int stubs;
+
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> bodyFileNames = new ArrayList<>();
+        for (int i = 0; i < stubs; i++) {
+            bodyFileNames.add("responses/body-" + i + ".json");
+        }
+        text = WireMockFixtureGenerator.createMapping(new WireMockFixtureGenerator.Options().stubsPerFile(stubs), 0, bodyFileNames);
+    }
+
+    @Benchmark
+    public List<WireMockJsonScanner.Occurrence> findBodyFileNames() {
+        return WireMockJsonScanner.findBodyFileNames(text);
+    }
+
+    @Benchmark
+    public List<WireMockStub> findStubs() {
+        return WireMockJsonScanner.findStubs(text);
+    }
+}
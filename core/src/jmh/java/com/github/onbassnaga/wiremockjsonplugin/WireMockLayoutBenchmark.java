@@ -0,0 +1,100 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks for the layout matching of {@link WireMockLayoutPatterns}, which backs the VFS lookups of the plugin's
+ * WireMockRootLayout and the root detection of VFS events, on a generated WireMock root.
+ */
+@State(Scope.Benchmark)
+public class WireMockLayoutBenchmark {
+
+    @Param({"1000", "10000"})
+    public int files;
+
+    @Param({"1", "4"})
+    public int depth;
+
+    /**
+     * "default" uses the standard layout, "custom" several patterns with more than one segment.
+     */
+    @Param({"default", "custom"})
+    public String layout;
+
+    private Path tempDir;
+    private WireMockLayoutPatterns patterns;
+    private final List<Path> mappingFiles = new ArrayList<>();
+    private final List<String> mappingFilePaths = new ArrayList<>();
+    private final List<String> bodyFileNames = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("wiremock-benchmark");
+        Path rootDir = tempDir.resolve("wiremock");
+        patterns = "custom".equals(layout)
+                ? new WireMockLayoutPatterns(List.of("stubs", "wiremock/mappings"), List.of("files", "wiremock/__files"))
+                : WireMockLayoutPatterns.DEFAULT;
+
+        WireMockFixtureGenerator.Fixture fixture = WireMockFixtureGenerator.generate(new WireMockFixtureGenerator.Options()
+                .mappingFiles(files)
+                .bodyFiles(files)
+                .depth(depth), rootDir);
+        for (String mappingFile : fixture.getMappingFiles()) {
+            Path path = rootDir.resolve(mappingFile);
+            mappingFiles.add(path);
+            mappingFilePaths.add(path.toString().replace('\\', '/'));
+        }
+        for (String bodyFileName : fixture.getBodyFileNames()) {
+            bodyFileNames.add("/" + bodyFileName);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(tempDir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void isMappingFile(Blackhole blackhole) {
+        for (Path mappingFile : mappingFiles) {
+            blackhole.consume(patterns.isMappingFile(mappingFile));
+        }
+    }
+
+    @Benchmark
+    public void getRootPath(Blackhole blackhole) {
+        for (String mappingFilePath : mappingFilePaths) {
+            blackhole.consume(patterns.getRootPath(mappingFilePath));
+        }
+    }
+
+    @Benchmark
+    public void resolveBodyFile(Blackhole blackhole) {
+        for (int i = 0; i < mappingFiles.size(); i++) {
+            Path mappingsDir = patterns.findMappingsDirectory(mappingFiles.get(i));
+            Path filesDir = mappingsDir != null ? patterns.findFilesDirectory(mappingsDir) : null;
+            if (filesDir != null) {
+                blackhole.consume(filesDir.resolve(WireMockPaths.normalizeBodyFileName(bodyFileNames.get(i))));
+            }
+        }
+    }
+}
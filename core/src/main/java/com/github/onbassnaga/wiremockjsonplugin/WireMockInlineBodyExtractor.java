@@ -0,0 +1,224 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Finds inline response bodies ("body", "jsonBody" and "base64Body") in mapping file text with {@link WireMockJsonScanner},
+ * so that they can be moved to body files without building a PSI tree.
+ */
+public final class WireMockInlineBodyExtractor {
+
+    /**
+     * The response properties that hold an inline body.
+     */
+    public static final Set<String> INLINE_BODY_PROPERTIES = Set.of("body", "jsonBody", "base64Body");
+
+    private WireMockInlineBodyExtractor() {
+    }
+
+    /**
+     * An inline body of a stub and the range of its property in the text.
+     */
+    public static final class InlineBody {
+        private final int stubIndex;
+        private final int stubOffset;
+        private int stubEnd;
+        private final String property;
+        private final int start;
+        private final int valueStart;
+        private final int end;
+
+        private InlineBody(int stubIndex, int stubOffset, String property, int start, int valueStart, int end) {
+            this.stubIndex = stubIndex;
+            this.stubOffset = stubOffset;
+            this.property = property;
+            this.start = start;
+            this.valueStart = valueStart;
+            this.end = end;
+        }
+
+        /**
+         * Gets the index of the stub in the mapping file.
+         */
+        public int getStubIndex() {
+            return stubIndex;
+        }
+
+        /**
+         * Gets the offset of the opening brace of the stub.
+         */
+        public int getStubOffset() {
+            return stubOffset;
+        }
+
+        /**
+         * Gets the offset right after the closing brace of the stub, or the text length if the stub is not closed.
+         */
+        public int getStubEnd() {
+            return stubEnd;
+        }
+
+        /**
+         * Checks if the given offset is inside the stub of this body.
+         */
+        public boolean isInStub(int offset) {
+            return offset >= stubOffset && offset < stubEnd;
+        }
+
+        /**
+         * Gets the name of the property, one of {@link #INLINE_BODY_PROPERTIES}.
+         */
+        public @NotNull String getProperty() {
+            return property;
+        }
+
+        /**
+         * Gets the offset of the opening quote of the property name.
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * Gets the offset right after the value.
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        /**
+         * Gets the content of the body file for this body.
+         *
+         * @param text The mapping file text
+         * @return The bytes to write, or null if the value cannot be converted (e.g. invalid base64)
+         */
+        public byte @Nullable [] getContent(@NotNull CharSequence text) {
+            switch (property) {
+                case "jsonBody":
+                    return text.subSequence(valueStart, end).toString().getBytes(StandardCharsets.UTF_8);
+                case "body":
+                    if (!WireMockJsonScanner.isString(text, valueStart)) return null;
+                    return WireMockJsonScanner.unquote(text, valueStart, end).getBytes(StandardCharsets.UTF_8);
+                default:
+                    if (!WireMockJsonScanner.isString(text, valueStart)) return null;
+                    try {
+                        return Base64.getMimeDecoder().decode(WireMockJsonScanner.unquote(text, valueStart, end));
+                    } catch (IllegalArgumentException e) {
+                        return null;
+                    }
+            }
+        }
+
+        /**
+         * Guesses the extension of the body file from the property and the start of the value.
+         *
+         * @param text The mapping file text
+         * @return The extension without a dot
+         */
+        public @NotNull String getExtension(@NotNull CharSequence text) {
+            if ("jsonBody".equals(property)) return "json";
+            if ("base64Body".equals(property)) return "bin";
+
+            // Look at the first characters of the string content only
+            int i = valueStart + 1;
+            while (i < end - 1 && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (i >= end - 1) return "txt";
+
+            char first = text.charAt(i);
+            if (first == '{' || first == '[') return "json";
+            if (first == '<') {
+                String head = text.subSequence(i, Math.min(end, i + 200)).toString().toLowerCase(Locale.ROOT);
+                return head.contains("<html") || head.contains("<!doctype html") ? "html" : "xml";
+            }
+            return "txt";
+        }
+    }
+
+    /**
+     * Finds the inline bodies of all stubs in the given mapping file text.
+     * Stubs that already have a "bodyFileName" are skipped.
+     *
+     * @param text The JSON text of a mapping file
+     * @return The inline bodies in document order
+     */
+    public static @NotNull List<InlineBody> findInlineBodies(@NotNull CharSequence text) {
+        InlineBodyCollector collector = new InlineBodyCollector();
+        WireMockJsonScanner.scan(text, collector);
+        collector.finishStub(text.length());
+        return collector.result;
+    }
+
+    /**
+     * Collects the inline bodies of the root object or of the elements of a top level "mappings" array.
+     */
+    private static final class InlineBodyCollector implements WireMockJsonScanner.Visitor {
+        private final List<InlineBody> result = new ArrayList<>();
+        private InlineBody currentBody;
+        private boolean hasBodyFileName;
+        private int stubIndex = -1;
+        private int stubOffset;
+        private int stubDepth;
+        private int mappingsCount;
+
+        @Override
+        public void visitObjectStart(WireMockJsonScanner.@NotNull Path path, int offset) {
+            if (path.size() == 0) {
+                startStub(0, offset, 0);
+            } else if (path.is("mappings", WireMockJsonScanner.ARRAY_ELEMENT)) {
+                startStub(mappingsCount++, offset, path.size());
+            }
+        }
+
+        @Override
+        public void visitObjectEnd(WireMockJsonScanner.@NotNull Path path, int offset) {
+            if (stubIndex >= 0 && path.size() == stubDepth && (path.size() == 0 || path.is("mappings", WireMockJsonScanner.ARRAY_ELEMENT))) {
+                finishStub(offset);
+                stubIndex = -1;
+            }
+        }
+
+        @Override
+        public void visitPropertyName(WireMockJsonScanner.@NotNull Path path, @NotNull CharSequence text, int start, int end) {
+            if (stubIndex < 0 || path.size() != stubDepth + 2 || !"response".equals(path.get(stubDepth))) return;
+
+            String name = path.last();
+            if ("bodyFileName".equals(name)) {
+                hasBodyFileName = true;
+            } else if (INLINE_BODY_PROPERTIES.contains(name) && currentBody == null) {
+                int valueStart = WireMockJsonScanner.skipToValue(text, end);
+                currentBody = new InlineBody(stubIndex, stubOffset, name, start, valueStart, WireMockJsonScanner.skipValue(text, valueStart));
+            }
+        }
+
+        @Override
+        public void visitValue(WireMockJsonScanner.@NotNull Path path, @NotNull CharSequence text, int start, int end) {
+        }
+
+        private void startStub(int index, int offset, int depth) {
+            // A root object with a "mappings" array ends where its first stub starts
+            finishStub(offset);
+            stubIndex = index;
+            stubOffset = offset;
+            stubDepth = depth;
+        }
+
+        private void finishStub(int end) {
+            if (currentBody != null && !hasBodyFileName) {
+                currentBody.stubEnd = end;
+                result.add(currentBody);
+            }
+            currentBody = null;
+            hasBodyFileName = false;
+        }
+    }
+}
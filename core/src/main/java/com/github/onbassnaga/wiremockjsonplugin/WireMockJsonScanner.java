@@ -0,0 +1,490 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streaming scanner for JSON text that does not build a PSI tree.
+ * Walks the text once, keeps only the stack of property names leading to the current value, and reports every
+ * value together with its offsets. String values are never copied unless a visitor asks for them,
+ * so very large inline bodies cost nothing but a scan over their characters.
+ * The scanner is lenient: malformed input never causes an exception, scanning just continues or stops.
+ */
+public final class WireMockJsonScanner {
+
+    /**
+     * Path element used for the elements of an array.
+     */
+    public static final String ARRAY_ELEMENT = "[]";
+
+    /**
+     * The request properties WireMock uses to match the URL of a request.
+     */
+    public static final Set<String> URL_MATCHERS = Set.of("url", "urlPath", "urlPattern", "urlPathPattern");
+
+    private WireMockJsonScanner() {
+    }
+
+    /**
+     * Receives the values found by the scanner.
+     */
+    public interface Visitor {
+
+        /**
+         * Called for every string, number, boolean or null value.
+         *
+         * @param path The property names leading to the value, {@link #ARRAY_ELEMENT} for array elements
+         * @param text The scanned text
+         * @param start The start offset of the value, including the opening quote of strings
+         * @param end The end offset of the value, including the closing quote of strings
+         */
+        void visitValue(@NotNull Path path, @NotNull CharSequence text, int start, int end);
+
+        /**
+         * Called for every property name, before its value is visited.
+         *
+         * @param path The property names leading to the value of the property, ending with this name
+         * @param text The scanned text
+         * @param start The offset of the opening quote of the name
+         * @param end The offset right after the closing quote of the name
+         */
+        default void visitPropertyName(@NotNull Path path, @NotNull CharSequence text, int start, int end) {
+        }
+
+        /**
+         * Called when an object starts.
+         *
+         * @param path The property names leading to the object
+         * @param offset The offset of the opening brace
+         */
+        default void visitObjectStart(@NotNull Path path, int offset) {
+        }
+
+        /**
+         * Called when an object ends.
+         *
+         * @param path The property names leading to the object
+         * @param offset The offset right after the closing brace
+         */
+        default void visitObjectEnd(@NotNull Path path, int offset) {
+        }
+    }
+
+    /**
+     * The property names leading to the current value. Only valid during a visitor call.
+     */
+    public static final class Path {
+        private final List<String> names = new ArrayList<>();
+
+        public int size() {
+            return names.size();
+        }
+
+        public @NotNull String get(int index) {
+            return names.get(index);
+        }
+
+        public @NotNull String last() {
+            return names.isEmpty() ? "" : names.get(names.size() - 1);
+        }
+
+        /**
+         * Checks if this path ends with the given property names.
+         */
+        public boolean endsWith(@NotNull String... suffix) {
+            if (suffix.length > names.size()) return false;
+
+            int offset = names.size() - suffix.length;
+            for (int i = 0; i < suffix.length; i++) {
+                if (!suffix[i].equals(names.get(offset + i))) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Checks if this path is exactly the given property names.
+         */
+        public boolean is(@NotNull String... names) {
+            return names.length == this.names.size() && endsWith(names);
+        }
+
+        private void push(String name) {
+            names.add(name);
+        }
+
+        private void pop() {
+            if (!names.isEmpty()) {
+                names.remove(names.size() - 1);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.join(".", names);
+        }
+    }
+
+    /**
+     * A bodyFileName value and the offset of its string literal.
+     */
+    public static final class Occurrence {
+        private final String value;
+        private final int offset;
+        private final int endOffset;
+
+        public Occurrence(@NotNull String value, int offset, int endOffset) {
+            this.value = value;
+            this.offset = offset;
+            this.endOffset = endOffset;
+        }
+
+        public @NotNull String getValue() {
+            return value;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        public int getEndOffset() {
+            return endOffset;
+        }
+    }
+
+    /**
+     * Finds all bodyFileName string values in the given JSON text.
+     *
+     * @param text The JSON text
+     * @return The bodyFileName values in document order
+     */
+    public static @NotNull List<Occurrence> findBodyFileNames(@NotNull CharSequence text) {
+        List<Occurrence> result = new ArrayList<>();
+        scan(text, (path, scanned, start, end) -> {
+            if ("bodyFileName".equals(path.last()) && isString(scanned, start)) {
+                result.add(new Occurrence(unquote(scanned, start, end), start, end));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Finds all stubs in the given mapping file text.
+     * Handles both single stub files and the multi stub format with a top level "mappings" array.
+     *
+     * @param text The JSON text of a mapping file
+     * @return The stubs in document order
+     */
+    public static @NotNull List<WireMockStub> findStubs(@NotNull CharSequence text) {
+        StubCollector collector = new StubCollector();
+        scan(text, collector);
+        return collector.getStubs();
+    }
+
+    /**
+     * Scans the given JSON text and reports all values to the visitor.
+     *
+     * @param text The JSON text
+     * @param visitor The visitor to report values to
+     */
+    public static void scan(@NotNull CharSequence text, @NotNull Visitor visitor) {
+        Path path = new Path();
+        // Kinds of the open containers, true for objects and false for arrays
+        boolean[] containers = new boolean[16];
+        int depth = 0;
+        boolean expectKey = false;
+
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == ',' || c == ':') {
+                i++;
+                continue;
+            }
+
+            if (c == '}' || c == ']') {
+                if (depth > 0 && containers[depth - 1] == (c == '}')) {
+                    depth--;
+                    if (c == '}') {
+                        visitor.visitObjectEnd(path, i + 1);
+                    } else {
+                        path.pop();
+                    }
+                    expectKey = afterValue(path, containers, depth);
+                }
+                i++;
+                continue;
+            }
+
+            if (expectKey) {
+                if (c == '"' || c == '\'') {
+                    int end = skipString(text, i);
+                    path.push(unquote(text, i, end));
+                    visitor.visitPropertyName(path, text, i, end);
+                    expectKey = false;
+                    i = end;
+                } else {
+                    i++;
+                }
+                continue;
+            }
+
+            if (c == '{' || c == '[') {
+                if (depth == containers.length) {
+                    boolean[] grown = new boolean[containers.length * 2];
+                    System.arraycopy(containers, 0, grown, 0, containers.length);
+                    containers = grown;
+                }
+                containers[depth++] = c == '{';
+                if (c == '{') {
+                    visitor.visitObjectStart(path, i);
+                    expectKey = true;
+                } else {
+                    path.push(ARRAY_ELEMENT);
+                }
+                i++;
+                continue;
+            }
+
+            int end = c == '"' || c == '\'' ? skipString(text, i) : skipLiteral(text, i);
+            visitor.visitValue(path, text, i, end);
+            expectKey = afterValue(path, containers, depth);
+            i = end;
+        }
+    }
+
+    /**
+     * Finds the end of the value that starts at the given offset, skipping nested objects and arrays.
+     *
+     * @param text The JSON text
+     * @param start The offset of the first character of the value
+     * @return The offset right after the value
+     */
+    public static int skipValue(@NotNull CharSequence text, int start) {
+        if (start >= text.length()) return start;
+
+        char c = text.charAt(start);
+        if (c == '"' || c == '\'') return skipString(text, start);
+        if (c != '{' && c != '[') return skipLiteral(text, start);
+
+        int depth = 0;
+        int length = text.length();
+        int i = start;
+        while (i < length) {
+            c = text.charAt(i);
+            if (c == '"' || c == '\'') {
+                i = skipString(text, i);
+                continue;
+            }
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if ((c == '}' || c == ']') && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return length;
+    }
+
+    /**
+     * Finds the start of the value of a property, skipping the colon and whitespace after its name.
+     *
+     * @param text The JSON text
+     * @param nameEnd The offset right after the closing quote of the property name
+     * @return The offset of the first character of the value
+     */
+    public static int skipToValue(@NotNull CharSequence text, int nameEnd) {
+        int length = text.length();
+        int i = nameEnd;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t' && c != ':') break;
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Checks if the value starting at the given offset is a string.
+     */
+    public static boolean isString(@NotNull CharSequence text, int start) {
+        char c = text.charAt(start);
+        return c == '"' || c == '\'';
+    }
+
+    /**
+     * Gets the content of a quoted string value with all escape sequences resolved.
+     *
+     * @param text The JSON text
+     * @param start The offset of the opening quote
+     * @param end The offset right after the closing quote
+     * @return The string content
+     */
+    public static @NotNull String unquote(@NotNull CharSequence text, int start, int end) {
+        int contentEnd = end > start + 1 && text.charAt(end - 1) == text.charAt(start) ? end - 1 : end;
+        StringBuilder builder = new StringBuilder(Math.max(0, contentEnd - start - 1));
+        for (int i = start + 1; i < contentEnd; i++) {
+            char c = text.charAt(i);
+            if (c != '\\' || i + 1 >= contentEnd) {
+                builder.append(c);
+                continue;
+            }
+            char escaped = text.charAt(++i);
+            switch (escaped) {
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> {
+                    int code = i + 4 < contentEnd ? parseHex(text, i + 1, i + 5) : -1;
+                    if (code >= 0) {
+                        builder.append((char) code);
+                        i += 4;
+                    } else {
+                        builder.append(escaped);
+                    }
+                }
+                default -> builder.append(escaped);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Collects stubs, either the root object or the elements of a top level "mappings" array.
+     */
+    private static final class StubCollector implements Visitor {
+        private final List<WireMockStub> stubs = new ArrayList<>();
+        private WireMockStub rootStub;
+        private WireMockStub currentStub;
+        private int stubDepth;
+
+        @Override
+        public void visitObjectStart(@NotNull Path path, int offset) {
+            if (path.size() == 0 && rootStub == null) {
+                rootStub = new WireMockStub(0, offset);
+                currentStub = rootStub;
+                stubDepth = 0;
+            } else if (path.is("mappings", ARRAY_ELEMENT)) {
+                currentStub = new WireMockStub(stubs.size(), offset);
+                stubDepth = path.size();
+                stubs.add(currentStub);
+            }
+        }
+
+        @Override
+        public void visitObjectEnd(@NotNull Path path, int offset) {
+            if (currentStub != null && path.size() == stubDepth) {
+                currentStub.setEndOffset(offset);
+                if (currentStub == rootStub) {
+                    currentStub = null;
+                } else {
+                    // Continue with the properties of the root object after the array element
+                    currentStub = rootStub;
+                    stubDepth = 0;
+                }
+            }
+        }
+
+        @Override
+        public void visitValue(@NotNull Path path, @NotNull CharSequence text, int start, int end) {
+            if (currentStub == null) return;
+
+            String name = path.last();
+            int relativeDepth = path.size() - stubDepth;
+            if (!isString(text, start)) {
+                if (relativeDepth == 1 && "priority".equals(name)) {
+                    currentStub.setPriority(parseInt(text, start, end));
+                }
+                return;
+            }
+
+            if ("bodyFileName".equals(name)) {
+                currentStub.addBodyFileName(new Occurrence(unquote(text, start, end), start, end));
+            } else if (relativeDepth == 1 && ("id".equals(name) || "uuid".equals(name)) && currentStub.getId() == null) {
+                currentStub.setId(unquote(text, start, end));
+            } else if (relativeDepth == 1 && "name".equals(name)) {
+                currentStub.setName(unquote(text, start, end));
+            } else if (relativeDepth == 2 && "request".equals(path.get(stubDepth))) {
+                if ("method".equals(name)) {
+                    currentStub.setMethod(unquote(text, start, end));
+                } else if (URL_MATCHERS.contains(name)) {
+                    currentStub.setUrl(name, unquote(text, start, end));
+                }
+            }
+        }
+
+        private List<WireMockStub> getStubs() {
+            // The root object is only a stub itself if it has no "mappings" array
+            if (stubs.isEmpty() && rootStub != null) {
+                return List.of(rootStub);
+            }
+            return stubs;
+        }
+    }
+
+    /**
+     * Updates the scanner state after a complete value and returns whether a property name is expected next.
+     */
+    private static boolean afterValue(Path path, boolean[] containers, int depth) {
+        if (depth > 0 && containers[depth - 1]) {
+            // The value belonged to a property, so its name is no longer part of the path
+            path.pop();
+            return true;
+        }
+        return false;
+    }
+
+    private static int skipString(CharSequence text, int start) {
+        char quote = text.charAt(start);
+        int length = text.length();
+        int i = start + 1;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    private static int skipLiteral(CharSequence text, int start) {
+        int length = text.length();
+        int i = start + 1;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '}' || c == ']' || c == ':' || c == '"' || c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static @Nullable Integer parseInt(CharSequence text, int start, int end) {
+        try {
+            return Integer.parseInt(text.subSequence(start, end).toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int parseHex(CharSequence text, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(text.charAt(i), 16);
+            if (digit < 0) return -1;
+            result = result * 16 + digit;
+        }
+        return result;
+    }
+}
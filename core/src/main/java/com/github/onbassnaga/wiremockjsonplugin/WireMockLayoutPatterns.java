@@ -0,0 +1,252 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Compiled directory patterns of WireMock roots, shared by the IDE plugin and the command line validator.
+ * A pattern is a relative directory path like "mappings", "stubs" or "wiremock/files" that matches a directory
+ * whose trailing path segments are equal to it. Patterns are indexed by their last segment, so checking a directory
+ * is a single hash lookup on its name, and only directories with a matching name compare their parents.
+ * Body file directories are looked up in a mappings directory itself and then in each of its parents, which lets
+ * several mappings directories share one body file directory.
+ */
+public final class WireMockLayoutPatterns {
+
+    /**
+     * The standard WireMock layout with "mappings" and "__files" directories.
+     */
+    public static final WireMockLayoutPatterns DEFAULT = new WireMockLayoutPatterns(
+            List.of(WireMockPaths.MAPPINGS_DIRECTORY), List.of(WireMockPaths.FILES_DIRECTORY));
+
+    private final List<String> mappingsPatterns;
+    private final List<String> filesPatterns;
+    private final Map<String, List<String[]>> mappingsByName;
+    private final Map<String, List<String[]>> filesByName;
+
+    /**
+     * Compiles the given patterns. Blank patterns are ignored, and leading or trailing slashes are removed.
+     *
+     * @param mappingsPatterns The patterns of mappings directories
+     * @param filesPatterns The patterns of body file directories, in lookup order
+     */
+    public WireMockLayoutPatterns(@NotNull List<String> mappingsPatterns, @NotNull List<String> filesPatterns) {
+        this.mappingsPatterns = normalize(mappingsPatterns, WireMockPaths.MAPPINGS_DIRECTORY);
+        this.filesPatterns = normalize(filesPatterns, WireMockPaths.FILES_DIRECTORY);
+        this.mappingsByName = compile(this.mappingsPatterns);
+        this.filesByName = compile(this.filesPatterns);
+    }
+
+    public @NotNull List<String> getMappingsPatterns() {
+        return mappingsPatterns;
+    }
+
+    public @NotNull List<String> getFilesPatterns() {
+        return filesPatterns;
+    }
+
+    /**
+     * Gets the last segments of all patterns, i.e. the names of the directories that can start a WireMock root.
+     */
+    public @NotNull Set<String> getDirectoryNames() {
+        Set<String> names = new HashSet<>(mappingsByName.keySet());
+        names.addAll(filesByName.keySet());
+        return names;
+    }
+
+    /**
+     * Checks if the given directory name is the last segment of any pattern.
+     */
+    public boolean isDirectoryName(@NotNull String name) {
+        return mappingsByName.containsKey(name) || filesByName.containsKey(name);
+    }
+
+    /**
+     * Gets the number of segments of the mappings pattern matching a directory.
+     *
+     * @param dir The directory to check
+     * @param nameOf Gets the name of a directory
+     * @param parentOf Gets the parent of a directory, null above the file system root
+     * @return The number of segments of the matching pattern, -1 if no pattern matches
+     */
+    public <T> int matchMappingsDirectory(@NotNull T dir, @NotNull Function<? super T, String> nameOf,
+                                          @NotNull Function<? super T, ? extends T> parentOf) {
+        return matchDepth(mappingsByName, dir, nameOf, parentOf);
+    }
+
+    /**
+     * Gets the number of segments of the body file directory pattern matching a directory.
+     *
+     * @param dir The directory to check
+     * @param nameOf Gets the name of a directory
+     * @param parentOf Gets the parent of a directory, null above the file system root
+     * @return The number of segments of the matching pattern, -1 if no pattern matches
+     */
+    public <T> int matchFilesDirectory(@NotNull T dir, @NotNull Function<? super T, String> nameOf,
+                                       @NotNull Function<? super T, ? extends T> parentOf) {
+        return matchDepth(filesByName, dir, nameOf, parentOf);
+    }
+
+    /**
+     * Gets the path of the directory containing the outermost matched mappings or body file directory of a path,
+     * e.g. "/project/wiremock" for "/project/wiremock/mappings/users/get.json".
+     *
+     * @param path A path with "/" as separator
+     * @return The root path, or null if the path is not located in a WireMock directory
+     */
+    public @Nullable String getRootPath(@NotNull String path) {
+        String[] segments = path.split("/");
+        for (int i = 0; i < segments.length; i++) {
+            int start = matchStart(mappingsByName, segments, i);
+            if (start < 0) {
+                start = matchStart(filesByName, segments, i);
+            }
+            if (start >= 0) {
+                return String.join("/", Arrays.copyOfRange(segments, 0, start));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the innermost mappings directory containing the given file.
+     *
+     * @param file The file to start from
+     * @return The mappings directory, or null if the file is not located under one
+     */
+    public @Nullable Path findMappingsDirectory(@NotNull Path file) {
+        Path parent = file.getParent();
+        while (parent != null) {
+            if (matchDepth(mappingsByName, parent, WireMockLayoutPatterns::getName, Path::getParent) >= 0) return parent;
+            parent = parent.getParent();
+        }
+        return null;
+    }
+
+    /**
+     * Finds the body file directory of a mappings directory by looking for a pattern in the mappings directory itself
+     * first and then in each of its parents, so a nested directory such as mappings/__files wins over a sibling one.
+     *
+     * @param mappingsDir The mappings directory
+     * @return The body file directory if found, null otherwise
+     */
+    public @Nullable Path findFilesDirectory(@NotNull Path mappingsDir) {
+        Path currentDir = mappingsDir;
+        while (currentDir != null) {
+            for (String pattern : filesPatterns) {
+                Path filesDir = currentDir.resolve(pattern);
+                if (Files.isDirectory(filesDir)) {
+                    return filesDir;
+                }
+            }
+            currentDir = currentDir.getParent();
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the given file is a JSON file under a mappings directory.
+     */
+    public boolean isMappingFile(@NotNull Path file) {
+        Path fileName = file.getFileName();
+        return fileName != null && WireMockPaths.isJsonFileName(fileName.toString()) && findMappingsDirectory(file) != null;
+    }
+
+    private static String getName(Path path) {
+        Path fileName = path.getFileName();
+        return fileName != null ? fileName.toString() : "";
+    }
+
+    /**
+     * Gets the index of the first segment of a pattern ending at segment i, or -1 if no pattern ends there.
+     */
+    private static int matchStart(Map<String, List<String[]>> patterns, String[] segments, int i) {
+        List<String[]> candidates = patterns.get(segments[i]);
+        if (candidates == null) return -1;
+
+        for (String[] parents : candidates) {
+            if (i < parents.length) continue;
+
+            boolean match = true;
+            for (int j = 0; j < parents.length && match; j++) {
+                match = parents[j].equals(segments[i - 1 - j]);
+            }
+            if (match) return i - parents.length;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of segments of the pattern matching the given directory, or -1 if no pattern matches.
+     */
+    private static <T> int matchDepth(Map<String, List<String[]>> patterns, T dir, Function<? super T, String> nameOf,
+                                      Function<? super T, ? extends T> parentOf) {
+        List<String[]> candidates = patterns.get(nameOf.apply(dir));
+        if (candidates == null) return -1;
+
+        for (String[] parents : candidates) {
+            T current = parentOf.apply(dir);
+            int j = 0;
+            while (j < parents.length && current != null && parents[j].equals(nameOf.apply(current))) {
+                current = parentOf.apply(current);
+                j++;
+            }
+            if (j == parents.length) return parents.length + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Indexes the patterns by their last segment. The values hold the remaining segments, innermost first.
+     */
+    private static Map<String, List<String[]>> compile(List<String> patterns) {
+        Map<String, List<String[]>> result = new HashMap<>();
+        for (String pattern : patterns) {
+            String[] segments = pattern.split("/");
+            String[] parents = new String[segments.length - 1];
+            for (int i = 0; i < parents.length; i++) {
+                parents[i] = segments[segments.length - 2 - i];
+            }
+            result.computeIfAbsent(segments[segments.length - 1], name -> new ArrayList<>()).add(parents);
+        }
+        return result;
+    }
+
+    private static List<String> normalize(List<String> patterns, String defaultPattern) {
+        List<String> result = new ArrayList<>();
+        for (String pattern : patterns) {
+            String normalized = pattern.trim().replace('\\', '/').replaceAll("/{2,}", "/").replaceAll("^/|/$", "");
+            if (!normalized.isEmpty() && !result.contains(normalized)) {
+                result.add(normalized);
+            }
+        }
+        if (result.isEmpty()) {
+            result.add(defaultPattern);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WireMockLayoutPatterns other)) return false;
+        return mappingsPatterns.equals(other.mappingsPatterns) && filesPatterns.equals(other.filesPatterns);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * mappingsPatterns.hashCode() + filesPatterns.hashCode();
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+
+/**
+ * Path logic of WireMock roots on {@link Path}, shared by the IDE plugin and the command line validator.
+ * Directory lookups depend on the configured layout and live in {@link WireMockLayoutPatterns}.
+ */
+public final class WireMockPaths {
+
+    /**
+     * Name of the directory that contains the mapping files of a WireMock root with the standard layout.
+     */
+    public static final String MAPPINGS_DIRECTORY = "mappings";
+
+    /**
+     * Name of the directory that contains the body files of a WireMock root with the standard layout.
+     */
+    public static final String FILES_DIRECTORY = "__files";
+
+    private WireMockPaths() {
+    }
+
+    /**
+     * Checks if the given file name is the name of a mapping file.
+     *
+     * @param fileName The file name to check
+     * @return true if the name has a .json extension, false otherwise
+     */
+    public static boolean isJsonFileName(@NotNull String fileName) {
+        return fileName.regionMatches(true, fileName.length() - 5, ".json", 0, 5);
+    }
+
+    /**
+     * Normalizes a bodyFileName value so that it is relative to the "__files" directory.
+     *
+     * @param bodyFileName The bodyFileName value from the mapping file
+     * @return The normalized path without a leading slash
+     */
+    public static @NotNull String normalizeBodyFileName(@NotNull String bodyFileName) {
+        if (bodyFileName.startsWith("/")) {
+            return bodyFileName.substring(1);
+        }
+        return bodyFileName;
+    }
+
+    /**
+     * Gets the relative path of a file from a base directory, always with "/" as separator.
+     *
+     * @param baseDir The base directory
+     * @param file The file to get the relative path for
+     * @return The relative path as a string
+     */
+    public static @NotNull String getRelativePath(@NotNull Path baseDir, @NotNull Path file) {
+        return baseDir.relativize(file).toString().replace('\\', '/');
+    }
+}
@@ -0,0 +1,132 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A stub mapping found in a WireMock mapping file by {@link WireMockJsonScanner#findStubs}.
+ * A mapping file either holds a single stub or a "mappings" array with several stubs.
+ */
+public final class WireMockStub {
+
+    private final int index;
+    private final int offset;
+    private int endOffset;
+    private String id;
+    private String name;
+    private Integer priority;
+    private String method;
+    private String urlMatcher;
+    private String url;
+    private final List<WireMockJsonScanner.Occurrence> bodyFileNames = new ArrayList<>();
+
+    WireMockStub(int index, int offset) {
+        this.index = index;
+        this.offset = offset;
+        this.endOffset = offset;
+    }
+
+    /**
+     * Gets the position of this stub in its mapping file, starting at 0.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the offset of the opening brace of this stub.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the offset right after the closing brace of this stub.
+     */
+    public int getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * Gets the "id" (or "uuid") of this stub.
+     */
+    public @Nullable String getId() {
+        return id;
+    }
+
+    /**
+     * Gets the "name" of this stub.
+     */
+    public @Nullable String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the "priority" of this stub, null if it has none.
+     */
+    public @Nullable Integer getPriority() {
+        return priority;
+    }
+
+    /**
+     * Gets the "request.method" of this stub, null if it has none.
+     */
+    public @Nullable String getMethod() {
+        return method;
+    }
+
+    /**
+     * Gets the kind of URL matcher of this stub, i.e. "url", "urlPath", "urlPattern" or "urlPathPattern",
+     * or null if the stub matches any URL.
+     */
+    public @Nullable String getUrlMatcher() {
+        return urlMatcher;
+    }
+
+    /**
+     * Gets the value of the URL matcher of this stub, null if the stub matches any URL.
+     */
+    public @Nullable String getUrl() {
+        return url;
+    }
+
+    /**
+     * Gets the bodyFileName values of this stub.
+     */
+    public @NotNull List<WireMockJsonScanner.Occurrence> getBodyFileNames() {
+        return Collections.unmodifiableList(bodyFileNames);
+    }
+
+    void setEndOffset(int endOffset) {
+        this.endOffset = endOffset;
+    }
+
+    void setId(String id) {
+        this.id = id;
+    }
+
+    void setName(String name) {
+        this.name = name;
+    }
+
+    void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
+    void setMethod(String method) {
+        this.method = method;
+    }
+
+    void setUrl(String urlMatcher, String url) {
+        this.urlMatcher = urlMatcher;
+        this.url = url;
+    }
+
+    void addBodyFileName(WireMockJsonScanner.Occurrence occurrence) {
+        bodyFileNames.add(occurrence);
+    }
+}
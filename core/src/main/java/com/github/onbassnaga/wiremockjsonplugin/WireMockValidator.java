@@ -0,0 +1,335 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Checks the consistency of mapping files and body files of a WireMock root without an IDE.
+ * Reports bodyFileName values that point at missing files and body files that no mapping file references.
+ * Mapping and body file directories are found with {@link WireMockLayoutPatterns}, so custom layouts are checked
+ * the same way the IDE plugin resolves them. Mapping files are read and scanned with {@link WireMockJsonScanner}
+ * in parallel on a fork-join pool, and body file existence is checked against a set built from a single walk of
+ * every body file directory.
+ */
+public final class WireMockValidator {
+
+    private final ForkJoinPool pool;
+    private final WireMockLayoutPatterns patterns;
+
+    /**
+     * Creates a validator for roots with the standard layout.
+     *
+     * @param parallelism The number of threads used to scan mapping files
+     */
+    public WireMockValidator(int parallelism) {
+        this(parallelism, WireMockLayoutPatterns.DEFAULT);
+    }
+
+    /**
+     * @param parallelism The number of threads used to scan mapping files
+     * @param patterns The layout of the roots, the same patterns the IDE plugin is configured with
+     */
+    public WireMockValidator(int parallelism, @NotNull WireMockLayoutPatterns patterns) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.patterns = patterns;
+    }
+
+    /**
+     * A bodyFileName value whose body file does not exist.
+     */
+    public static final class DanglingReference {
+        private final Path mappingFile;
+        private final int line;
+        private final String bodyFileName;
+
+        public DanglingReference(@NotNull Path mappingFile, int line, @NotNull String bodyFileName) {
+            this.mappingFile = mappingFile;
+            this.line = line;
+            this.bodyFileName = bodyFileName;
+        }
+
+        public @NotNull Path getMappingFile() {
+            return mappingFile;
+        }
+
+        /**
+         * Gets the 1-based line of the bodyFileName value.
+         */
+        public int getLine() {
+            return line;
+        }
+
+        public @NotNull String getBodyFileName() {
+            return bodyFileName;
+        }
+    }
+
+    /**
+     * The result of validating a WireMock root.
+     */
+    public static final class Report {
+        private final Path rootDir;
+        private final int mappingFileCount;
+        private final int bodyFileCount;
+        private final List<DanglingReference> danglingReferences;
+        private final List<Path> orphanedBodyFiles;
+
+        public Report(@NotNull Path rootDir, int mappingFileCount, int bodyFileCount,
+                      @NotNull List<DanglingReference> danglingReferences, @NotNull List<Path> orphanedBodyFiles) {
+            this.rootDir = rootDir;
+            this.mappingFileCount = mappingFileCount;
+            this.bodyFileCount = bodyFileCount;
+            this.danglingReferences = danglingReferences;
+            this.orphanedBodyFiles = orphanedBodyFiles;
+        }
+
+        public @NotNull Path getRootDir() {
+            return rootDir;
+        }
+
+        public int getMappingFileCount() {
+            return mappingFileCount;
+        }
+
+        public int getBodyFileCount() {
+            return bodyFileCount;
+        }
+
+        /**
+         * Gets the dangling references, sorted by mapping file and line.
+         */
+        public @NotNull List<DanglingReference> getDanglingReferences() {
+            return danglingReferences;
+        }
+
+        /**
+         * Gets the body files that no mapping file references, sorted by path.
+         */
+        public @NotNull List<Path> getOrphanedBodyFiles() {
+            return orphanedBodyFiles;
+        }
+    }
+
+    /**
+     * Validates a WireMock root.
+     *
+     * @param rootDir The directory containing the mappings and body file directories, or a mappings directory itself
+     * @return The report
+     */
+    public @NotNull Report validate(@NotNull Path rootDir) throws IOException {
+        // A mappings directory is reported with the root it belongs to, but only its own mapping files are checked
+        // for dangling references
+        int depth = patterns.matchMappingsDirectory(rootDir, WireMockValidator::getName, Path::getParent);
+        Path root = rootDir;
+        for (int i = 0; i < depth && root.getParent() != null; i++) {
+            root = root.getParent();
+        }
+
+        // Walk the root once for the mapping files and the body file directories it contains
+        List<Path> mappingFiles = new ArrayList<>();
+        Set<Path> filesDirs = new LinkedHashSet<>();
+        if (Files.isDirectory(rootDir)) {
+            try (Stream<Path> stream = Files.walk(rootDir)) {
+                stream.forEach(file -> {
+                    if (Files.isDirectory(file)) {
+                        if (patterns.matchFilesDirectory(file, WireMockValidator::getName, Path::getParent) >= 0) {
+                            filesDirs.add(file);
+                        }
+                    } else if (patterns.isMappingFile(file)) {
+                        mappingFiles.add(file);
+                    }
+                });
+            }
+        }
+
+        // Look up the body file directory once per mappings directory, it may be outside of the root
+        Map<Path, Path> filesDirByMappingsDir = new HashMap<>();
+        Map<Path, Path> filesDirByMappingFile = new HashMap<>();
+        for (Path mappingFile : mappingFiles) {
+            Path filesDir = findFilesDirectory(mappingFile, filesDirByMappingsDir);
+            if (filesDir != null) {
+                filesDirByMappingFile.put(mappingFile, filesDir);
+                filesDirs.add(filesDir);
+            }
+        }
+
+        // Mapping files outside the root that share one of its body file directories, e.g. when a single mappings
+        // directory is validated, only count as references, so the body files they use are not reported as orphans
+        List<Path> sharingMappingFiles = findSharingMappingFiles(rootDir, filesDirs, filesDirByMappingsDir, filesDirByMappingFile);
+
+        // Walk every body file directory once, so references are checked against memory instead of the file system
+        Set<Path> bodyFiles = new LinkedHashSet<>();
+        for (Path filesDir : filesDirs) {
+            bodyFiles.addAll(listFiles(filesDir));
+        }
+
+        // Scan the mapping files in parallel
+        Set<Path> referenced = ConcurrentHashMap.newKeySet();
+        List<DanglingReference> dangling;
+        try {
+            dangling = pool.submit(() -> {
+                sharingMappingFiles.parallelStream()
+                        .forEach(file -> scanMappingFile(file, filesDirByMappingFile.get(file), bodyFiles, referenced));
+                return mappingFiles.parallelStream()
+                        .flatMap(file -> scanMappingFile(file, filesDirByMappingFile.get(file), bodyFiles, referenced).stream())
+                        .collect(Collectors.toList());
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Validation was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+        dangling.sort(Comparator.comparing((DanglingReference reference) -> reference.getMappingFile().toString())
+                .thenComparingInt(DanglingReference::getLine));
+
+        List<Path> orphans = new ArrayList<>();
+        for (Path bodyFile : bodyFiles) {
+            if (!referenced.contains(bodyFile)) {
+                orphans.add(bodyFile);
+            }
+        }
+        orphans.sort(Comparator.comparing(Path::toString));
+
+        return new Report(root, mappingFiles.size(), bodyFiles.size(), dangling, orphans);
+    }
+
+    /**
+     * Finds the body file directory of a mapping file, looked up once per mappings directory.
+     */
+    private @Nullable Path findFilesDirectory(Path mappingFile, Map<Path, Path> filesDirByMappingsDir) {
+        Path mappingsDir = patterns.findMappingsDirectory(mappingFile);
+        if (mappingsDir == null) return null;
+
+        if (!filesDirByMappingsDir.containsKey(mappingsDir)) {
+            filesDirByMappingsDir.put(mappingsDir, patterns.findFilesDirectory(mappingsDir));
+        }
+        return filesDirByMappingsDir.get(mappingsDir);
+    }
+
+    /**
+     * Finds the mapping files outside of the root whose body file directory is one of the given ones.
+     * A body file directory is only found from mappings directories below the directory it was looked up from,
+     * so only that directory is walked, and only if it is not inside the root.
+     */
+    private List<Path> findSharingMappingFiles(Path rootDir, Set<Path> filesDirs, Map<Path, Path> filesDirByMappingsDir,
+                                               Map<Path, Path> filesDirByMappingFile) throws IOException {
+        Set<Path> bases = new LinkedHashSet<>();
+        for (Path filesDir : filesDirs) {
+            Path base = filesDir;
+            int depth = patterns.matchFilesDirectory(filesDir, WireMockValidator::getName, Path::getParent);
+            for (int i = 0; i < depth && base != null; i++) {
+                base = base.getParent();
+            }
+            if (base != null && !base.startsWith(rootDir)) {
+                bases.add(base);
+            }
+        }
+
+        Set<Path> result = new LinkedHashSet<>();
+        for (Path base : bases) {
+            Files.walkFileTree(base, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    // The mapping files of the root itself are already known
+                    return dir.equals(rootDir) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && !result.contains(file) && patterns.isMappingFile(file)) {
+                        Path filesDir = findFilesDirectory(file, filesDirByMappingsDir);
+                        if (filesDir != null && filesDirs.contains(filesDir)) {
+                            result.add(file);
+                            filesDirByMappingFile.put(file, filesDir);
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Stops the threads of this validator.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static List<DanglingReference> scanMappingFile(Path file, @Nullable Path filesDir, Set<Path> bodyFiles, Set<Path> referenced) {
+        String text;
+        try {
+            text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<DanglingReference> result = new ArrayList<>();
+        for (WireMockJsonScanner.Occurrence occurrence : WireMockJsonScanner.findBodyFileNames(text)) {
+            String bodyFileName = WireMockPaths.normalizeBodyFileName(occurrence.getValue());
+            if (bodyFileName.isEmpty()) continue;
+
+            // Without a body file directory every reference is dangling
+            Path bodyFile = filesDir != null ? filesDir.resolve(bodyFileName).normalize() : null;
+            if (bodyFile != null) {
+                referenced.add(bodyFile);
+            }
+            if (bodyFile == null || !bodyFiles.contains(bodyFile)) {
+                result.add(new DanglingReference(file, getLine(text, occurrence.getOffset()), occurrence.getValue()));
+            }
+        }
+        return result;
+    }
+
+    private static int getLine(CharSequence text, int offset) {
+        int line = 1;
+        for (int i = 0; i < offset; i++) {
+            if (text.charAt(i) == '\n') {
+                line++;
+            }
+        }
+        return line;
+    }
+
+    private static String getName(Path path) {
+        Path fileName = path.getFileName();
+        return fileName != null ? fileName.toString() : "";
+    }
+
+    private static List<Path> listFiles(Path dir) throws IOException {
+        try (Stream<Path> stream = Files.walk(dir)) {
+            return stream.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line entry point of {@link WireMockValidator}.
+ * Usage: {@code WireMockValidatorCli [--threads N] [--no-orphans] [--mappings PATTERNS] [--files PATTERNS] <root>...}
+ * The layout patterns are comma separated, like the directory settings of the IDE plugin, and default to the standard layout.
+ * Exits with status 1 if any root has dangling references (or orphaned body files unless --no-orphans is given),
+ * and with status 2 on invalid arguments or I/O errors.
+ */
+public final class WireMockValidatorCli {
+
+    private WireMockValidatorCli() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Runs the validator and prints its reports.
+     *
+     * @param args The command line arguments
+     * @param out The stream for the reports
+     * @param err The stream for errors
+     * @return The exit status
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean checkOrphans = true;
+        List<String> mappingsPatterns = List.of(WireMockPaths.MAPPINGS_DIRECTORY);
+        List<String> filesPatterns = List.of(WireMockPaths.FILES_DIRECTORY);
+        List<Path> roots = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads" -> {
+                    if (i + 1 >= args.length) return usage(err);
+                    try {
+                        threads = Math.max(1, Integer.parseInt(args[++i]));
+                    } catch (NumberFormatException e) {
+                        return usage(err);
+                    }
+                }
+                case "--no-orphans" -> checkOrphans = false;
+                case "--mappings" -> {
+                    if (i + 1 >= args.length) return usage(err);
+                    mappingsPatterns = List.of(args[++i].split(","));
+                }
+                case "--files" -> {
+                    if (i + 1 >= args.length) return usage(err);
+                    filesPatterns = List.of(args[++i].split(","));
+                }
+                default -> {
+                    // Misspelled options must not be validated as roots
+                    if (args[i].startsWith("--")) {
+                        err.println("Unknown option: " + args[i]);
+                        return usage(err);
+                    }
+                    roots.add(Paths.get(args[i]));
+                }
+            }
+        }
+        if (roots.isEmpty()) return usage(err);
+
+        WireMockValidator validator = new WireMockValidator(threads, new WireMockLayoutPatterns(mappingsPatterns, filesPatterns));
+        boolean failed = false;
+        try {
+            for (Path root : roots) {
+                long start = System.nanoTime();
+                WireMockValidator.Report report = validator.validate(root.toAbsolutePath().normalize());
+                long millis = (System.nanoTime() - start) / 1_000_000;
+
+                for (WireMockValidator.DanglingReference reference : report.getDanglingReferences()) {
+                    out.println("DANGLING " + reference.getMappingFile() + ":" + reference.getLine() + " -> " + reference.getBodyFileName());
+                }
+                if (checkOrphans) {
+                    for (Path orphan : report.getOrphanedBodyFiles()) {
+                        out.println("ORPHAN " + orphan);
+                    }
+                }
+
+                int orphans = checkOrphans ? report.getOrphanedBodyFiles().size() : 0;
+                out.println(report.getRootDir() + ": " + report.getMappingFileCount() + " mapping files, "
+                        + report.getBodyFileCount() + " body files, "
+                        + report.getDanglingReferences().size() + " dangling references, "
+                        + (checkOrphans ? orphans + " orphaned body files" : "orphans not checked")
+                        + " (" + millis + " ms)");
+                failed |= !report.getDanglingReferences().isEmpty() || orphans > 0;
+            }
+        } catch (IOException e) {
+            err.println("Error: " + e.getMessage());
+            return 2;
+        } finally {
+            validator.shutdown();
+        }
+        return failed ? 1 : 0;
+    }
+
+    private static int usage(PrintStream err) {
+        err.println("Usage: WireMockValidatorCli [--threads N] [--no-orphans] [--mappings PATTERNS] [--files PATTERNS] <root>...");
+        err.println("  --mappings  comma separated mappings directory patterns, e.g. \"stubs,wiremock/mappings\" (default \"mappings\")");
+        err.println("  --files     comma separated body file directory patterns, in lookup order (default \"__files\")");
+        err.println("  <root>      a directory containing mappings and body file directories, or a mappings directory");
+        return 2;
+    }
+}
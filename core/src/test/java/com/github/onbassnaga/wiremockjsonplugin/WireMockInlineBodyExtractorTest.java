@@ -0,0 +1,130 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link WireMockInlineBodyExtractor}, which finds the inline bodies moved to body files by
+ * "Extract Inline Bodies to Body Files".
+ */
+public class WireMockInlineBodyExtractorTest {
+
+    @Test
+    public void findsBodyOfRootStub() {
+        String text = "{\"request\": {\"url\": \"/users\"}, \"response\": {\"status\": 200, \"body\": \"Hello\"}}";
+
+        List<WireMockInlineBodyExtractor.InlineBody> bodies = WireMockInlineBodyExtractor.findInlineBodies(text);
+
+        assertEquals(1, bodies.size());
+        WireMockInlineBodyExtractor.InlineBody body = bodies.get(0);
+        assertEquals(0, body.getStubIndex());
+        assertEquals(0, body.getStubOffset());
+        assertEquals(text.length(), body.getStubEnd());
+        assertEquals("body", body.getProperty());
+        assertEquals("\"body\": \"Hello\"", text.substring(body.getStart(), body.getEnd()));
+        assertArrayEquals("Hello".getBytes(StandardCharsets.UTF_8), body.getContent(text));
+    }
+
+    @Test
+    public void findsBodiesOfMappingsArray() {
+        String text = """
+                {
+                  "mappings": [
+                    {"request": {"url": "/a"}, "response": {"jsonBody": {"id": 1}}},
+                    {"request": {"url": "/b"}, "response": {"bodyFileName": "b.json", "body": "ignored"}},
+                    {"request": {"url": "/c"}, "response": {"base64Body": "SGk="}}
+                  ]
+                }
+                """;
+
+        List<WireMockInlineBodyExtractor.InlineBody> bodies = WireMockInlineBodyExtractor.findInlineBodies(text);
+
+        // The stub that already has a body file is skipped
+        assertEquals(2, bodies.size());
+        assertEquals(0, bodies.get(0).getStubIndex());
+        assertEquals("jsonBody", bodies.get(0).getProperty());
+        assertEquals("{\"id\": 1}", new String(bodies.get(0).getContent(text), StandardCharsets.UTF_8));
+        assertEquals(2, bodies.get(1).getStubIndex());
+        assertEquals("base64Body", bodies.get(1).getProperty());
+        assertArrayEquals("Hi".getBytes(StandardCharsets.UTF_8), bodies.get(1).getContent(text));
+    }
+
+    @Test
+    public void skipsStubsWithBodyFileName() {
+        String text = "{\"response\": {\"body\": \"inline\", \"bodyFileName\": \"file.txt\"}}";
+
+        assertTrue(WireMockInlineBodyExtractor.findInlineBodies(text).isEmpty());
+    }
+
+    @Test
+    public void ignoresBodiesOutsideTheResponse() {
+        String text = "{\"request\": {\"url\": \"/a\", \"body\": \"x\"}, \"response\": {\"headers\": {\"body\": \"y\"}}}";
+
+        assertTrue(WireMockInlineBodyExtractor.findInlineBodies(text).isEmpty());
+    }
+
+    @Test
+    public void reportsStubRangesForCaretSelection() {
+        String first = "{\"response\": {\"body\": \"1\"}}";
+        String second = "{\"response\": {\"body\": \"2\"}}";
+        String text = "{\"mappings\": [" + first + ", " + second + "]}";
+        int firstStart = text.indexOf(first);
+        int secondStart = text.indexOf(second);
+
+        List<WireMockInlineBodyExtractor.InlineBody> bodies = WireMockInlineBodyExtractor.findInlineBodies(text);
+
+        assertEquals(2, bodies.size());
+        assertEquals(firstStart, bodies.get(0).getStubOffset());
+        assertEquals(firstStart + first.length(), bodies.get(0).getStubEnd());
+        assertTrue(bodies.get(0).isInStub(firstStart));
+        assertTrue(bodies.get(0).isInStub(firstStart + first.length() - 1));
+        assertFalse(bodies.get(0).isInStub(firstStart + first.length()));
+        assertFalse(bodies.get(0).isInStub(secondStart));
+        assertTrue(bodies.get(1).isInStub(secondStart));
+        assertEquals(secondStart + second.length(), bodies.get(1).getStubEnd());
+    }
+
+    @Test
+    public void reportsTextLengthAsEndOfUnclosedStub() {
+        String text = "{\"response\": {\"body\": \"truncated\"";
+
+        List<WireMockInlineBodyExtractor.InlineBody> bodies = WireMockInlineBodyExtractor.findInlineBodies(text);
+
+        assertEquals(1, bodies.size());
+        assertEquals(text.length(), bodies.get(0).getStubEnd());
+    }
+
+    @Test
+    public void returnsNullForInvalidContent() {
+        String invalidBase64 = "{\"response\": {\"base64Body\": \"not base64!\"}}";
+        String numberBody = "{\"response\": {\"body\": 42}}";
+
+        assertNull(WireMockInlineBodyExtractor.findInlineBodies(invalidBase64).get(0).getContent(invalidBase64));
+        assertNull(WireMockInlineBodyExtractor.findInlineBodies(numberBody).get(0).getContent(numberBody));
+    }
+
+    @Test
+    public void guessesExtensions() {
+        assertEquals("json", getExtension("\"jsonBody\": {\"a\": 1}"));
+        assertEquals("bin", getExtension("\"base64Body\": \"SGk=\""));
+        assertEquals("json", getExtension("\"body\": \"  [1, 2]\""));
+        assertEquals("xml", getExtension("\"body\": \"<?xml version=\\\"1.0\\\"?><a/>\""));
+        assertEquals("html", getExtension("\"body\": \"<!DOCTYPE html><html></html>\""));
+        assertEquals("html", getExtension("\"body\": \"<HTML><body/></HTML>\""));
+        assertEquals("txt", getExtension("\"body\": \"plain\""));
+        assertEquals("txt", getExtension("\"body\": \"   \""));
+    }
+
+    private static String getExtension(String property) {
+        String text = "{\"response\": {" + property + "}}";
+        return WireMockInlineBodyExtractor.findInlineBodies(text).get(0).getExtension(text);
+    }
+}
@@ -0,0 +1,202 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link WireMockJsonScanner}, which reads mapping files for the indexes, the large file annotator,
+ * body file deduplication and inline body extraction.
+ */
+public class WireMockJsonScannerTest {
+
+    @Test
+    public void resolvesEscapesAndUnicode() {
+        String text = "{\"response\": {\"bodyFileName\": \"dir\\/caf\\u00e9 \\\"1\\\"\\tx.json\"}}";
+
+        List<WireMockJsonScanner.Occurrence> occurrences = WireMockJsonScanner.findBodyFileNames(text);
+
+        assertEquals(1, occurrences.size());
+        assertEquals("dir/caf\u00e9 \"1\"\tx.json", occurrences.get(0).getValue());
+    }
+
+    @Test
+    public void keepsInvalidUnicodeEscapes() {
+        assertEquals("u12x", WireMockJsonScanner.unquote("\"\\u12x\"", 0, 7));
+        assertEquals("\\", WireMockJsonScanner.unquote("\"\\\"", 0, 3));
+    }
+
+    @Test
+    public void ignoresPropertyNamesInsideStrings() {
+        String text = "{\"response\": {\"body\": \"{\\\"bodyFileName\\\": \\\"fake.json\\\"}\", \"bodyFileName\": \"real.json\"}}";
+
+        List<WireMockJsonScanner.Occurrence> occurrences = WireMockJsonScanner.findBodyFileNames(text);
+
+        assertEquals(List.of("real.json"), values(occurrences));
+    }
+
+    @Test
+    public void findsSingleStub() {
+        String text = """
+                {
+                  "id": "8c5db8b0-2db4-4ad7-a99f-38c9b00da3f7",
+                  "name": "Get user",
+                  "priority": 3,
+                  "request": {"method": "GET", "urlPath": "/users/1"},
+                  "response": {"status": 200, "bodyFileName": "users/1.json"}
+                }
+                """;
+
+        List<WireMockStub> stubs = WireMockJsonScanner.findStubs(text);
+
+        assertEquals(1, stubs.size());
+        WireMockStub stub = stubs.get(0);
+        assertEquals(0, stub.getIndex());
+        assertEquals("8c5db8b0-2db4-4ad7-a99f-38c9b00da3f7", stub.getId());
+        assertEquals("Get user", stub.getName());
+        assertEquals(Integer.valueOf(3), stub.getPriority());
+        assertEquals("GET", stub.getMethod());
+        assertEquals("urlPath", stub.getUrlMatcher());
+        assertEquals("/users/1", stub.getUrl());
+        assertEquals(List.of("users/1.json"), values(stub.getBodyFileNames()));
+    }
+
+    @Test
+    public void findsStubsOfMappingsArray() {
+        String text = """
+                {
+                  "mappings": [
+                    {"request": {"method": "GET", "url": "/a"}, "response": {"bodyFileName": "a.json"}},
+                    {"name": "second", "request": {"method": "POST", "urlPattern": "/b/.*"}, "response": {"bodyFileName": "b.json"}},
+                    {"request": {"method": "DELETE"}, "response": {"status": 204}}
+                  ],
+                  "meta": {"total": 3, "name": "not a stub"}
+                }
+                """;
+
+        List<WireMockStub> stubs = WireMockJsonScanner.findStubs(text);
+
+        assertEquals(3, stubs.size());
+        assertEquals(List.of(0, 1, 2), stubs.stream().map(WireMockStub::getIndex).toList());
+        assertEquals(List.of("GET", "POST", "DELETE"), stubs.stream().map(WireMockStub::getMethod).toList());
+        assertEquals("url", stubs.get(0).getUrlMatcher());
+        assertEquals("/b/.*", stubs.get(1).getUrl());
+        assertEquals("second", stubs.get(1).getName());
+        assertNull(stubs.get(2).getUrl());
+        assertEquals(List.of("a.json"), values(stubs.get(0).getBodyFileNames()));
+        assertEquals(List.of("b.json"), values(stubs.get(1).getBodyFileNames()));
+        assertTrue(stubs.get(2).getBodyFileNames().isEmpty());
+    }
+
+    @Test
+    public void readsRequestPropertiesOnlyFromTheRequestObject() {
+        String text = """
+                {
+                  "request": {"method": "PUT", "url": "/orders", "headers": {"X-Method": {"equalTo": "GET"}}},
+                  "response": {
+                    "status": 200,
+                    "headers": {"url": "/other"},
+                    "jsonBody": {"name": "order", "method": "DELETE", "nested": {"bodyFileName": "nested.json"}}
+                  },
+                  "metadata": {"name": "ignored", "id": "ignored"}
+                }
+                """;
+
+        WireMockStub stub = WireMockJsonScanner.findStubs(text).get(0);
+
+        assertEquals("PUT", stub.getMethod());
+        assertEquals("/orders", stub.getUrl());
+        assertNull(stub.getName());
+        assertNull(stub.getId());
+        // bodyFileName values are reported at any depth, as WireMock extensions may nest them
+        assertEquals(List.of("nested.json"), values(stub.getBodyFileNames()));
+    }
+
+    @Test
+    public void reportsOffsetsOfStringLiteralsAndStubs() {
+        String text = "{\"mappings\": [ {\"response\": {\"bodyFileName\": \"/a.json\"}} , {\"response\": {\"bodyFileName\": \"b.json\"}} ]}";
+
+        List<WireMockStub> stubs = WireMockJsonScanner.findStubs(text);
+
+        assertEquals(2, stubs.size());
+        WireMockStub first = stubs.get(0);
+        assertEquals(text.indexOf("{\"response\""), first.getOffset());
+        assertEquals(text.indexOf("}}") + 2, first.getEndOffset());
+
+        WireMockJsonScanner.Occurrence occurrence = stubs.get(1).getBodyFileNames().get(0);
+        assertEquals("\"b.json\"", text.substring(occurrence.getOffset(), occurrence.getEndOffset()));
+        assertEquals("\"/a.json\"", text.substring(first.getBodyFileNames().get(0).getOffset(), first.getBodyFileNames().get(0).getEndOffset()));
+    }
+
+    @Test
+    public void reportsPathsAndObjectBoundaries() {
+        String text = "{\"a\": [1, {\"b\": true}], \"c\": null}";
+        List<String> events = new ArrayList<>();
+
+        WireMockJsonScanner.scan(text, new WireMockJsonScanner.Visitor() {
+            @Override
+            public void visitValue(WireMockJsonScanner.Path path, CharSequence scanned, int start, int end) {
+                events.add(path + "=" + scanned.subSequence(start, end));
+            }
+
+            @Override
+            public void visitObjectStart(WireMockJsonScanner.Path path, int offset) {
+                events.add("start " + path + "@" + offset);
+            }
+
+            @Override
+            public void visitObjectEnd(WireMockJsonScanner.Path path, int offset) {
+                events.add("end " + path + "@" + offset);
+            }
+        });
+
+        assertEquals(List.of("start @0", "a.[]=1", "start a.[]@10", "a.[].b=true", "end a.[]@21", "c=null", "end @34"), events);
+    }
+
+    @Test
+    public void toleratesTruncatedInput() {
+        String text = "{\"request\": {\"method\": \"GET\", \"url\": \"/a\"}, \"response\": {\"bodyFileName\": \"b.js";
+
+        List<WireMockStub> stubs = WireMockJsonScanner.findStubs(text);
+
+        assertEquals(1, stubs.size());
+        assertEquals("GET", stubs.get(0).getMethod());
+        assertEquals(List.of("b.js"), values(stubs.get(0).getBodyFileNames()));
+        assertEquals(text.length(), stubs.get(0).getBodyFileNames().get(0).getEndOffset());
+    }
+
+    @Test
+    public void toleratesInvalidInput() {
+        for (String text : List.of("", "   ", "]}]}", "{", "[", "{\"bodyFileName\":}", "{\"a\" \"b\" \"c\"}", "\"", "{'bodyFileName': 'x.json'",
+                "{\"mappings\": {\"bodyFileName\": 1}}", "{\"response\": {\"bodyFileName\": \"a\\")) {
+            WireMockJsonScanner.findStubs(text);
+            WireMockJsonScanner.findBodyFileNames(text);
+        }
+
+        // Non-string bodyFileName values are not references
+        assertTrue(WireMockJsonScanner.findBodyFileNames("{\"response\": {\"bodyFileName\": 12}}").isEmpty());
+        // Single quoted strings are read like the lenient JSON parser of the IDE does
+        assertEquals(List.of("x.json"), values(WireMockJsonScanner.findBodyFileNames("{'response': {'bodyFileName': 'x.json'}}")));
+    }
+
+    @Test
+    public void skipsValues() {
+        String text = "{\"body\": {\"a\": [1, \"]}\"]}, \"next\": 1}";
+        int valueStart = WireMockJsonScanner.skipToValue(text, text.indexOf(':'));
+
+        assertEquals(text.indexOf('{', 1), valueStart);
+        assertEquals(text.indexOf(", \"next\""), WireMockJsonScanner.skipValue(text, valueStart));
+        String truncated = "{\"open\": [1, 2";
+        assertEquals(truncated.length(), WireMockJsonScanner.skipValue(truncated, 0));
+        assertEquals(5, WireMockJsonScanner.skipValue("12345, 6", 0));
+    }
+
+    private static List<String> values(List<WireMockJsonScanner.Occurrence> occurrences) {
+        return occurrences.stream().map(WireMockJsonScanner.Occurrence::getValue).toList();
+    }
+}
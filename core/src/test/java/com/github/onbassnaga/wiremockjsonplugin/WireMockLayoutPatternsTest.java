@@ -0,0 +1,70 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link WireMockLayoutPatterns}.
+ */
+public class WireMockLayoutPatternsTest {
+
+    private static final WireMockLayoutPatterns CUSTOM = new WireMockLayoutPatterns(
+            List.of(" /stubs/ ", "wiremock\\mappings", ""), List.of("files", "wiremock//__files"));
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void normalizesPatterns() {
+        assertEquals(List.of("stubs", "wiremock/mappings"), CUSTOM.getMappingsPatterns());
+        assertEquals(List.of("files", "wiremock/__files"), CUSTOM.getFilesPatterns());
+        assertEquals(List.of("mappings"), new WireMockLayoutPatterns(List.of(" "), List.of()).getMappingsPatterns());
+        assertEquals(List.of("__files"), new WireMockLayoutPatterns(List.of(" "), List.of()).getFilesPatterns());
+    }
+
+    @Test
+    public void getsRootPath() {
+        assertEquals("/project/wiremock", WireMockLayoutPatterns.DEFAULT.getRootPath("/project/wiremock/mappings/users/get.json"));
+        assertEquals("/project/wiremock", WireMockLayoutPatterns.DEFAULT.getRootPath("/project/wiremock/__files/users.json"));
+        assertNull(WireMockLayoutPatterns.DEFAULT.getRootPath("/project/src/users.json"));
+
+        // Multi segment patterns start their root above the first segment
+        assertEquals("/project", CUSTOM.getRootPath("/project/wiremock/mappings/get.json"));
+        assertEquals("/project/test", CUSTOM.getRootPath("/project/test/stubs/get.json"));
+        assertNull(CUSTOM.getRootPath("/project/other/mappings/get.json"));
+    }
+
+    @Test
+    public void findsDirectoriesOnDisk() throws IOException {
+        Path root = temp.getRoot().toPath();
+        Path mappingFile = root.resolve("wiremock/mappings/users/get.json");
+        Files.createDirectories(mappingFile.getParent());
+        Files.writeString(mappingFile, "{}");
+        Files.createDirectories(root.resolve("wiremock/__files"));
+
+        assertEquals(root.resolve("wiremock/mappings"), CUSTOM.findMappingsDirectory(mappingFile));
+        assertEquals(root.resolve("wiremock/__files"), CUSTOM.findFilesDirectory(root.resolve("wiremock/mappings")));
+        assertTrue(CUSTOM.isMappingFile(mappingFile));
+        assertFalse(CUSTOM.isMappingFile(root.resolve("wiremock/__files/get.json")));
+        assertFalse(new WireMockLayoutPatterns(List.of("other/mappings"), List.of()).isMappingFile(mappingFile));
+    }
+
+    @Test
+    public void matchesDirectoryNames() {
+        assertTrue(CUSTOM.isDirectoryName("stubs"));
+        assertTrue(CUSTOM.isDirectoryName("mappings"));
+        assertTrue(CUSTOM.isDirectoryName("__files"));
+        assertFalse(CUSTOM.isDirectoryName("wiremock"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link WireMockValidator} and {@link WireMockValidatorCli} on the standard and custom layouts.
+ */
+public class WireMockValidatorTest {
+
+    private static final String MAPPING = """
+            {
+              "request": {"url": "/users"},
+              "response": {"bodyFileName": "%s"}
+            }
+            """;
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private final WireMockValidator validator = new WireMockValidator(2);
+
+    @After
+    public void shutdown() {
+        validator.shutdown();
+    }
+
+    @Test
+    public void reportsDanglingReferencesAndOrphans() throws IOException {
+        Path root = temp.getRoot().toPath();
+        write(root.resolve("mappings/users/get.json"), MAPPING.formatted("users/list.json"));
+        write(root.resolve("mappings/missing.json"), MAPPING.formatted("/missing.json"));
+        write(root.resolve("__files/users/list.json"), "[]");
+        write(root.resolve("__files/orphan.json"), "{}");
+
+        WireMockValidator.Report report = validator.validate(root);
+
+        assertEquals(2, report.getMappingFileCount());
+        assertEquals(2, report.getBodyFileCount());
+        assertEquals(1, report.getDanglingReferences().size());
+        assertEquals(root.resolve("mappings/missing.json"), report.getDanglingReferences().get(0).getMappingFile());
+        assertEquals(3, report.getDanglingReferences().get(0).getLine());
+        assertEquals("/missing.json", report.getDanglingReferences().get(0).getBodyFileName());
+        assertEquals(List.of(root.resolve("__files/orphan.json")), report.getOrphanedBodyFiles());
+    }
+
+    @Test
+    public void validatesMappingsDirectoryWithItsRoot() throws IOException {
+        Path root = temp.getRoot().toPath();
+        write(root.resolve("mappings/get.json"), MAPPING.formatted("list.json"));
+        write(root.resolve("__files/list.json"), "[]");
+
+        WireMockValidator.Report report = validator.validate(root.resolve("mappings"));
+
+        assertEquals(root, report.getRootDir());
+        assertEquals(1, report.getMappingFileCount());
+        assertTrue(report.getDanglingReferences().isEmpty());
+        assertTrue(report.getOrphanedBodyFiles().isEmpty());
+    }
+
+    @Test
+    public void countsReferencesOfSiblingMappingsDirectories() throws IOException {
+        Path root = temp.getRoot().toPath();
+        write(root.resolve("orders/mappings/get.json"), MAPPING.formatted("orders.json"));
+        write(root.resolve("users/mappings/get.json"), MAPPING.formatted("users.json"));
+        write(root.resolve("__files/orders.json"), "[]");
+        write(root.resolve("__files/users.json"), "[]");
+        write(root.resolve("__files/orphan.json"), "{}");
+
+        WireMockValidator.Report report = validator.validate(root.resolve("orders/mappings"));
+
+        // Only the validated mappings directory is reported, but the sibling's references are not orphans
+        assertEquals(root.resolve("orders"), report.getRootDir());
+        assertEquals(1, report.getMappingFileCount());
+        assertTrue(report.getDanglingReferences().isEmpty());
+        assertEquals(List.of(root.resolve("__files/orphan.json")), report.getOrphanedBodyFiles());
+    }
+
+    @Test
+    public void usesCustomLayout() throws IOException {
+        Path root = temp.getRoot().toPath();
+        write(root.resolve("service/stubs/get.json"), MAPPING.formatted("list.json"));
+        write(root.resolve("wiremock/mappings/post.json"), MAPPING.formatted("created.json"));
+        write(root.resolve("files/list.json"), "[]");
+        write(root.resolve("wiremock/files/created.json"), "{}");
+        write(root.resolve("mappings/ignored.json"), MAPPING.formatted("missing.json"));
+
+        WireMockLayoutPatterns patterns = new WireMockLayoutPatterns(List.of("stubs", "wiremock/mappings"), List.of("files"));
+        WireMockValidator customValidator = new WireMockValidator(2, patterns);
+        try {
+            WireMockValidator.Report report = customValidator.validate(root);
+
+            assertEquals(2, report.getMappingFileCount());
+            assertEquals(2, report.getBodyFileCount());
+            assertTrue(report.getDanglingReferences().isEmpty());
+            assertTrue(report.getOrphanedBodyFiles().isEmpty());
+        } finally {
+            customValidator.shutdown();
+        }
+
+        // The standard layout only sees the "mappings" directory, which has no body file directory
+        WireMockValidator.Report report = validator.validate(root);
+        assertEquals(2, report.getMappingFileCount());
+        assertEquals(2, report.getDanglingReferences().size());
+    }
+
+    @Test
+    public void cliAcceptsLayoutPatterns() throws IOException {
+        Path root = temp.getRoot().toPath();
+        write(root.resolve("stubs/get.json"), MAPPING.formatted("list.json"));
+        write(root.resolve("files/list.json"), "[]");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        String[] args = {"--mappings", "stubs", "--files", "files", root.toString()};
+        int status = WireMockValidatorCli.run(args, new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+
+        assertEquals(err.toString(StandardCharsets.UTF_8), 0, status);
+        assertTrue(out.toString(StandardCharsets.UTF_8), out.toString(StandardCharsets.UTF_8).contains("1 mapping files, 1 body files, 0 dangling references"));
+        assertEquals(2, WireMockValidatorCli.run(new String[]{"--mappings"}, new PrintStream(out), new PrintStream(err)));
+        assertEquals(2, WireMockValidatorCli.run(new String[]{"--no-orphan", root.toString()}, new PrintStream(out), new PrintStream(err)));
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,183 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates synthetic WireMock roots for tests and benchmarks.
+ * The output is deterministic: mapping file i holds {@link Options#stubsPerFile} stubs that reference body files
+ * round robin, so with as many body files as stubs every body file is referenced exactly once.
+ */
+public final class WireMockFixtureGenerator {
+
+    private WireMockFixtureGenerator() {
+    }
+
+    /**
+     * The shape of the generated root.
+     */
+    public static final class Options {
+        private int mappingFiles = 100;
+        private int stubsPerFile = 1;
+        private int bodyFiles = 100;
+        private int depth = 2;
+        private int bodySize = 256;
+
+        public Options mappingFiles(int mappingFiles) {
+            this.mappingFiles = mappingFiles;
+            return this;
+        }
+
+        public Options stubsPerFile(int stubsPerFile) {
+            this.stubsPerFile = stubsPerFile;
+            return this;
+        }
+
+        public Options bodyFiles(int bodyFiles) {
+            this.bodyFiles = bodyFiles;
+            return this;
+        }
+
+        /**
+         * Sets the number of directory levels below "mappings" and "__files".
+         */
+        public Options depth(int depth) {
+            this.depth = depth;
+            return this;
+        }
+
+        /**
+         * Sets the approximate size of each body file in bytes.
+         */
+        public Options bodySize(int bodySize) {
+            this.bodySize = bodySize;
+            return this;
+        }
+    }
+
+    /**
+     * Receives the generated files.
+     */
+    public interface Sink {
+        /**
+         * @param relativePath The path relative to the WireMock root, e.g. "mappings/d0/mapping-0.json"
+         * @param content The content of the file
+         */
+        void write(@NotNull String relativePath, @NotNull String content) throws IOException;
+    }
+
+    /**
+     * The paths of the generated files, relative to the WireMock root.
+     */
+    public static final class Fixture {
+        private final List<String> mappingFiles = new ArrayList<>();
+        private final List<String> bodyFileNames = new ArrayList<>();
+
+        public @NotNull List<String> getMappingFiles() {
+            return mappingFiles;
+        }
+
+        /**
+         * Gets the bodyFileName values of the body files, i.e. their paths relative to "__files".
+         */
+        public @NotNull List<String> getBodyFileNames() {
+            return bodyFileNames;
+        }
+    }
+
+    /**
+     * Generates a WireMock root into a directory.
+     *
+     * @param options The shape of the root
+     * @param rootDir The directory to create "mappings" and "__files" in
+     * @return The generated files
+     */
+    public static @NotNull Fixture generate(@NotNull Options options, @NotNull Path rootDir) throws IOException {
+        return generate(options, (relativePath, content) -> {
+            Path file = rootDir.resolve(relativePath);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, content, StandardCharsets.UTF_8);
+        });
+    }
+
+    /**
+     * Generates a WireMock root into a sink.
+     *
+     * @param options The shape of the root
+     * @param sink The sink to write the files to
+     * @return The generated files
+     */
+    public static @NotNull Fixture generate(@NotNull Options options, @NotNull Sink sink) throws IOException {
+        Fixture fixture = new Fixture();
+        String body = createBody(options.bodySize);
+        for (int i = 0; i < options.bodyFiles; i++) {
+            String bodyFileName = getDirectory(i, options.depth) + "body-" + i + ".json";
+            fixture.bodyFileNames.add(bodyFileName);
+            sink.write(WireMockPaths.FILES_DIRECTORY + "/" + bodyFileName, body);
+        }
+
+        for (int i = 0; i < options.mappingFiles; i++) {
+            String relativePath = WireMockPaths.MAPPINGS_DIRECTORY + "/" + getDirectory(i, options.depth) + "mapping-" + i + ".json";
+            fixture.mappingFiles.add(relativePath);
+            sink.write(relativePath, createMapping(options, i, fixture.bodyFileNames));
+        }
+        return fixture;
+    }
+
+    /**
+     * Creates the text of a mapping file, a single stub or a "mappings" array with several stubs.
+     */
+    public static @NotNull String createMapping(@NotNull Options options, int index, @NotNull List<String> bodyFileNames) {
+        if (options.stubsPerFile == 1) {
+            return createStub(index, bodyFileNames.isEmpty() ? "missing.json" : bodyFileNames.get(index % bodyFileNames.size()), "");
+        }
+
+        StringBuilder builder = new StringBuilder("{\n  \"mappings\": [\n");
+        for (int j = 0; j < options.stubsPerFile; j++) {
+            int stub = index * options.stubsPerFile + j;
+            String bodyFileName = bodyFileNames.isEmpty() ? "missing.json" : bodyFileNames.get(stub % bodyFileNames.size());
+            builder.append(createStub(stub, bodyFileName, "    "));
+            builder.append(j + 1 < options.stubsPerFile ? ",\n" : "\n");
+        }
+        return builder.append("  ]\n}\n").toString();
+    }
+
+    private static String createStub(int stub, String bodyFileName, String indent) {
+        return indent + "{\n"
+                + indent + "  \"name\": \"stub " + stub + "\",\n"
+                + indent + "  \"request\": {\n"
+                + indent + "    \"method\": \"GET\",\n"
+                + indent + "    \"urlPath\": \"/api/resources/" + stub + "\"\n"
+                + indent + "  },\n"
+                + indent + "  \"response\": {\n"
+                + indent + "    \"status\": 200,\n"
+                + indent + "    \"bodyFileName\": \"" + bodyFileName + "\"\n"
+                + indent + "  }\n"
+                + indent + "}";
+    }
+
+    private static String getDirectory(int index, int depth) {
+        StringBuilder builder = new StringBuilder();
+        int value = index;
+        for (int level = 0; level < depth; level++) {
+            builder.append("d").append(value % 10).append('/');
+            value /= 10;
+        }
+        return builder.toString();
+    }
+
+    private static String createBody(int size) {
+        StringBuilder builder = new StringBuilder("{\"items\": [");
+        int i = 0;
+        while (builder.length() < size - 4) {
+            builder.append(i > 0 ? ", " : "").append("\"item-").append(i++).append('"');
+        }
+        return builder.append("]}\n").toString();
+    }
+}
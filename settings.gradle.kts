@@ -3,3 +3,6 @@ plugins {
 }
 
 rootProject.name = "wiremock-json-plugin"
+
+// IDE independent WireMock path logic, JSON scanner and command line validator
+include("core")
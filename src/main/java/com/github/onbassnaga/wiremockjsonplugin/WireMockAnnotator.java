@@ -1,43 +1,55 @@
 package com.github.onbassnaga.wiremockjsonplugin;
 
-import com.intellij.json.psi.JsonProperty;
+import com.intellij.codeInsight.intention.impl.BaseIntentionAction;
 import com.intellij.json.psi.JsonStringLiteral;
 import com.intellij.lang.annotation.AnnotationHolder;
+import com.intellij.lang.annotation.AnnotationSession;
 import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
 import com.intellij.openapi.editor.DefaultLanguageHighlighterColors;
+import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.PsiFile;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Annotator for WireMock mapping files.
  * Underlines the value of "bodyFileName" properties in the editor and makes them clickable.
+ * Whether the file is a mapping file handled here is decided once per annotation session, not per string literal.
+ * Large mapping files are skipped here and handled by {@link WireMockLargeFileAnnotator} instead.
+ * Body files are resolved through the VFS only, so the annotator also runs while the IDE is indexing.
  */
-public class WireMockAnnotator implements Annotator {
+public class WireMockAnnotator implements Annotator, DumbAware {
+
+    private static final Key<Boolean> ANNOTATED_FILE = Key.create("wiremock.annotator.annotatedFile");
 
     @Override
     public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
-        // Only process JSON string literals
+        // Only process JSON string literals, and count the time spent on them
         if (!(element instanceof JsonStringLiteral)) return;
+        if (!isAnnotatedFile(element, holder.getCurrentAnnotationSession())) return;
 
-        // Check if the file is a WireMock mapping file
-        VirtualFile virtualFile = element.getContainingFile().getVirtualFile();
-        if (!WireMockUtils.isMappingFile(virtualFile)) return;
-
-        // Check if this is a bodyFileName property value
-        JsonProperty property = PsiTreeUtil.getParentOfType(element, JsonProperty.class);
-        if (property == null || !"bodyFileName".equals(property.getName())) return;
+        long start = System.nanoTime();
+        try {
+            annotateLiteral((JsonStringLiteral) element, holder);
+        } finally {
+            WireMockMetrics.getInstance().record(WireMockMetrics.Operation.ANNOTATE, start);
+        }
+    }
 
-        // Get the bodyFileName value
-        String bodyFileName = ((JsonStringLiteral) element).getValue();
+    private static void annotateLiteral(@NotNull JsonStringLiteral element, @NotNull AnnotationHolder holder) {
+        // Only process bodyFileName values in WireMock mapping files
+        WireMockBodyFileReference reference = WireMockBodyFileReference.find(element);
+        if (reference == null) return;
 
         // Find the corresponding body file
-        VirtualFile bodyFile = WireMockUtils.getBodyFile(virtualFile, bodyFileName);
+        VirtualFile bodyFile = reference.resolveFile();
 
         if (bodyFile != null) {
             // Body file exists, add a hyperlink to navigate to it
@@ -45,32 +57,7 @@ public class WireMockAnnotator implements Annotator {
                     .range(element)
                     .textAttributes(DefaultLanguageHighlighterColors.HIGHLIGHTED_REFERENCE)
                     .tooltip("Click to navigate to body file")
-                    .withFix(new com.intellij.codeInsight.intention.impl.BaseIntentionAction() {
-                        @NotNull
-                        @Override
-                        public String getText() {
-                            return "Go to body file";
-                        }
-
-                        @NotNull
-                        @Override
-                        public String getFamilyName() {
-                            return "Navigation";
-                        }
-
-                        @Override
-                        public boolean isAvailable(@NotNull Project project, com.intellij.openapi.editor.Editor editor, com.intellij.psi.PsiFile file) {
-                            return true;
-                        }
-
-                        @Override
-                        public void invoke(@NotNull Project project, com.intellij.openapi.editor.Editor editor, com.intellij.psi.PsiFile file) {
-                            FileEditorManager.getInstance(project).openTextEditor(
-                                    new OpenFileDescriptor(project, bodyFile),
-                                    true
-                            );
-                        }
-                    })
+                    .withFix(new GoToBodyFileIntention(bodyFile))
                     .create();
         } else {
             // Body file doesn't exist, add a hyperlink to create it
@@ -78,31 +65,100 @@ public class WireMockAnnotator implements Annotator {
                     .range(element)
                     .textAttributes(DefaultLanguageHighlighterColors.HIGHLIGHTED_REFERENCE)
                     .tooltip("Click to create body file")
-                    .withFix(new com.intellij.codeInsight.intention.impl.BaseIntentionAction() {
-                        @NotNull
-                        @Override
-                        public String getText() {
-                            return "Create body file";
-                        }
-
-                        @NotNull
-                        @Override
-                        public String getFamilyName() {
-                            return "Creation";
-                        }
-
-                        @Override
-                        public boolean isAvailable(@NotNull Project project, com.intellij.openapi.editor.Editor editor, com.intellij.psi.PsiFile file) {
-                            return true;
-                        }
-
-                        @Override
-                        public void invoke(@NotNull Project project, com.intellij.openapi.editor.Editor editor, com.intellij.psi.PsiFile file) {
-                            // Delegate to the line marker provider to create the file
-                            new WireMockLineMarkerProvider().createBodyFile(project, bodyFileName, virtualFile);
-                        }
-                    })
+                    .withFix(new CreateBodyFileIntention(reference.getBodyFileName()))
                     .create();
         }
     }
+
+    /**
+     * Checks once per annotation session if the file of the element is a mapping file that is not large.
+     * All other JSON files, including body files, are not visited further.
+     */
+    private static boolean isAnnotatedFile(@NotNull PsiElement element, @NotNull AnnotationSession session) {
+        Boolean annotated = session.getUserData(ANNOTATED_FILE);
+        if (annotated == null) {
+            VirtualFile file = element.getContainingFile().getOriginalFile().getVirtualFile();
+            annotated = WireMockRootRegistry.getInstance(element.getProject()).isMappingFile(file) && !WireMockUtils.isLargeMappingFile(file);
+            session.putUserData(ANNOTATED_FILE, annotated);
+        }
+        return annotated;
+    }
+
+    /**
+     * Intention that opens an existing body file.
+     */
+    static final class GoToBodyFileIntention extends BaseIntentionAction {
+        private final VirtualFile bodyFile;
+
+        GoToBodyFileIntention(VirtualFile bodyFile) {
+            this.bodyFile = bodyFile;
+            setText("Go to body file");
+        }
+
+        @NotNull
+        @Override
+        public String getFamilyName() {
+            return "Navigation";
+        }
+
+        @Override
+        public boolean isAvailable(@NotNull Project project, Editor editor, PsiFile file) {
+            return bodyFile.isValid();
+        }
+
+        @Override
+        public void invoke(@NotNull Project project, Editor editor, PsiFile file) {
+            FileEditorManager.getInstance(project).openTextEditor(
+                    new OpenFileDescriptor(project, bodyFile),
+                    true
+            );
+        }
+
+        @Override
+        public boolean startInWriteAction() {
+            return false;
+        }
+    }
+
+    /**
+     * Intention that creates a missing body file.
+     */
+    static final class CreateBodyFileIntention extends BaseIntentionAction {
+        private final String bodyFileName;
+
+        CreateBodyFileIntention(String bodyFileName) {
+            this.bodyFileName = bodyFileName;
+            setText("Create body file");
+        }
+
+        @NotNull
+        @Override
+        public String getFamilyName() {
+            return "Creation";
+        }
+
+        @Override
+        public boolean isAvailable(@NotNull Project project, Editor editor, PsiFile file) {
+            return true;
+        }
+
+        @Override
+        public void invoke(@NotNull Project project, Editor editor, PsiFile file) {
+            // Create the directories and the file in a single undoable command
+            VirtualFile bodyFile = WireMockBodyFileCreator.createBodyFile(project, file.getVirtualFile(), bodyFileName);
+
+            // Open the file in the editor
+            if (bodyFile != null) {
+                FileEditorManager.getInstance(project).openTextEditor(
+                        new OpenFileDescriptor(project, bodyFile),
+                        true
+                );
+            }
+        }
+
+        @Override
+        public boolean startInWriteAction() {
+            return false;
+        }
+    }
 }
@@ -1,21 +1,42 @@
 package com.github.onbassnaga.wiremockjsonplugin;
 
 import com.intellij.openapi.actionSystem.*;
-import com.intellij.openapi.fileEditor.FileEditorManager;
-import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.openapi.ui.popup.JBPopup;
+import com.intellij.openapi.ui.popup.PopupChooserBuilder;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.psi.PsiFile;
+import com.intellij.ui.CollectionListModel;
+import com.intellij.ui.SimpleListCellRenderer;
+import com.intellij.ui.components.JBList;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.ui.JBDimension;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.concurrency.CancellablePromise;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Action for WireMock body files.
- * Shows a popup menu with mapping files that reference the body file.
+ * Shows a popup menu with the stubs that reference the body file, one entry per stub in multi stub mapping files.
+ * The search runs in a cancellable non-blocking read action and its results are added to the popup as they are found.
+ * It also works while the IDE is indexing, see {@link WireMockBodyFileSnapshot}.
  */
-public class WireMockBodyFileAction extends AnAction {
+public class WireMockBodyFileAction extends AnAction implements DumbAware {
+
+    private static final int BATCH_SIZE = 50;
+
+    private final AtomicReference<CancellablePromise<?>> currentSearch = new AtomicReference<>();
 
     public WireMockBodyFileAction() {
         super("Find Mapping Files", "Find mapping files that reference this body file", null);
@@ -28,65 +49,89 @@ public class WireMockBodyFileAction extends AnAction {
 
         // Only enable for body files in a project
         e.getPresentation().setEnabledAndVisible(project != null &&
-                                                WireMockUtils.isBodyFile(file));
+                                                WireMockRootRegistry.getInstance(project).isBodyFile(file));
     }
 
     @Override
     public void actionPerformed(@NotNull AnActionEvent e) {
         Project project = e.getProject();
         if (project == null) return;
-        
-        VirtualFile file = e.getData(CommonDataKeys.VIRTUAL_FILE);
-        if (!WireMockUtils.isBodyFile(file)) return;
 
-        // Find mapping files that reference this body file
-        List<PsiFile> mappingFiles = WireMockUtils.findMappingFilesReferencingBodyFile(project, file);
+        VirtualFile file = e.getData(CommonDataKeys.VIRTUAL_FILE);
+        if (!WireMockRootRegistry.getInstance(project).isBodyFile(file)) return;
 
-        if (mappingFiles.isEmpty()) {
-            // No mapping files reference this body file
-            return;
+        // Cancel a search that is still running for a previous invocation
+        CancellablePromise<?> previousSearch = currentSearch.getAndSet(null);
+        if (previousSearch != null) {
+            previousSearch.cancel();
         }
 
-        // Create actions for each mapping file
-        DefaultActionGroup actionGroup = new DefaultActionGroup();
-        
-        for (PsiFile mappingFile : mappingFiles) {
-            AnAction action = new AnAction(mappingFile.getName()) {
-                @Override
-                public void actionPerformed(@NotNull AnActionEvent e) {
-                    // Open the mapping file
-                    VirtualFile virtualFile = mappingFile.getVirtualFile();
-                    if (virtualFile == null) return;
-                    
-                    FileEditorManager.getInstance(project).openTextEditor(
-                        new OpenFileDescriptor(project, virtualFile),
-                        true
-                    );
-                }
-
-                @Override
-                public @NotNull ActionUpdateThread getActionUpdateThread() {
-                    return ActionUpdateThread.BGT;
-                }
-            };
-            
-            actionGroup.add(action);
+        // Show the popup right away and fill it while the search is running
+        CollectionListModel<WireMockStubLocation> model = new CollectionListModel<>();
+        JBList<WireMockStubLocation> list = new JBList<>(model);
+        list.setCellRenderer(SimpleListCellRenderer.create("", WireMockStubLocation::getPresentableText));
+        list.setPaintBusy(true);
+        list.getEmptyText().setText("Searching...");
+
+        JBPopup popup = new PopupChooserBuilder<>(list)
+                .setTitle("Mapping Files")
+                .setMinSize(new JBDimension(300, 100))
+                .setItemChosenCallback(location -> location.navigate(project))
+                .createPopup();
+        popup.showInBestPositionFor(e.getDataContext());
+
+        // The read action may be restarted, so remember what has already been handed to the popup.
+        // A batch that was not handed over yet is lost on a restart and collected again by the next attempt.
+        Set<WireMockStubLocation> added = ConcurrentHashMap.newKeySet();
+        CancellablePromise<Void> search = ReadAction.nonBlocking(() -> {
+                    Set<WireMockStubLocation> batch = new LinkedHashSet<>();
+                    WireMockUtils.processStubsReferencingBodyFile(project, file, location -> {
+                        ProgressManager.checkCanceled();
+                        if (!added.contains(location)) {
+                            batch.add(location);
+                        }
+                        if (batch.size() >= BATCH_SIZE) {
+                            addToPopup(popup, model, added, batch);
+                            batch.clear();
+                        }
+                        return true;
+                    });
+                    addToPopup(popup, model, added, batch);
+                    return (Void) null;
+                })
+                .expireWith(popup)
+                .finishOnUiThread(ModalityState.any(), ignored -> {
+                    list.setPaintBusy(false);
+                    list.getEmptyText().setText("No mapping files reference this body file");
+                })
+                .submit(AppExecutorUtil.getAppExecutorService());
+        currentSearch.set(search);
+        search.onProcessed(ignored -> currentSearch.compareAndSet(search, null));
+    }
+
+    /**
+     * Adds a batch of found stubs to the popup on the EDT, skipping the ones that were already handed over.
+     * The stubs are only recorded as added here, once they are on their way to the EDT.
+     */
+    private static void addToPopup(JBPopup popup, CollectionListModel<WireMockStubLocation> model,
+                                   Set<WireMockStubLocation> added, Collection<WireMockStubLocation> batch) {
+        List<WireMockStubLocation> locations = new ArrayList<>();
+        for (WireMockStubLocation location : batch) {
+            if (added.add(location)) {
+                locations.add(location);
+            }
         }
+        if (locations.isEmpty()) return;
 
-        // Show popup with the actions
-        JBPopupFactory.getInstance()
-            .createActionGroupPopup(
-                "Mapping Files",
-                actionGroup,
-                e.getDataContext(),
-                JBPopupFactory.ActionSelectionAid.NUMBERING,
-                true
-            )
-            .showInBestPositionFor(e.getDataContext());
+        ApplicationManager.getApplication().invokeLater(() -> {
+            model.add(locations);
+            popup.setCaption("Mapping Files (" + model.getSize() + ")");
+            popup.pack(true, true);
+        }, ModalityState.any(), o -> popup.isDisposed());
     }
 
     @Override
     public @NotNull ActionUpdateThread getActionUpdateThread() {
         return ActionUpdateThread.BGT;
     }
-}
\ No newline at end of file
+}
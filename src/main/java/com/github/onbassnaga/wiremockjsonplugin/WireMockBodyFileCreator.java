@@ -0,0 +1,173 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtilRt;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Creates missing WireMock body files.
+ * All files of a call are created in a single write command, so they are undone in one step.
+ */
+public final class WireMockBodyFileCreator {
+
+    private WireMockBodyFileCreator() {
+    }
+
+    /**
+     * Creates a single body file for a bodyFileName value of a mapping file.
+     *
+     * @param project The current project
+     * @param mappingFile The mapping file that references the body file
+     * @param bodyFileName The bodyFileName value from the mapping file
+     * @return The created or already existing body file, null if the mapping file is not in a WireMock root
+     * or the body file could not be created, which is reported in a notification
+     */
+    public static @Nullable VirtualFile createBodyFile(@NotNull Project project, @NotNull VirtualFile mappingFile, @NotNull String bodyFileName) {
+        WireMockRoot root = WireMockRootRegistry.getInstance(project).findRoot(mappingFile);
+        if (root == null || root.getMappingsDir() == null) return null;
+
+        List<VirtualFile> created = createBodyFiles(project, Map.of(root, List.of(bodyFileName)));
+        return created.isEmpty() ? null : created.get(0);
+    }
+
+    /**
+     * Creates body files for the given bodyFileName values, including the "__files" directory and intermediate directories.
+     * Values that cannot be created, e.g. because the path is taken by a directory or a file is in the way of a
+     * directory, are skipped and reported in a single notification, the other files are still created.
+     *
+     * @param project The current project
+     * @param bodyFileNames The bodyFileName values to create, per WireMock root
+     * @return The created or already existing body files
+     */
+    public static @NotNull List<VirtualFile> createBodyFiles(@NotNull Project project, @NotNull Map<WireMockRoot, ? extends Collection<String>> bodyFileNames) {
+        List<String> errors = new ArrayList<>();
+        List<VirtualFile> result = WriteCommandAction.writeCommandAction(project)
+                .withName("Create Body Files")
+                .compute(() -> {
+                    List<VirtualFile> files = new ArrayList<>();
+                    for (Map.Entry<WireMockRoot, ? extends Collection<String>> entry : bodyFileNames.entrySet()) {
+                        VirtualFile filesDir;
+                        try {
+                            filesDir = getOrCreateFilesDirectory(project, entry.getKey());
+                        } catch (IOException e) {
+                            errors.add("Body file directory: " + e.getMessage());
+                            continue;
+                        }
+                        if (filesDir == null) continue;
+
+                        for (String bodyFileName : entry.getValue()) {
+                            try {
+                                files.add(getOrCreateBodyFile(filesDir, bodyFileName));
+                            } catch (IOException e) {
+                                errors.add(bodyFileName + ": " + e.getMessage());
+                            }
+                        }
+                    }
+                    return files;
+                });
+
+        if (!errors.isEmpty()) {
+            WireMockUtils.notifyError(project, "Could not create all body files", String.join("\n", errors));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the body file of a bodyFileName value, creating it with a template if it does not exist.
+     *
+     * @throws IOException if the value is not a file path, the path is taken by a directory, or the file cannot be created
+     */
+    private static @NotNull VirtualFile getOrCreateBodyFile(@NotNull VirtualFile filesDir, @NotNull String bodyFileName) throws IOException {
+        String relativePath = WireMockUtils.normalizeBodyFileName(bodyFileName);
+        if (relativePath.isEmpty() || relativePath.endsWith("/")) {
+            throw new IOException("not a file path");
+        }
+
+        VirtualFile existing = filesDir.findFileByRelativePath(relativePath);
+        if (existing == null) {
+            return createFile(filesDir, relativePath, getTemplate(relativePath));
+        }
+        if (existing.isDirectory()) {
+            throw new IOException("a directory with this path already exists");
+        }
+        return existing;
+    }
+
+    /**
+     * Creates a body file with the given content, adding a numeric suffix to the file name if the path is already taken.
+     * Must be called in a write action.
+     *
+     * @param project The current project
+     * @param root The WireMock root to create the body file in
+     * @param relativePath The preferred path relative to the "__files" directory
+     * @param content The content of the body file
+     * @return The path of the created body file relative to the "__files" directory,
+     * null if the root has no "mappings" or "__files" directory to create it in
+     */
+    public static @Nullable String createUniqueBodyFile(@NotNull Project project, @NotNull WireMockRoot root, @NotNull String relativePath,
+                                                        byte @NotNull [] content) throws IOException {
+        VirtualFile filesDir = getOrCreateFilesDirectory(project, root);
+        if (filesDir == null) return null;
+
+        String path = relativePath;
+        int extensionStart = relativePath.lastIndexOf('.') > relativePath.lastIndexOf('/') ? relativePath.lastIndexOf('.') : relativePath.length();
+        for (int i = 2; filesDir.findFileByRelativePath(path) != null; i++) {
+            path = relativePath.substring(0, extensionStart) + "-" + i + relativePath.substring(extensionStart);
+        }
+
+        VirtualFile file = createFile(filesDir, path, null);
+        file.setBinaryContent(content);
+        return path;
+    }
+
+    /**
+     * Gets the initial content of a new body file, chosen by its extension.
+     *
+     * @param fileName The name of the body file
+     * @return The template content
+     */
+    public static @NotNull String getTemplate(@NotNull String fileName) {
+        return switch (FileUtilRt.getExtension(fileName).toLowerCase(Locale.ROOT)) {
+            case "json" -> "{\n  \n}";
+            case "xml" -> "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n";
+            case "html", "htm" -> "<!DOCTYPE html>\n<html>\n<head>\n</head>\n<body>\n</body>\n</html>\n";
+            case "yaml", "yml" -> "---\n";
+            default -> "";
+        };
+    }
+
+    private static @Nullable VirtualFile getOrCreateFilesDirectory(Project project, WireMockRoot root) throws IOException {
+        if (root.getFilesDir() != null && root.getFilesDir().isValid()) return root.getFilesDir();
+
+        VirtualFile mappingsDir = root.getMappingsDir();
+        VirtualFile rootDir = mappingsDir != null ? mappingsDir.getParent() : null;
+        if (rootDir == null) return null;
+
+        // Create the first body file directory of the configured layout next to the mappings directory
+        return VfsUtil.createDirectoryIfMissing(rootDir, WireMockLayoutSettings.getLayout(project).getDefaultFilesPattern());
+    }
+
+    private static VirtualFile createFile(VirtualFile filesDir, String relativePath, @Nullable String text) throws IOException {
+        // Create the intermediate directories, then the file with its initial text
+        int separator = relativePath.lastIndexOf('/');
+        VirtualFile dir = separator >= 0 ? VfsUtil.createDirectoryIfMissing(filesDir, relativePath.substring(0, separator)) : filesDir;
+        String fileName = relativePath.substring(separator + 1);
+
+        VirtualFile file = dir.createChildData(WireMockBodyFileCreator.class, fileName);
+        if (text != null) {
+            VfsUtil.saveText(file, text);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.ScalarIndexExtension;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+
+/**
+ * File based index for WireMock body files.
+ * Maps the SHA-256 hash of the content of every file under "__files" to the files with that content,
+ * which makes byte-identical body files (e.g. left behind by record mode) cheap to find.
+ * The hash is computed over the raw bytes, so the content is never decoded to text.
+ * <p>
+ * The platform hands content based indexers the whole content as a byte array, and it is already loaded for the
+ * other indexes of the file, so reading the file again as a stream would only add I/O. The digest is fed in chunks
+ * instead, so indexing a large body file can be cancelled between them.
+ */
+public class WireMockBodyFileHashIndex extends ScalarIndexExtension<String> {
+
+    public static final ID<String, Void> NAME = ID.create("com.github.onbassnaga.wiremockjsonplugin.WireMockBodyFileHashIndex");
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @Override
+    public @NotNull ID<String, Void> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, Void, FileContent> getIndexer() {
+        return inputData -> Collections.singletonMap(hash(inputData.getContent()), null);
+    }
+
+    /**
+     * Computes the key of a content, the length followed by the SHA-256 hash in hex.
+     *
+     * @param content The content of the body file
+     * @return The hash key
+     */
+    public static @NotNull String hash(byte @NotNull [] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (int offset = 0; offset < content.length; offset += CHUNK_SIZE) {
+                ProgressManager.checkCanceled();
+                digest.update(content, offset, Math.min(CHUNK_SIZE, content.length - offset));
+            }
+            return content.length + ":" + StringUtil.toHexString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @Override
+    public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+        return WireMockIndexInputFilter.bodyFiles();
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * File based index for WireMock mapping files.
+ * Maps normalized bodyFileName values (relative to the "__files" directory) to the stubs that reference them,
+ * including stubs in multi stub files with a "mappings" array.
+ * Lookups are restricted to a single WireMock root by querying with a scope of its "mappings" directory.
+ * The content is read with {@link WireMockJsonScanner}, so indexing never builds a JSON PSI tree.
+ */
+public class WireMockBodyFileIndex extends FileBasedIndexExtension<String, List<WireMockStubEntry>> {
+
+    public static final ID<String, List<WireMockStubEntry>> NAME = ID.create("com.github.onbassnaga.wiremockjsonplugin.WireMockBodyFileIndex");
+
+    @Override
+    public @NotNull ID<String, List<WireMockStubEntry>> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, List<WireMockStubEntry>, FileContent> getIndexer() {
+        return inputData -> collectStubs(inputData.getContentAsText());
+    }
+
+    /**
+     * Collects the stubs of a mapping file by normalized bodyFileName value, the way they are stored in the index.
+     *
+     * @param text The text of the mapping file
+     * @return The stubs that reference each body file
+     */
+    public static @NotNull Map<String, List<WireMockStubEntry>> collectStubs(@NotNull CharSequence text) {
+        Map<String, List<WireMockStubEntry>> result = new HashMap<>();
+        List<WireMockStub> stubs = WireMockJsonScanner.findStubs(text);
+        for (WireMockStub stub : stubs) {
+            for (WireMockJsonScanner.Occurrence occurrence : stub.getBodyFileNames()) {
+                String bodyFileName = WireMockUtils.normalizeBodyFileName(occurrence.getValue());
+                if (bodyFileName.isEmpty()) continue;
+
+                result.computeIfAbsent(bodyFileName, key -> new ArrayList<>()).add(new WireMockStubEntry(
+                        stub.getIndex(), stubs.size(), stub.getOffset(), occurrence.getOffset(), stub.getId(), stub.getName()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<List<WireMockStubEntry>> getValueExternalizer() {
+        return new WireMockStubEntry.ListExternalizer();
+    }
+
+    @Override
+    public int getVersion() {
+        return 6;
+    }
+
+    @Override
+    public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+        return WireMockIndexInputFilter.mappingFiles();
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+}
@@ -0,0 +1,335 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.analysis.AnalysisScope;
+import com.intellij.codeInspection.CommonProblemDescriptor;
+import com.intellij.codeInspection.GlobalInspectionContext;
+import com.intellij.codeInspection.GlobalInspectionTool;
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptionsProcessor;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.reference.RefElement;
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.json.psi.JsonFile;
+import com.intellij.json.psi.JsonStringLiteral;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Global inspection for WireMock roots.
+ * Reports bodyFileName values that point at missing files, and files under "__files" that no mapping file references.
+ * Both are computed in one pass per root from the per-file data of {@link WireMockBodyFileIndex},
+ * so mapping files are neither parsed nor resolved one reference at a time. Roots are processed in parallel.
+ * All reads happen in short non-blocking read actions of {@link #CHUNK_SIZE} files, so write actions are not
+ * blocked on large roots. PSI is only loaded for the problems that are reported.
+ */
+public class WireMockBodyFileInspection extends GlobalInspectionTool {
+
+    private static final int CHUNK_SIZE = 500;
+
+    @Override
+    public void runInspection(
+            @NotNull AnalysisScope scope,
+            @NotNull InspectionManager manager,
+            @NotNull GlobalInspectionContext globalContext,
+            @NotNull ProblemDescriptionsProcessor problemDescriptionsProcessor
+    ) {
+        Project project = manager.getProject();
+        List<WireMockRoot> roots = ReadAction.compute(() -> WireMockRootRegistry.getInstance(project).getRoots());
+
+        // Group the roots by body file directory, since several mappings directories can share one
+        Map<VirtualFile, List<VirtualFile>> mappingsDirsByFilesDir = new LinkedHashMap<>();
+        for (WireMockRoot root : roots) {
+            if (root.getMappingsDir() != null && root.getFilesDir() != null) {
+                mappingsDirsByFilesDir.computeIfAbsent(root.getFilesDir(), dir -> new ArrayList<>()).add(root.getMappingsDir());
+            }
+        }
+
+        // Collect the problems of every body file directory in parallel, without touching PSI
+        List<RootProblems> problems = new ArrayList<>();
+        mappingsDirsByFilesDir.forEach((filesDir, mappingsDirs) -> problems.add(new RootProblems(filesDir, mappingsDirs)));
+        JobLauncher.getInstance().invokeConcurrentUnderProgress(problems, ProgressManager.getInstance().getProgressIndicator(), rootProblems -> {
+            rootProblems.collect(project);
+            return true;
+        });
+
+        // Report the problems that are inside the analysis scope, loading the PSI of reported files only
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (RootProblems rootProblems : problems) {
+            for (List<DanglingReference> chunk : chunks(rootProblems.dangling)) {
+                List<Problem> reported = ReadAction.nonBlocking(() -> {
+                    List<Problem> result = new ArrayList<>();
+                    for (DanglingReference reference : chunk) {
+                        ProgressManager.checkCanceled();
+                        if (!reference.mappingFile.isValid() || !scope.contains(reference.mappingFile)) continue;
+
+                        PsiFile psiFile = psiManager.findFile(reference.mappingFile);
+                        if (psiFile == null) continue;
+
+                        String description = "Body file '" + reference.bodyFileName + "' does not exist";
+                        if (!(psiFile instanceof JsonFile)) {
+                            // Large mapping files are plain text, so the problem is reported on the range of the value
+                            PsiElement element = psiFile.findElementAt(reference.offset);
+                            if (element == null) continue;
+
+                            int start = element.getTextRange().getStartOffset();
+                            int end = Math.min(WireMockJsonScanner.skipValue(psiFile.getViewProvider().getContents(), reference.offset),
+                                    element.getTextRange().getEndOffset());
+                            addProblem(globalContext, psiFile, manager.createProblemDescriptor(
+                                    element, new TextRange(reference.offset - start, end - start), description,
+                                    ProblemHighlightType.GENERIC_ERROR_OR_WARNING, true), result);
+                            continue;
+                        }
+
+                        PsiElement literal = PsiTreeUtil.getParentOfType(psiFile.findElementAt(reference.offset), JsonStringLiteral.class, false);
+                        if (literal == null) continue;
+
+                        addProblem(globalContext, psiFile, manager.createProblemDescriptor(
+                                literal, description, true,
+                                new LocalQuickFix[]{new CreateBodyFileFix()}, ProblemHighlightType.GENERIC_ERROR_OR_WARNING), result);
+                    }
+                    return result;
+                }).executeSynchronously();
+                report(problemDescriptionsProcessor, reported);
+            }
+
+            for (List<VirtualFile> chunk : chunks(rootProblems.orphans)) {
+                List<Problem> reported = ReadAction.nonBlocking(() -> {
+                    List<Problem> result = new ArrayList<>();
+                    for (VirtualFile orphan : chunk) {
+                        ProgressManager.checkCanceled();
+                        if (!orphan.isValid() || !scope.contains(orphan)) continue;
+
+                        // The descriptor is not bound to an element, so the content of the body file is never loaded
+                        PsiFile psiFile = psiManager.findFile(orphan);
+                        if (psiFile == null) continue;
+
+                        addProblem(globalContext, psiFile, manager.createProblemDescriptor(
+                                "Body file is not referenced by any mapping file"), result);
+                    }
+                    return result;
+                }).executeSynchronously();
+                report(problemDescriptionsProcessor, reported);
+            }
+        }
+    }
+
+    private static void addProblem(GlobalInspectionContext globalContext, PsiFile psiFile, CommonProblemDescriptor descriptor,
+                                   List<Problem> result) {
+        RefElement refElement = globalContext.getRefManager().getReference(psiFile);
+        if (refElement != null) {
+            result.add(new Problem(refElement, descriptor));
+        }
+    }
+
+    /**
+     * Hands the problems of a chunk to the processor, outside the read action so a restarted chunk is not reported twice.
+     */
+    private static void report(ProblemDescriptionsProcessor processor, List<Problem> problems) {
+        for (Problem problem : problems) {
+            processor.addProblemElement(problem.refElement, problem.descriptor);
+        }
+    }
+
+    /**
+     * Splits a list into chunks of {@link #CHUNK_SIZE} elements.
+     */
+    private static <T> List<List<T>> chunks(List<T> list) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += CHUNK_SIZE) {
+            chunks.add(list.subList(i, Math.min(i + CHUNK_SIZE, list.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Lists the files below a directory, reading the children of up to {@link #CHUNK_SIZE} directories per read action.
+     */
+    private static List<VirtualFile> listFiles(VirtualFile dir) {
+        List<VirtualFile> files = new ArrayList<>();
+        Deque<VirtualFile> dirs = new ArrayDeque<>();
+        dirs.add(dir);
+        while (!dirs.isEmpty()) {
+            List<VirtualFile> batch = new ArrayList<>();
+            while (batch.size() < CHUNK_SIZE && !dirs.isEmpty()) {
+                batch.add(dirs.poll());
+            }
+
+            List<VirtualFile> children = ReadAction.nonBlocking(() -> {
+                List<VirtualFile> result = new ArrayList<>();
+                for (VirtualFile batchDir : batch) {
+                    ProgressManager.checkCanceled();
+                    if (batchDir.isValid()) {
+                        result.addAll(List.of(batchDir.getChildren()));
+                    }
+                }
+                return result;
+            }).executeSynchronously();
+
+            for (VirtualFile child : children) {
+                if (child.isDirectory()) {
+                    dirs.add(child);
+                } else {
+                    files.add(child);
+                }
+            }
+        }
+        return files;
+    }
+
+    @Override
+    public boolean isGraphNeeded() {
+        return false;
+    }
+
+    @Override
+    public boolean isReadActionNeeded() {
+        return false;
+    }
+
+    /**
+     * The dangling references and orphaned body files of a body file directory and the mappings directories using it.
+     */
+    private static final class RootProblems {
+        private final VirtualFile filesDir;
+        private final List<VirtualFile> mappingsDirs;
+        private final List<DanglingReference> dangling = new ArrayList<>();
+        private final List<VirtualFile> orphans = new ArrayList<>();
+
+        private RootProblems(VirtualFile filesDir, List<VirtualFile> mappingsDirs) {
+            this.filesDir = filesDir;
+            this.mappingsDirs = mappingsDirs;
+        }
+
+        private void collect(Project project) {
+            if (!filesDir.isValid()) return;
+
+            // Read the referenced body files of the mapping files from the index, one chunk per read action
+            Set<String> referenced = new HashSet<>();
+            for (VirtualFile mappingsDir : mappingsDirs) {
+                if (!mappingsDir.isValid()) continue;
+
+                List<VirtualFile> mappingFiles = listFiles(mappingsDir);
+                mappingFiles.removeIf(file -> !"json".equalsIgnoreCase(file.getExtension()));
+                for (List<VirtualFile> chunk : chunks(mappingFiles)) {
+                    References references = ReadAction.nonBlocking(() -> collectReferences(project, chunk))
+                            .inSmartMode(project)
+                            .executeSynchronously();
+                    referenced.addAll(references.referenced);
+                    dangling.addAll(references.dangling);
+                }
+            }
+
+            // Every file under "__files" that is not in the referenced set is an orphan
+            for (VirtualFile file : listFiles(filesDir)) {
+                ProgressManager.checkCanceled();
+                String relativePath = VfsUtilCore.getRelativePath(file, filesDir);
+                if (relativePath != null && !referenced.contains(relativePath)) {
+                    orphans.add(file);
+                }
+            }
+        }
+
+        /**
+         * Reads the bodyFileName values of a chunk of mapping files, and collects the dangling ones.
+         */
+        private References collectReferences(Project project, List<VirtualFile> mappingFiles) {
+            FileBasedIndex index = FileBasedIndex.getInstance();
+            References references = new References();
+            for (VirtualFile file : mappingFiles) {
+                ProgressManager.checkCanceled();
+                if (!file.isValid()) continue;
+
+                Map<String, List<WireMockStubEntry>> data = index.getFileData(WireMockBodyFileIndex.NAME, file, project);
+                for (Map.Entry<String, List<WireMockStubEntry>> entry : data.entrySet()) {
+                    references.referenced.add(entry.getKey());
+                    VirtualFile bodyFile = filesDir.findFileByRelativePath(entry.getKey());
+                    if (bodyFile != null && !bodyFile.isDirectory()) continue;
+
+                    for (WireMockStubEntry stub : entry.getValue()) {
+                        references.dangling.add(new DanglingReference(file, entry.getKey(), stub.getBodyFileNameOffset()));
+                    }
+                }
+            }
+            return references;
+        }
+    }
+
+    /**
+     * The references read from a chunk of mapping files.
+     */
+    private static final class References {
+        private final Set<String> referenced = new HashSet<>();
+        private final List<DanglingReference> dangling = new ArrayList<>();
+    }
+
+    /**
+     * A problem to report, created in a read action.
+     */
+    private record Problem(RefElement refElement, CommonProblemDescriptor descriptor) {
+    }
+
+    /**
+     * A bodyFileName value whose body file does not exist.
+     */
+    private static final class DanglingReference {
+        private final VirtualFile mappingFile;
+        private final String bodyFileName;
+        private final int offset;
+
+        private DanglingReference(VirtualFile mappingFile, String bodyFileName, int offset) {
+            this.mappingFile = mappingFile;
+            this.bodyFileName = bodyFileName;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * Quick fix that creates the missing body file.
+     */
+    private static final class CreateBodyFileFix implements LocalQuickFix {
+
+        @Override
+        public @NotNull String getFamilyName() {
+            return "Create body file";
+        }
+
+        @Override
+        public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+            if (!(descriptor.getPsiElement() instanceof JsonStringLiteral literal)) return;
+
+            PsiFile file = literal.getContainingFile();
+            VirtualFile bodyFile = WireMockBodyFileCreator.createBodyFile(project, file.getVirtualFile(), literal.getValue());
+            if (bodyFile != null) {
+                FileEditorManager.getInstance(project).openTextEditor(new OpenFileDescriptor(project, bodyFile), true);
+            }
+        }
+
+        @Override
+        public boolean startInWriteAction() {
+            return false;
+        }
+    }
+}
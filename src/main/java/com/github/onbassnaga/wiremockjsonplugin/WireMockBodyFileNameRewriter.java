@@ -0,0 +1,115 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.json.psi.JsonFile;
+import com.intellij.json.psi.JsonStringLiteral;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.ElementManipulators;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rewrites bodyFileName values at offsets found in {@link WireMockBodyFileIndex}.
+ * The values of each mapping file are replaced in its document in one batch, so the caller decides
+ * the command (and undo step) they belong to. Must be called in a write action.
+ * Large mapping files that are opened as plain text are rewritten from the text with {@link WireMockJsonScanner}.
+ */
+public final class WireMockBodyFileNameRewriter {
+
+    private WireMockBodyFileNameRewriter() {
+    }
+
+    /**
+     * Computes the new value of a bodyFileName.
+     */
+    public interface Replacement {
+        /**
+         * @param bodyFileName The normalized bodyFileName value, without a leading slash
+         * @return The new normalized value, or null to keep the value
+         */
+        @Nullable String replace(@NotNull String bodyFileName);
+    }
+
+    /**
+     * Rewrites the bodyFileName values at the given offsets. A leading slash of the original value is kept.
+     *
+     * @param project The current project
+     * @param offsets The offsets of the bodyFileName string literals, per mapping file
+     * @param replacement Computes the new values
+     * @return The number of rewritten values
+     */
+    public static int rewrite(@NotNull Project project, @NotNull Map<VirtualFile, ? extends Collection<Integer>> offsets,
+                              @NotNull Replacement replacement) {
+        PsiManager psiManager = PsiManager.getInstance(project);
+        PsiDocumentManager documentManager = PsiDocumentManager.getInstance(project);
+        int count = 0;
+        for (Map.Entry<VirtualFile, ? extends Collection<Integer>> entry : offsets.entrySet()) {
+            PsiFile psiFile = entry.getKey().isValid() ? psiManager.findFile(entry.getKey()) : null;
+            Document document = psiFile != null ? documentManager.getDocument(psiFile) : null;
+            if (document == null) continue;
+
+            documentManager.commitDocument(document);
+
+            // Collect the replacements first, then apply them from the end so earlier offsets stay valid
+            List<TextRange> ranges = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            Map<Integer, WireMockJsonScanner.Occurrence> occurrences = psiFile instanceof JsonFile ? null : findOccurrences(document);
+            for (int offset : entry.getValue().stream().sorted().distinct().toList()) {
+                String value;
+                TextRange range;
+                if (occurrences != null) {
+                    WireMockJsonScanner.Occurrence occurrence = occurrences.get(offset);
+                    if (occurrence == null) continue;
+
+                    value = occurrence.getValue();
+                    range = new TextRange(occurrence.getOffset() + 1, occurrence.getEndOffset() - 1);
+                } else {
+                    JsonStringLiteral literal = PsiTreeUtil.getParentOfType(psiFile.findElementAt(offset), JsonStringLiteral.class, false);
+                    if (literal == null || WireMockBodyFileReference.find(literal) == null) continue;
+
+                    value = literal.getValue();
+                    range = ElementManipulators.getValueTextRange(literal).shiftRight(literal.getTextRange().getStartOffset());
+                }
+
+                String newValue = replacement.replace(WireMockUtils.normalizeBodyFileName(value));
+                if (newValue == null) continue;
+
+                ranges.add(range);
+                values.add(StringUtil.escapeStringCharacters((value.startsWith("/") ? "/" : "") + newValue));
+            }
+            if (ranges.isEmpty()) continue;
+
+            documentManager.doPostponedOperationsAndUnblockDocument(document);
+            for (int i = ranges.size() - 1; i >= 0; i--) {
+                document.replaceString(ranges.get(i).getStartOffset(), ranges.get(i).getEndOffset(), values.get(i));
+            }
+            documentManager.commitDocument(document);
+            count += ranges.size();
+        }
+        return count;
+    }
+
+    /**
+     * Finds the bodyFileName values of a mapping file that has no JSON PSI, by the offset of their opening quote.
+     */
+    private static Map<Integer, WireMockJsonScanner.Occurrence> findOccurrences(Document document) {
+        Map<Integer, WireMockJsonScanner.Occurrence> result = new HashMap<>();
+        for (WireMockJsonScanner.Occurrence occurrence : WireMockJsonScanner.findBodyFileNames(document.getImmutableCharSequence())) {
+            result.put(occurrence.getOffset(), occurrence);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.json.psi.JsonProperty;
+import com.intellij.json.psi.JsonStringLiteral;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.ElementManipulators;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileSystemItem;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiReferenceBase;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.IncorrectOperationException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reference from a bodyFileName value in a WireMock mapping file to its body file.
+ * One instance is cached per string literal, and its resolution is backed by {@link WireMockUtils#resolveBodyFile},
+ * so the annotator, the line marker provider and platform navigation all share a single resolution.
+ */
+public class WireMockBodyFileReference extends PsiReferenceBase<JsonStringLiteral> {
+
+    private WireMockBodyFileReference(@NotNull JsonStringLiteral element, @NotNull TextRange rangeInElement) {
+        super(element, rangeInElement, true);
+    }
+
+    /**
+     * Gets the bodyFileName reference of the given element.
+     *
+     * @param element The element to check
+     * @return The reference if the element is a bodyFileName value in a WireMock mapping file, null otherwise
+     */
+    public static @Nullable WireMockBodyFileReference find(@Nullable PsiElement element) {
+        if (!(element instanceof JsonStringLiteral literal)) return null;
+
+        // Check if this is the value of a bodyFileName property
+        if (!(literal.getParent() instanceof JsonProperty property) || property.getValue() != literal) return null;
+        if (!"bodyFileName".equals(property.getName())) return null;
+
+        // Check if the file is a WireMock mapping file
+        VirtualFile virtualFile = literal.getContainingFile().getOriginalFile().getVirtualFile();
+        if (!WireMockRootRegistry.getInstance(literal.getProject()).isMappingFile(virtualFile)) return null;
+
+        return CachedValuesManager.getCachedValue(literal, () -> CachedValueProvider.Result.create(
+                new WireMockBodyFileReference(literal, ElementManipulators.getValueTextRange(literal)),
+                PsiModificationTracker.MODIFICATION_COUNT));
+    }
+
+    /**
+     * Gets the bodyFileName reference of the string literal at the given offset, e.g. an offset from {@link WireMockBodyFileIndex}.
+     *
+     * @param file The mapping file
+     * @param offset The offset of the opening quote of the bodyFileName value
+     * @return The reference if there is a bodyFileName value at the offset, null otherwise
+     */
+    public static @Nullable WireMockBodyFileReference findAt(@Nullable PsiFile file, int offset) {
+        if (file == null) return null;
+
+        return find(PsiTreeUtil.getParentOfType(file.findElementAt(offset), JsonStringLiteral.class, false));
+    }
+
+    /**
+     * Gets the bodyFileName value of this reference.
+     */
+    public @NotNull String getBodyFileName() {
+        return getElement().getValue();
+    }
+
+    /**
+     * Resolves this reference to the body file without loading its PSI.
+     *
+     * @return The body file if it exists, null otherwise
+     */
+    public @Nullable VirtualFile resolveFile() {
+        return WireMockUtils.resolveBodyFile(getElement().getContainingFile(), getBodyFileName());
+    }
+
+    @Override
+    public @Nullable PsiElement resolve() {
+        VirtualFile bodyFile = resolveFile();
+        return bodyFile != null ? PsiManager.getInstance(getElement().getProject()).findFile(bodyFile) : null;
+    }
+
+    @Override
+    public PsiElement handleElementRename(@NotNull String newElementName) throws IncorrectOperationException {
+        // Only the last path segment is the file name, keep the directories in front of it
+        String bodyFileName = getBodyFileName();
+        String newBodyFileName = bodyFileName.substring(0, bodyFileName.lastIndexOf('/') + 1) + newElementName;
+        return ElementManipulators.handleContentChange(getElement(), getRangeInElement(), newBodyFileName);
+    }
+
+    @Override
+    public PsiElement bindToElement(@NotNull PsiElement element) throws IncorrectOperationException {
+        if (!(element instanceof PsiFileSystemItem item) || item.getVirtualFile() == null) {
+            return super.bindToElement(element);
+        }
+
+        VirtualFile mappingFile = getElement().getContainingFile().getOriginalFile().getVirtualFile();
+        WireMockRoot root = WireMockRootRegistry.getInstance(getElement().getProject()).findRoot(mappingFile);
+        VirtualFile filesDir = root != null ? root.getFilesDir() : null;
+        if (filesDir == null || !VfsUtilCore.isAncestor(filesDir, item.getVirtualFile(), true)) {
+            throw new IncorrectOperationException("Body file must be located under " + (filesDir != null ? filesDir.getPath() : "__files"));
+        }
+
+        // Keep the leading slash if the original value used one
+        String relativePath = WireMockUtils.getRelativePath(filesDir, item.getVirtualFile());
+        String newBodyFileName = getBodyFileName().startsWith("/") ? "/" + relativePath : relativePath;
+        return ElementManipulators.handleContentChange(getElement(), getRangeInElement(), newBodyFileName);
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.application.QueryExecutorBase;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.search.SearchScope;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.util.Processor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Finds the bodyFileName references to a body file with {@link WireMockBodyFileIndex}.
+ * Both the "path" and "/path" forms are found, since the index stores normalized values,
+ * and only the string literals at the indexed offsets are visited.
+ * This makes Find Usages and rename/move refactoring of body files independent of the number of mapping files.
+ * Large mapping files opened as plain text have no references, their values are rewritten by
+ * {@link WireMockRefactoringListenerProvider} instead.
+ */
+public class WireMockBodyFileReferenceSearcher extends QueryExecutorBase<PsiReference, ReferencesSearch.SearchParameters> {
+
+    public WireMockBodyFileReferenceSearcher() {
+        super(true);
+    }
+
+    @Override
+    public void processQuery(@NotNull ReferencesSearch.SearchParameters queryParameters, @NotNull Processor<? super PsiReference> consumer) {
+        PsiElement element = queryParameters.getElementToSearch();
+        if (!(element instanceof PsiFile psiFile)) return;
+
+        VirtualFile bodyFile = psiFile.getVirtualFile();
+        if (bodyFile == null) return;
+
+        SearchScope scope = queryParameters.getEffectiveSearchScope();
+        PsiManager psiManager = psiFile.getManager();
+        // The search falls back to the snapshot if indexing starts, which reports the stubs found so far again
+        Set<WireMockStubLocation> seen = new HashSet<>();
+        WireMockUtils.processStubsReferencingBodyFile(psiFile.getProject(), bodyFile, location -> {
+            if (!scope.contains(location.getMappingFile()) || !seen.add(location)) return true;
+
+            PsiFile mappingFile = psiManager.findFile(location.getMappingFile());
+            WireMockBodyFileReference reference = WireMockBodyFileReference.findAt(mappingFile, location.getEntry().getBodyFileNameOffset());
+            return reference == null || !reference.isReferenceTo(psiFile) || consumer.process(reference);
+        });
+    }
+}
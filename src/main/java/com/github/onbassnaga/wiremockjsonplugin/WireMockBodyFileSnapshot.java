@@ -0,0 +1,484 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.ControlFlowException;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.impl.LoadTextUtil;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.util.Processor;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compact in-memory copy of the bodyFileName references of all mapping files of a project.
+ * It answers reverse lookups (which stubs reference a body file) while the IDE is indexing, when
+ * {@link WireMockBodyFileIndex} is not available. Forward lookups never need it, since they only walk the VFS.
+ * <p>
+ * The snapshot is kept current from VFS and document events: mapping files that change are marked dirty and are
+ * rescanned with {@link WireMockJsonScanner} in a coalesced background task, or read from the index when indexing
+ * finishes, so lookups only read the prepared map, even right after a branch switch. All mapping files are only walked on the first refresh and after directories or
+ * roots changed. The snapshot is written to the system directory in the background whenever it changed, so it is
+ * available right away on the next start, even if indexing starts immediately.
+ */
+@Service(Service.Level.PROJECT)
+public final class WireMockBodyFileSnapshot implements Disposable {
+
+    private static final Logger LOG = Logger.getInstance(WireMockBodyFileSnapshot.class);
+    private static final int VERSION = 2;
+
+    private final Project project;
+    private final Map<String, MappingFileData> mappingFiles = new ConcurrentHashMap<>();
+    private final Set<String> dirtyUrls = ConcurrentHashMap.newKeySet();
+    private final ExecutorService saveExecutor = AppExecutorUtil.createBoundedApplicationPoolExecutor("WireMock Snapshot Writer", 1);
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+    private volatile Map<String, List<Reference>> references;
+    private volatile boolean loaded;
+    private volatile boolean unsaved;
+    private volatile boolean fullRefreshNeeded = true;
+    private volatile long refreshedRootsModificationCount = -1;
+
+    public WireMockBodyFileSnapshot(Project project) {
+        this.project = project;
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends @NotNull VFileEvent> events) {
+                for (VFileEvent event : events) {
+                    update(event);
+                }
+                if (!dirtyUrls.isEmpty()) {
+                    scheduleRescan();
+                }
+            }
+        });
+
+        // Unsaved changes of mapping files do not cause VFS events
+        EditorFactory.getInstance().getEventMulticaster().addDocumentListener(new DocumentListener() {
+            @Override
+            public void documentChanged(@NotNull DocumentEvent event) {
+                VirtualFile file = FileDocumentManager.getInstance().getFile(event.getDocument());
+                if (file != null && WireMockRootRegistry.getInstance(project).isMappingFile(file)) {
+                    dirtyUrls.add(file.getUrl());
+                    scheduleRescan();
+                }
+            }
+        }, this);
+    }
+
+    public static WireMockBodyFileSnapshot getInstance(Project project) {
+        return project.getService(WireMockBodyFileSnapshot.class);
+    }
+
+    /**
+     * Processes the stubs that reference a body file, without using an index.
+     * Mapping files are never read here; ones that changed moments ago are seen in their previous state
+     * until the background rescan has picked them up. Must be called in a read action.
+     *
+     * @param bodyFile The body file
+     * @param processor The processor to feed the stubs to, may return false to stop
+     * @return false if the processor stopped, true otherwise
+     */
+    public boolean processStubsReferencingBodyFile(@NotNull VirtualFile bodyFile, @NotNull Processor<? super WireMockStubLocation> processor) {
+        ensureLoaded();
+
+        List<Reference> found = getReferences().get(bodyFile.getUrl());
+        if (found == null) return true;
+
+        VirtualFileManager fileManager = VirtualFileManager.getInstance();
+        for (Reference reference : found) {
+            VirtualFile mappingFile = fileManager.findFileByUrl(reference.mappingFileUrl);
+            if (mappingFile == null || !mappingFile.isValid()) continue;
+
+            if (!processor.process(new WireMockStubLocation(mappingFile, reference.entry))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Refreshes the snapshot from the index in the background, as soon as the project is in smart mode.
+     */
+    public void scheduleRefresh() {
+        ReadAction.nonBlocking(this::refreshFromIndex)
+                .inSmartMode(project)
+                .coalesceBy(this)
+                .expireWith(this)
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * Rescans the dirty mapping files in the background, whether the project is indexing or not.
+     * Bursts of changes, like a branch switch or typing in a mapping file, are coalesced into one task.
+     */
+    private void scheduleRescan() {
+        ReadAction.nonBlocking(this::rescanDirtyFiles)
+                .coalesceBy(this, dirtyUrls)
+                .expireWith(this)
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * Marks the mapping files affected by a VFS event dirty, or drops them if they were deleted or moved away.
+     * Directory changes can add or remove any number of mapping files, so they make the next refresh walk all of them.
+     */
+    private void update(@NotNull VFileEvent event) {
+        VirtualFile file = event.getFile();
+        if (file == null) return;
+
+        String oldUrl = null;
+        if (event instanceof VFileMoveEvent moveEvent) {
+            oldUrl = VirtualFileManager.constructUrl(file.getFileSystem().getProtocol(), moveEvent.getOldPath());
+        } else if (event instanceof VFilePropertyChangeEvent propertyChangeEvent && propertyChangeEvent.isRename()) {
+            oldUrl = VirtualFileManager.constructUrl(file.getFileSystem().getProtocol(), propertyChangeEvent.getOldPath());
+        } else if (event instanceof VFileDeleteEvent) {
+            oldUrl = file.getUrl();
+        }
+
+        if (file.isDirectory()) {
+            if (oldUrl != null) {
+                removeAll(oldUrl + "/");
+            }
+            // Other property changes, like the writable flag, do not add mapping files
+            boolean added = !(event instanceof VFileDeleteEvent)
+                    && (!(event instanceof VFilePropertyChangeEvent propertyChangeEvent) || propertyChangeEvent.isRename());
+            if (added) {
+                fullRefreshNeeded = true;
+            }
+            return;
+        }
+
+        if (oldUrl != null) {
+            remove(oldUrl);
+        }
+        if (!(event instanceof VFileDeleteEvent) && WireMockRootRegistry.getInstance(project).isMappingFile(file)) {
+            dirtyUrls.add(file.getUrl());
+        }
+    }
+
+    /**
+     * Updates the snapshot from the index. Only the dirty mapping files are read, unless directories or roots
+     * changed since the last refresh, in which case every mapping file of the project is walked.
+     */
+    private void refreshFromIndex() {
+        ensureLoaded();
+
+        long rootsModificationCount = WireMockRootRegistry.getInstance(project).getRootsModificationCount();
+        if (fullRefreshNeeded || rootsModificationCount != refreshedRootsModificationCount) {
+            // Cleared first, so directory changes during the walk are not lost
+            fullRefreshNeeded = false;
+            try {
+                refreshAllFromIndex();
+            } catch (RuntimeException e) {
+                fullRefreshNeeded = true;
+                throw e;
+            }
+            refreshedRootsModificationCount = rootsModificationCount;
+        } else {
+            refreshDirtyFromIndex();
+        }
+        scheduleSave();
+    }
+
+    /**
+     * Reads the dirty mapping files from the index.
+     */
+    private void refreshDirtyFromIndex() {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        WireMockRootRegistry registry = WireMockRootRegistry.getInstance(project);
+        VirtualFileManager fileManager = VirtualFileManager.getInstance();
+        for (String url : new ArrayList<>(dirtyUrls)) {
+            ProgressManager.checkCanceled();
+            VirtualFile file = fileManager.findFileByUrl(url);
+            if (file == null || !file.isValid() || !registry.isMappingFile(file)) {
+                remove(url);
+            } else if (!FileDocumentManager.getInstance().isFileModified(file)) {
+                put(url, new MappingFileData(file.getTimeStamp(), index.getFileData(WireMockBodyFileIndex.NAME, file, project)));
+            } else {
+                // The index only has the saved text, so unsaved changes are left to the rescan of the document
+                continue;
+            }
+            dirtyUrls.remove(url);
+        }
+    }
+
+    /**
+     * Replaces the data of every mapping file of the project with the data of the index.
+     * Files whose time stamp did not change since they were last read are skipped.
+     */
+    private void refreshAllFromIndex() {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        WireMockRootRegistry registry = WireMockRootRegistry.getInstance(project);
+        Set<String> seen = new HashSet<>();
+        for (WireMockRoot root : registry.getRoots()) {
+            VirtualFile mappingsDir = root.getMappingsDir();
+            if (mappingsDir == null || !mappingsDir.isValid()) continue;
+
+            VfsUtilCore.iterateChildrenRecursively(mappingsDir, null, file -> {
+                ProgressManager.checkCanceled();
+                if (file.isDirectory() || !registry.isMappingFile(file)) return true;
+
+                String url = file.getUrl();
+                seen.add(url);
+                MappingFileData data = mappingFiles.get(url);
+                boolean dirty = dirtyUrls.contains(url);
+                if (dirty && FileDocumentManager.getInstance().isFileModified(file)) return true;
+
+                if (data == null || data.timeStamp != file.getTimeStamp() || dirty) {
+                    put(url, new MappingFileData(file.getTimeStamp(), index.getFileData(WireMockBodyFileIndex.NAME, file, project)));
+                    dirtyUrls.remove(url);
+                }
+                return true;
+            });
+        }
+
+        // Drop mapping files that were deleted or moved out of the WireMock roots
+        for (String url : new ArrayList<>(mappingFiles.keySet())) {
+            if (!seen.contains(url)) {
+                remove(url);
+            }
+        }
+    }
+
+    /**
+     * Rescans the mapping files that changed since the last refresh with the streaming scanner.
+     * Files open in an editor are read from their document, so unsaved changes are seen and the disk is not read.
+     */
+    private void rescanDirtyFiles() {
+        ensureLoaded();
+        if (dirtyUrls.isEmpty()) return;
+
+        WireMockRootRegistry registry = WireMockRootRegistry.getInstance(project);
+        VirtualFileManager fileManager = VirtualFileManager.getInstance();
+        FileDocumentManager documentManager = FileDocumentManager.getInstance();
+        for (String url : new ArrayList<>(dirtyUrls)) {
+            ProgressManager.checkCanceled();
+            VirtualFile file = fileManager.findFileByUrl(url);
+            if (file == null || !file.isValid() || !registry.isMappingFile(file)) {
+                remove(url);
+            } else {
+                Document document = documentManager.getCachedDocument(file);
+                try {
+                    CharSequence text = document != null ? document.getImmutableCharSequence() : LoadTextUtil.loadText(file);
+                    put(url, new MappingFileData(file.getTimeStamp(), WireMockBodyFileIndex.collectStubs(text)));
+                } catch (RuntimeException e) {
+                    if (e instanceof ControlFlowException) throw e;
+                    LOG.debug("Could not read mapping file " + url, e);
+                    remove(url);
+                }
+            }
+            dirtyUrls.remove(url);
+        }
+        scheduleSave();
+    }
+
+    /**
+     * Gets the references by body file URL, rebuilding them after the snapshot changed.
+     */
+    private Map<String, List<Reference>> getReferences() {
+        Map<String, List<Reference>> result = references;
+        if (result != null) return result;
+
+        result = new HashMap<>();
+        WireMockRootRegistry registry = WireMockRootRegistry.getInstance(project);
+        VirtualFileManager fileManager = VirtualFileManager.getInstance();
+        for (Map.Entry<String, MappingFileData> mappingFile : mappingFiles.entrySet()) {
+            // Resolve the values against the body file directory of the mapping file's root, like getBodyFile does
+            VirtualFile file = fileManager.findFileByUrl(mappingFile.getKey());
+            WireMockRoot root = file != null ? registry.findRoot(file) : null;
+            VirtualFile filesDir = root != null ? root.getFilesDir() : null;
+            if (filesDir == null) continue;
+
+            for (Map.Entry<String, List<WireMockStubEntry>> bodyFile : mappingFile.getValue().bodyFileNames.entrySet()) {
+                List<Reference> list = result.computeIfAbsent(filesDir.getUrl() + "/" + bodyFile.getKey(), key -> new ArrayList<>());
+                for (WireMockStubEntry entry : bodyFile.getValue()) {
+                    list.add(new Reference(mappingFile.getKey(), entry));
+                }
+            }
+        }
+        references = result;
+        return result;
+    }
+
+    private void put(String url, MappingFileData data) {
+        MappingFileData previous = mappingFiles.put(url, data);
+        if (previous == null || !previous.bodyFileNames.equals(data.bodyFileNames)) {
+            references = null;
+        }
+        unsaved = true;
+    }
+
+    private void remove(String url) {
+        if (mappingFiles.remove(url) != null) {
+            references = null;
+            unsaved = true;
+        }
+    }
+
+    /**
+     * Removes the mapping files whose URL starts with the given prefix, i.e. the files of a directory.
+     */
+    private void removeAll(String urlPrefix) {
+        if (mappingFiles.keySet().removeIf(url -> url.startsWith(urlPrefix))) {
+            references = null;
+            unsaved = true;
+        }
+        dirtyUrls.removeIf(url -> url.startsWith(urlPrefix));
+    }
+
+    /**
+     * Reads the snapshot written when the project was closed the last time.
+     * Mapping files that were modified since then are rescanned on the next lookup.
+     */
+    private synchronized void ensureLoaded() {
+        if (loaded) return;
+        loaded = true;
+
+        Path file = getSnapshotFile();
+        if (!Files.isRegularFile(file)) return;
+
+        WireMockStubEntry.ListExternalizer externalizer = new WireMockStubEntry.ListExternalizer();
+        VirtualFileManager fileManager = VirtualFileManager.getInstance();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != VERSION) return;
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String url = IOUtil.readUTF(in);
+                long timeStamp = in.readLong();
+                int bodyFileCount = in.readInt();
+                Map<String, List<WireMockStubEntry>> bodyFileNames = new HashMap<>();
+                for (int j = 0; j < bodyFileCount; j++) {
+                    bodyFileNames.put(IOUtil.readUTF(in), externalizer.read(in));
+                }
+                mappingFiles.putIfAbsent(url, new MappingFileData(timeStamp, bodyFileNames));
+
+                VirtualFile mappingFile = fileManager.findFileByUrl(url);
+                if (mappingFile == null || mappingFile.getTimeStamp() != timeStamp) {
+                    dirtyUrls.add(url);
+                }
+            }
+            references = null;
+        } catch (IOException e) {
+            LOG.info("Could not read the WireMock snapshot " + file, e);
+            mappingFiles.clear();
+        }
+        if (!dirtyUrls.isEmpty()) {
+            scheduleRescan();
+        }
+    }
+
+    /**
+     * Writes the snapshot on a background thread, once for a burst of changes.
+     */
+    private void scheduleSave() {
+        if (unsaved && saveScheduled.compareAndSet(false, true)) {
+            saveExecutor.execute(() -> {
+                saveScheduled.set(false);
+                save();
+            });
+        }
+    }
+
+    /**
+     * Writes the snapshot to the system directory. A temporary file is written and moved into place,
+     * so a snapshot that is read while it is written, or after the IDE was killed, is never truncated.
+     */
+    private void save() {
+        if (!loaded || !unsaved || mappingFiles.isEmpty()) return;
+
+        unsaved = false;
+        Path file = getSnapshotFile();
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        WireMockStubEntry.ListExternalizer externalizer = new WireMockStubEntry.ListExternalizer();
+        try {
+            Files.createDirectories(file.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(VERSION);
+                Map<String, MappingFileData> data = new HashMap<>(mappingFiles);
+                out.writeInt(data.size());
+                for (Map.Entry<String, MappingFileData> mappingFile : data.entrySet()) {
+                    IOUtil.writeUTF(out, mappingFile.getKey());
+                    out.writeLong(mappingFile.getValue().timeStamp);
+                    out.writeInt(mappingFile.getValue().bodyFileNames.size());
+                    for (Map.Entry<String, List<WireMockStubEntry>> bodyFile : mappingFile.getValue().bodyFileNames.entrySet()) {
+                        IOUtil.writeUTF(out, bodyFile.getKey());
+                        externalizer.save(out, bodyFile.getValue());
+                    }
+                }
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.info("Could not write the WireMock snapshot " + file, e);
+        }
+    }
+
+    private @NotNull Path getSnapshotFile() {
+        return PathManager.getSystemDir().resolve("wiremock-json").resolve(project.getLocationHash() + ".snapshot");
+    }
+
+    @Override
+    public void dispose() {
+        // The snapshot is written in the background whenever it changes, so closing the project does not block on it
+    }
+
+    /**
+     * The bodyFileName references of a mapping file and the time stamp of the file when they were read.
+     */
+    private static final class MappingFileData {
+        private final long timeStamp;
+        private final Map<String, List<WireMockStubEntry>> bodyFileNames;
+
+        private MappingFileData(long timeStamp, Map<String, List<WireMockStubEntry>> bodyFileNames) {
+            this.timeStamp = timeStamp;
+            this.bodyFileNames = bodyFileNames;
+        }
+    }
+
+    /**
+     * A stub of a mapping file that references a body file.
+     */
+    private static final class Reference {
+        private final String mappingFileUrl;
+        private final WireMockStubEntry entry;
+
+        private Reference(String mappingFileUrl, WireMockStubEntry entry) {
+            this.mappingFileUrl = mappingFileUrl;
+            this.entry = entry;
+        }
+    }
+}
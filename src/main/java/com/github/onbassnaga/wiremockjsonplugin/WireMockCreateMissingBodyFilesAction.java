@@ -0,0 +1,110 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.indexing.FileBasedIndex;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Action for mapping files and directories under "mappings".
+ * Collects every bodyFileName value without a body file from {@link WireMockBodyFileIndex}
+ * and creates all of them in a single undoable command.
+ */
+public class WireMockCreateMissingBodyFilesAction extends AnAction {
+
+    public WireMockCreateMissingBodyFilesAction() {
+        super("Create Missing Body Files", "Create the body files referenced by the selected mapping files that do not exist", null);
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        VirtualFile[] files = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+
+        // Only enable for mapping files or directories inside a "mappings" directory
+        boolean enabled = false;
+        if (project != null && files != null) {
+            for (VirtualFile file : files) {
+                if (WireMockRootRegistry.getInstance(project).findMappingsRoot(file) != null) {
+                    enabled = true;
+                    break;
+                }
+            }
+        }
+        e.getPresentation().setEnabledAndVisible(enabled);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        VirtualFile[] files = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (project == null || files == null) return;
+
+        // Collect the missing body files with progress, answered by the index
+        Map<WireMockRoot, Set<String>> missing = ProgressManager.getInstance().runProcessWithProgressSynchronously(
+                () -> ReadAction.nonBlocking(() -> collectMissingBodyFiles(project, files))
+                        .inSmartMode(project)
+                        .executeSynchronously(),
+                "Collecting Missing Body Files", true, project);
+        if (missing == null) return;
+
+        int count = missing.values().stream().mapToInt(Set::size).sum();
+        if (count == 0) {
+            Messages.showInfoMessage(project, "All referenced body files exist.", "Create Missing Body Files");
+            return;
+        }
+
+        int answer = Messages.showYesNoDialog(project,
+                "Create " + count + " missing body file" + (count == 1 ? "" : "s") + "?",
+                "Create Missing Body Files", Messages.getQuestionIcon());
+        if (answer != Messages.YES) return;
+
+        WireMockBodyFileCreator.createBodyFiles(project, missing);
+    }
+
+    /**
+     * Collects the bodyFileName values of the given mapping files and directories that do not resolve, per WireMock root.
+     */
+    private static Map<WireMockRoot, Set<String>> collectMissingBodyFiles(Project project, VirtualFile[] files) {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        WireMockRootRegistry registry = WireMockRootRegistry.getInstance(project);
+        Map<WireMockRoot, Set<String>> result = new LinkedHashMap<>();
+
+        for (VirtualFile selected : files) {
+            WireMockRoot root = registry.findMappingsRoot(selected);
+            if (root == null) continue;
+
+            VfsUtilCore.iterateChildrenRecursively(selected, null, file -> {
+                ProgressManager.checkCanceled();
+                if (file.isDirectory() || !registry.isMappingFile(file)) return true;
+
+                for (String bodyFileName : index.getFileData(WireMockBodyFileIndex.NAME, file, project).keySet()) {
+                    VirtualFile bodyFile = root.getFilesDir() != null ? root.getFilesDir().findFileByRelativePath(bodyFileName) : null;
+                    if (bodyFile == null) {
+                        result.computeIfAbsent(root, key -> new TreeSet<>()).add(bodyFileName);
+                    }
+                }
+                return true;
+            });
+        }
+        return result;
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
@@ -0,0 +1,174 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.ThrowableComputable;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.indexing.FileBasedIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Action for WireMock roots.
+ * Groups byte-identical body files with {@link WireMockBodyFileHashIndex}, points the bodyFileName values
+ * of all referencing stubs to one canonical file per group (the first by path) and deletes the redundant copies,
+ * all in a single undoable command.
+ */
+public class WireMockDeduplicateBodyFilesAction extends AnAction {
+
+    public WireMockDeduplicateBodyFilesAction() {
+        super("Deduplicate Body Files", "Replace identical body files with a single file and update the referencing mappings", null);
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        VirtualFile file = e.getData(CommonDataKeys.VIRTUAL_FILE);
+
+        // Only enable for files and directories of a WireMock root with a "__files" directory
+        e.getPresentation().setEnabledAndVisible(project != null && findRoot(project, file) != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) return;
+
+        WireMockRoot root = findRoot(project, e.getData(CommonDataKeys.VIRTUAL_FILE));
+        if (root == null) return;
+
+        // Find the duplicates with progress, answered by the index
+        Plan plan = ProgressManager.getInstance().runProcessWithProgressSynchronously(
+                () -> ReadAction.nonBlocking(() -> createPlan(project, root))
+                        .inSmartMode(project)
+                        .executeSynchronously(),
+                "Finding Duplicate Body Files", true, project);
+        if (plan == null) return;
+
+        if (plan.redundant.isEmpty()) {
+            Messages.showInfoMessage(project, "No duplicate body files found.", "Deduplicate Body Files");
+            return;
+        }
+
+        int answer = Messages.showYesNoDialog(project,
+                "Found " + plan.groups + " groups of identical body files.\n"
+                        + "Update " + plan.referenceCount + " bodyFileName values and delete " + plan.redundant.size() + " redundant files?",
+                "Deduplicate Body Files", Messages.getQuestionIcon());
+        if (answer != Messages.YES) return;
+
+        int rewritten;
+        try {
+            rewritten = WriteCommandAction.writeCommandAction(project)
+                    .withName("Deduplicate Body Files")
+                    .compute((ThrowableComputable<Integer, IOException>) () -> {
+                        int count = WireMockBodyFileNameRewriter.rewrite(project, plan.offsets, plan.replacements::get);
+
+                        // Values the rewriter skipped still point to a copy, so keep all copies in that case
+                        if (count != plan.referenceCount) return count;
+
+                        for (VirtualFile file : plan.redundant) {
+                            if (file.isValid()) {
+                                file.delete(WireMockDeduplicateBodyFilesAction.class);
+                            }
+                        }
+                        return count;
+                    });
+        } catch (IOException ex) {
+            Messages.showErrorDialog(project, "Could not delete a redundant body file: " + ex.getMessage()
+                    + "\nUse Undo to restore the previous state.", "Deduplicate Body Files");
+            return;
+        }
+
+        if (rewritten != plan.referenceCount) {
+            Messages.showErrorDialog(project, "Only " + rewritten + " of " + plan.referenceCount + " bodyFileName values could be updated, "
+                    + "the mapping files changed since they were indexed.\nNo body files were deleted.", "Deduplicate Body Files");
+        }
+    }
+
+    /**
+     * Groups the body files of a root by content hash and collects the changes needed to keep one file per group.
+     */
+    private static Plan createPlan(Project project, WireMockRoot root) {
+        Plan plan = new Plan();
+        VirtualFile filesDir = root.getFilesDir();
+        if (filesDir == null) return plan;
+
+        // Read the hash of every body file from the index
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        Map<String, List<VirtualFile>> filesByHash = new HashMap<>();
+        VfsUtilCore.iterateChildrenRecursively(filesDir, null, file -> {
+            ProgressManager.checkCanceled();
+            if (file.isDirectory()) return true;
+
+            for (String hash : index.getFileData(WireMockBodyFileHashIndex.NAME, file, project).keySet()) {
+                filesByHash.computeIfAbsent(hash, key -> new ArrayList<>()).add(file);
+            }
+            return true;
+        });
+
+        for (List<VirtualFile> files : filesByHash.values()) {
+            if (files.size() < 2) continue;
+
+            // The first file by path is kept, the stubs of the others are pointed to it
+            files.sort(Comparator.comparing(VirtualFile::getPath));
+            String canonicalPath = WireMockUtils.getRelativePath(filesDir, files.get(0));
+            plan.groups++;
+            for (VirtualFile duplicate : files.subList(1, files.size())) {
+                ProgressManager.checkCanceled();
+                plan.redundant.add(duplicate);
+                plan.replacements.put(WireMockUtils.getRelativePath(filesDir, duplicate), canonicalPath);
+                WireMockUtils.processStubsReferencingBodyFile(project, duplicate, location -> {
+                    // Count distinct offsets only, the rewriter reports each rewritten value once
+                    if (plan.offsets.computeIfAbsent(location.getMappingFile(), key -> new LinkedHashSet<>())
+                            .add(location.getEntry().getBodyFileNameOffset())) {
+                        plan.referenceCount++;
+                    }
+                    return true;
+                });
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Gets the WireMock root of the selected file if it has a "__files" directory.
+     */
+    private static @Nullable WireMockRoot findRoot(Project project, @Nullable VirtualFile file) {
+        WireMockRoot root = WireMockRootRegistry.getInstance(project).findRoot(file);
+        return root != null && root.getFilesDir() != null ? root : null;
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    /**
+     * The changes needed to deduplicate the body files of a root.
+     */
+    private static final class Plan {
+        private final Map<VirtualFile, Set<Integer>> offsets = new LinkedHashMap<>();
+        private final Map<String, String> replacements = new HashMap<>();
+        private final List<VirtualFile> redundant = new ArrayList<>();
+        private int groups;
+        private int referenceCount;
+    }
+}
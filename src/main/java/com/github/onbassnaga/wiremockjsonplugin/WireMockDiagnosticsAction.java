@@ -0,0 +1,134 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import com.intellij.util.ui.JBDimension;
+import com.intellij.util.ui.JBFont;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.AbstractAction;
+import javax.swing.Action;
+import javax.swing.JComponent;
+import java.awt.Font;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.ActionEvent;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Action that shows the counters collected by {@link WireMockMetrics}.
+ * The report can be refreshed, reset, copied or exported to a file to attach it to bug reports.
+ * It does not use any index, so it is also available while the IDE is indexing, when slowdowns are most likely.
+ */
+public class WireMockDiagnosticsAction extends AnAction implements DumbAware {
+
+    public WireMockDiagnosticsAction() {
+        super("WireMock Diagnostics", "Show call counts, latencies and cache hit rates of the WireMock plugin", null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        new DiagnosticsDialog(e.getProject()).show();
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    /**
+     * Dialog with the plain text report.
+     */
+    private static final class DiagnosticsDialog extends DialogWrapper {
+        private final Project project;
+        private final JBTextArea report = new JBTextArea();
+
+        private DiagnosticsDialog(@Nullable Project project) {
+            super(project, false);
+            this.project = project;
+            setTitle("WireMock Diagnostics");
+            setOKButtonText("Close");
+            report.setEditable(false);
+            report.setFont(JBFont.create(new Font(Font.MONOSPACED, Font.PLAIN, 12)));
+            refresh();
+            init();
+        }
+
+        @Override
+        protected @Nullable JComponent createCenterPanel() {
+            JBScrollPane scrollPane = new JBScrollPane(report);
+            scrollPane.setPreferredSize(new JBDimension(900, 320));
+            return scrollPane;
+        }
+
+        @Override
+        protected Action @NotNull [] createActions() {
+            return new Action[]{getOKAction()};
+        }
+
+        @Override
+        protected Action @NotNull [] createLeftSideActions() {
+            return new Action[]{
+                    new DialogAction("Refresh", this::refresh),
+                    new DialogAction("Reset", () -> {
+                        WireMockMetrics.getInstance().reset();
+                        refresh();
+                    }),
+                    new DialogAction("Copy", () -> CopyPasteManager.getInstance().setContents(new StringSelection(report.getText()))),
+                    new DialogAction("Export...", this::export)
+            };
+        }
+
+        private void refresh() {
+            report.setText(WireMockMetrics.getInstance().createReport());
+            report.setCaretPosition(0);
+        }
+
+        /**
+         * Saves the current report to a file chosen by the user.
+         */
+        private void export() {
+            FileSaverDescriptor descriptor = new FileSaverDescriptor("Export WireMock Diagnostics", "Save the report to a file", "txt");
+            VirtualFileWrapper target = FileChooserFactory.getInstance()
+                    .createSaveFileDialog(descriptor, getContentPanel())
+                    .save("wiremock-diagnostics.txt");
+            if (target == null) return;
+
+            try {
+                Files.writeString(target.getFile().toPath(), report.getText(), StandardCharsets.UTF_8);
+            } catch (IOException ex) {
+                Messages.showErrorDialog(project, "Could not export the report: " + ex.getMessage(), "WireMock Diagnostics");
+            }
+        }
+    }
+
+    /**
+     * Dialog button that runs a callback.
+     */
+    private static final class DialogAction extends AbstractAction {
+        private final Runnable callback;
+
+        private DialogAction(String name, Runnable callback) {
+            super(name);
+            this.callback = callback;
+        }
+
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            callback.run();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+
+/**
+ * Refreshes {@link WireMockBodyFileSnapshot} from the index whenever indexing finishes.
+ */
+public class WireMockDumbModeListener implements DumbService.DumbModeListener {
+
+    private final Project project;
+
+    public WireMockDumbModeListener(Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public void exitDumbMode() {
+        WireMockBodyFileSnapshot.getInstance(project).scheduleRefresh();
+    }
+}
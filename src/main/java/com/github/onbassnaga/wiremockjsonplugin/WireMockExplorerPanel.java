@@ -0,0 +1,651 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+import com.intellij.ui.ColoredTreeCellRenderer;
+import com.intellij.ui.DoubleClickListener;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.ui.treeStructure.Tree;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.ui.update.MergingUpdateQueue;
+import com.intellij.util.ui.update.Update;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.concurrency.CancellablePromise;
+
+import javax.swing.JTree;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeWillExpandListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Tree of WireMock roots, their stubs grouped by method and URL, and the body files of each stub.
+ * <p>
+ * Children are loaded in the background when a node is expanded for the first time. The stubs of a root are read
+ * from {@link WireMockRequestIndex} one page of URL keys at a time, and large groups show their stubs one page at a
+ * time, so the first page of a root with thousands of stubs is shown right away. VFS changes only refresh the
+ * roots they affect, and only the pages that have already been loaded.
+ */
+public class WireMockExplorerPanel extends SimpleToolWindowPanel implements Disposable {
+
+    private static final int PAGE_SIZE = 200;
+    private static final int UPDATE_DELAY_MS = 500;
+
+    private final Project project;
+    private final DefaultMutableTreeNode rootNode = new DefaultMutableTreeNode();
+    private final DefaultTreeModel model = new DefaultTreeModel(rootNode);
+    private final Tree tree = new Tree(model);
+    private final MergingUpdateQueue updateQueue;
+    private final Set<RootNode> changedRoots = new HashSet<>();
+    private boolean rootsChanged;
+    private long rootsModificationCount;
+
+    public WireMockExplorerPanel(@NotNull Project project) {
+        super(true, true);
+        this.project = project;
+        this.updateQueue = new MergingUpdateQueue("WireMock explorer", UPDATE_DELAY_MS, true, this, this);
+        this.rootsModificationCount = WireMockRootRegistry.getInstance(project).getRootsModificationCount();
+
+        tree.setRootVisible(false);
+        tree.setShowsRootHandles(true);
+        tree.setCellRenderer(new NodeRenderer());
+        tree.addTreeWillExpandListener(new TreeWillExpandListener() {
+            @Override
+            public void treeWillExpand(TreeExpansionEvent event) {
+                if (event.getPath().getLastPathComponent() instanceof LazyNode node) {
+                    load(node);
+                }
+            }
+
+            @Override
+            public void treeWillCollapse(TreeExpansionEvent event) {
+            }
+        });
+        new DoubleClickListener() {
+            @Override
+            protected boolean onDoubleClick(@NotNull MouseEvent event) {
+                return activateSelection();
+            }
+        }.installOn(tree);
+        tree.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_ENTER && activateSelection()) {
+                    e.consume();
+                }
+            }
+        });
+
+        DefaultActionGroup group = new DefaultActionGroup();
+        group.add(new RefreshAction());
+        ActionToolbar toolbar = ActionManager.getInstance().createActionToolbar("WireMockExplorer", group, true);
+        toolbar.setTargetComponent(tree);
+        setToolbar(toolbar.getComponent());
+        setContent(ScrollPaneFactory.createScrollPane(tree));
+
+        subscribeToVfsChanges();
+        loadRoots();
+    }
+
+    // ---- Loading ----
+
+    /**
+     * Loads the WireMock roots and merges them into the tree, keeping the nodes of roots that still exist.
+     */
+    private void loadRoots() {
+        ReadAction.nonBlocking(() -> {
+                    List<WireMockRoot> roots = new ArrayList<>();
+                    for (WireMockRoot root : WireMockRootRegistry.getInstance(project).getRoots()) {
+                        if (root.isValid() && root.getMappingsDir() != null) {
+                            roots.add(root);
+                        }
+                    }
+                    roots.sort(Comparator.comparing(root -> root.getMappingsDir().getPath()));
+                    return roots;
+                })
+                .inSmartMode(project)
+                .expireWith(this)
+                .finishOnUiThread(ModalityState.any(), this::mergeRoots)
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    private void mergeRoots(List<WireMockRoot> roots) {
+        Map<WireMockRoot, RootNode> existing = new LinkedHashMap<>();
+        for (int i = 0; i < rootNode.getChildCount(); i++) {
+            RootNode node = (RootNode) rootNode.getChildAt(i);
+            existing.put(node.root, node);
+        }
+
+        // Remove roots that no longer exist, then insert new ones at their sorted position
+        for (RootNode node : existing.values()) {
+            if (!roots.contains(node.root)) {
+                model.removeNodeFromParent(node);
+            }
+        }
+        for (int i = 0; i < roots.size(); i++) {
+            if (!existing.containsKey(roots.get(i))) {
+                model.insertNodeInto(new RootNode(roots.get(i)), rootNode, i);
+            }
+        }
+    }
+
+    private void load(LazyNode node) {
+        if (node.state != LoadState.NOT_LOADED) return;
+
+        node.state = LoadState.LOADING;
+        if (node instanceof RootNode rootNode) {
+            loadKeys(rootNode, false);
+        } else if (node instanceof GroupNode groupNode) {
+            // The stubs of a group are already in memory, only their nodes are created page by page
+            groupNode.state = LoadState.LOADED;
+            removeChildren(groupNode);
+            appendStubPage(groupNode);
+        } else if (node instanceof StubNode stubNode) {
+            loadBodyFiles(stubNode);
+        }
+    }
+
+    /**
+     * Reads the URL keys of a root from the index and loads the groups of the first page, or of all pages that
+     * were already loaded when the root is refreshed.
+     */
+    private void loadKeys(RootNode node, boolean refresh) {
+        int keyCount = refresh ? Math.max(node.loadedKeys, PAGE_SIZE) : PAGE_SIZE;
+        CancellablePromise<Page> promise = ReadAction.nonBlocking(() -> {
+                    List<String> keys = readKeys(node.root);
+                    return new Page(keys, readGroups(node.root, keys.subList(0, Math.min(keyCount, keys.size()))));
+                })
+                .inSmartMode(project)
+                .expireWith(this)
+                .finishOnUiThread(ModalityState.any(), page -> {
+                    if (node.getParent() == null) return;
+
+                    node.keys = page.keys;
+                    node.loadedKeys = Math.min(keyCount, page.keys.size());
+                    node.state = LoadState.LOADED;
+                    if (refresh) {
+                        mergeGroups(node, page.groups);
+                    } else {
+                        removeChildren(node);
+                        appendGroups(node, page.groups);
+                    }
+                    updateLoadMore(node, node.keys.size() - node.loadedKeys);
+                })
+                .submit(AppExecutorUtil.getAppExecutorService());
+        resetOnError(promise, node);
+    }
+
+    /**
+     * Loads the groups of the next page of URL keys of a root.
+     */
+    private void loadNextKeyPage(RootNode node) {
+        if (node.loadingMore || node.keys == null) return;
+
+        node.loadingMore = true;
+        List<String> keys = node.keys.subList(node.loadedKeys, Math.min(node.loadedKeys + PAGE_SIZE, node.keys.size()));
+        CancellablePromise<Map<String, List<WireMockRequestLocation>>> promise = ReadAction.nonBlocking(() -> readGroups(node.root, keys))
+                .inSmartMode(project)
+                .expireWith(this)
+                .finishOnUiThread(ModalityState.any(), groups -> {
+                    node.loadingMore = false;
+                    if (node.getParent() == null) return;
+
+                    node.loadedKeys += keys.size();
+                    removeLoadMore(node);
+                    appendGroups(node, groups);
+                    updateLoadMore(node, node.keys.size() - node.loadedKeys);
+                })
+                .submit(AppExecutorUtil.getAppExecutorService());
+        // Let "Load more" be used again if the page was not loaded
+        promise.onError(error -> ApplicationManager.getApplication().invokeLater(() -> node.loadingMore = false, ModalityState.any()));
+    }
+
+    private void loadBodyFiles(StubNode node) {
+        WireMockRequestLocation location = node.location;
+        CancellablePromise<List<BodyFile>> promise = ReadAction.nonBlocking(() -> readBodyFiles(location))
+                .inSmartMode(project)
+                .expireWith(this)
+                .finishOnUiThread(ModalityState.any(), bodyFiles -> {
+                    if (node.getParent() == null) return;
+
+                    node.state = LoadState.LOADED;
+                    removeChildren(node);
+                    for (BodyFile bodyFile : bodyFiles) {
+                        model.insertNodeInto(new DefaultMutableTreeNode(bodyFile, false), node, node.getChildCount());
+                    }
+                    model.nodeStructureChanged(node);
+                })
+                .submit(AppExecutorUtil.getAppExecutorService());
+        resetOnError(promise, node);
+    }
+
+    /**
+     * Lets a node be loaded again if its load is cancelled or fails, e.g. when the panel is closed while the index
+     * is read. The node is collapsed, so expanding it again starts a new load instead of showing "Loading..." forever.
+     */
+    private void resetOnError(CancellablePromise<?> promise, LazyNode node) {
+        promise.onError(error -> ApplicationManager.getApplication().invokeLater(() -> {
+            if (node.state != LoadState.LOADING) return;
+
+            node.state = LoadState.NOT_LOADED;
+            if (node.getParent() != null) {
+                tree.collapsePath(new TreePath(node.getPath()));
+            }
+        }, ModalityState.any()));
+    }
+
+    // ---- Index access, called in read actions ----
+
+    /**
+     * Reads the URL keys of a root from the index data of its mapping files.
+     * processAllKeys is not used, as it may also report keys that only occur in the files of other roots.
+     */
+    private List<String> readKeys(WireMockRoot root) {
+        VirtualFile mappingsDir = root.getMappingsDir();
+        if (mappingsDir == null || !mappingsDir.isValid()) return List.of();
+
+        Set<String> uniqueKeys = new HashSet<>();
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        VfsUtilCore.iterateChildrenRecursively(mappingsDir, null, file -> {
+            ProgressManager.checkCanceled();
+            if (!file.isDirectory() && WireMockPaths.isJsonFileName(file.getName())) {
+                uniqueKeys.addAll(index.getFileData(WireMockRequestIndex.NAME, file, project).keySet());
+            }
+            return true;
+        });
+
+        // Exact URLs first, then the stubs with URL patterns and without URL matcher
+        List<String> keys = new ArrayList<>(uniqueKeys);
+        keys.sort(Comparator.<String, Boolean>comparing(key -> WireMockRequestIndex.PATTERN_KEY.equals(key) || WireMockRequestIndex.ANY_URL_KEY.equals(key))
+                .thenComparing(Comparator.naturalOrder()));
+        return keys;
+    }
+
+    private Map<String, List<WireMockRequestLocation>> readGroups(WireMockRoot root, List<String> keys) {
+        GlobalSearchScope scope = getScope(root);
+        Map<String, List<WireMockRequestLocation>> groups = new LinkedHashMap<>();
+        for (String key : keys) {
+            ProgressManager.checkCanceled();
+
+            // Groups keep the order of the keys, so pages loaded later are appended after the earlier ones
+            Map<String, List<WireMockRequestLocation>> keyGroups = new TreeMap<>();
+            FileBasedIndex.getInstance().processValues(WireMockRequestIndex.NAME, key, null, (file, entries) -> {
+                for (WireMockRequestEntry entry : entries) {
+                    WireMockRequestLocation location = new WireMockRequestLocation(file, entry);
+                    keyGroups.computeIfAbsent(location.getPresentableText(), text -> new ArrayList<>()).add(location);
+                }
+                return true;
+            }, scope);
+            for (List<WireMockRequestLocation> stubs : keyGroups.values()) {
+                stubs.sort(Comparator.comparing((WireMockRequestLocation location) -> location.getMappingFile().getPath())
+                        .thenComparingInt(location -> location.getEntry().getIndex()));
+            }
+            groups.putAll(keyGroups);
+        }
+        return groups;
+    }
+
+    private List<BodyFile> readBodyFiles(WireMockRequestLocation location) {
+        VirtualFile mappingFile = location.getMappingFile();
+        if (!mappingFile.isValid()) return List.of();
+
+        List<BodyFile> result = new ArrayList<>();
+        Map<String, List<WireMockStubEntry>> data = FileBasedIndex.getInstance().getFileData(WireMockBodyFileIndex.NAME, mappingFile, project);
+        for (Map.Entry<String, List<WireMockStubEntry>> entry : data.entrySet()) {
+            for (WireMockStubEntry stub : entry.getValue()) {
+                if (stub.getIndex() == location.getEntry().getIndex()) {
+                    result.add(new BodyFile(entry.getKey(), WireMockUtils.findBodyFile(project, mappingFile, entry.getKey())));
+                    break;
+                }
+            }
+        }
+        result.sort(Comparator.comparing(bodyFile -> bodyFile.bodyFileName));
+        return result;
+    }
+
+    private GlobalSearchScope getScope(WireMockRoot root) {
+        VirtualFile mappingsDir = root.getMappingsDir();
+        return mappingsDir != null && mappingsDir.isValid()
+                ? GlobalSearchScopesCore.directoryScope(project, mappingsDir, true)
+                : GlobalSearchScope.EMPTY_SCOPE;
+    }
+
+    // ---- Tree updates, called on the EDT ----
+
+    private void appendGroups(RootNode node, Map<String, List<WireMockRequestLocation>> groups) {
+        for (Map.Entry<String, List<WireMockRequestLocation>> group : groups.entrySet()) {
+            model.insertNodeInto(new GroupNode(group.getKey(), group.getValue()), node, getInsertIndex(node));
+        }
+    }
+
+    /**
+     * Updates the groups of a refreshed root in place: changed groups are updated, missing ones removed
+     * and new ones inserted at their sorted position.
+     */
+    private void mergeGroups(RootNode node, Map<String, List<WireMockRequestLocation>> groups) {
+        removeLoadMore(node);
+        Map<String, GroupNode> existing = new LinkedHashMap<>();
+        for (int i = 0; i < node.getChildCount(); i++) {
+            if (node.getChildAt(i) instanceof GroupNode groupNode) {
+                existing.put(groupNode.text, groupNode);
+            }
+        }
+
+        for (GroupNode groupNode : existing.values()) {
+            List<WireMockRequestLocation> stubs = groups.get(groupNode.text);
+            if (stubs == null) {
+                model.removeNodeFromParent(groupNode);
+            } else if (!stubs.equals(groupNode.stubs)) {
+                groupNode.stubs = stubs;
+                if (groupNode.state == LoadState.LOADED) {
+                    groupNode.state = LoadState.NOT_LOADED;
+                    groupNode.loadedStubs = 0;
+                    load(groupNode);
+                }
+                model.nodeChanged(groupNode);
+            }
+        }
+
+        int index = 0;
+        for (Map.Entry<String, List<WireMockRequestLocation>> group : groups.entrySet()) {
+            if (!existing.containsKey(group.getKey())) {
+                model.insertNodeInto(new GroupNode(group.getKey(), group.getValue()), node, index);
+            }
+            index++;
+        }
+    }
+
+    private void appendStubPage(GroupNode node) {
+        removeLoadMore(node);
+        int end = Math.min(node.loadedStubs + PAGE_SIZE, node.stubs.size());
+        for (int i = node.loadedStubs; i < end; i++) {
+            model.insertNodeInto(new StubNode(node.stubs.get(i)), node, node.getChildCount());
+        }
+        node.loadedStubs = end;
+        updateLoadMore(node, node.stubs.size() - end);
+    }
+
+    private void updateLoadMore(DefaultMutableTreeNode node, int remaining) {
+        removeLoadMore(node);
+        if (remaining > 0) {
+            model.insertNodeInto(new DefaultMutableTreeNode(new LoadMore(remaining), false), node, node.getChildCount());
+        }
+    }
+
+    private void removeLoadMore(DefaultMutableTreeNode node) {
+        int last = node.getChildCount() - 1;
+        if (last >= 0 && ((DefaultMutableTreeNode) node.getChildAt(last)).getUserObject() instanceof LoadMore) {
+            model.removeNodeFromParent((DefaultMutableTreeNode) node.getChildAt(last));
+        }
+    }
+
+    private int getInsertIndex(DefaultMutableTreeNode node) {
+        int count = node.getChildCount();
+        boolean hasLoadMore = count > 0 && ((DefaultMutableTreeNode) node.getChildAt(count - 1)).getUserObject() instanceof LoadMore;
+        return hasLoadMore ? count - 1 : count;
+    }
+
+    private void removeChildren(DefaultMutableTreeNode node) {
+        node.removeAllChildren();
+        model.nodeStructureChanged(node);
+    }
+
+    /**
+     * Opens the selected stub or body file, or loads the next page for a "Load more" node.
+     */
+    private boolean activateSelection() {
+        TreePath path = tree.getSelectionPath();
+        if (path == null) return false;
+
+        Object node = path.getLastPathComponent();
+        Object item = node instanceof DefaultMutableTreeNode treeNode ? treeNode.getUserObject() : null;
+        if (node instanceof StubNode stubNode) {
+            stubNode.location.navigate(project);
+            return true;
+        }
+        if (item instanceof BodyFile bodyFile && bodyFile.file != null && bodyFile.file.isValid()) {
+            FileEditorManager.getInstance(project).openTextEditor(new OpenFileDescriptor(project, bodyFile.file), true);
+            return true;
+        }
+        if (item instanceof LoadMore) {
+            DefaultMutableTreeNode parent = (DefaultMutableTreeNode) ((DefaultMutableTreeNode) node).getParent();
+            if (parent instanceof RootNode rootNode) {
+                loadNextKeyPage(rootNode);
+            } else if (parent instanceof GroupNode groupNode) {
+                appendStubPage(groupNode);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // ---- Incremental updates ----
+
+    private void subscribeToVfsChanges() {
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends @NotNull VFileEvent> events) {
+                WireMockRootLayout layout = WireMockLayoutSettings.getInstance(project).getLayout();
+                Set<String> rootPaths = new HashSet<>();
+                boolean structureChanged = false;
+                for (VFileEvent event : events) {
+                    structureChanged |= WireMockVfsListener.isRootStructureChange(event, layout);
+                    String rootPath = layout.getRootPath(event.getPath());
+                    if (rootPath != null) {
+                        rootPaths.add(rootPath);
+                    }
+                }
+                if (rootPaths.isEmpty() && !structureChanged) return;
+
+                scheduleRefresh(layout, rootPaths, structureChanged);
+            }
+        });
+    }
+
+    /**
+     * Marks the loaded roots below the changed paths for a refresh. Bursts of events are refreshed once.
+     */
+    private void scheduleRefresh(WireMockRootLayout layout, Set<String> rootPaths, boolean structureChanged) {
+        rootsChanged |= structureChanged;
+        for (int i = 0; i < rootNode.getChildCount(); i++) {
+            RootNode node = (RootNode) rootNode.getChildAt(i);
+            if (node.state == LoadState.LOADED && (isAffected(layout, node.root.getMappingsDir(), rootPaths)
+                    || isAffected(layout, node.root.getFilesDir(), rootPaths))) {
+                changedRoots.add(node);
+            }
+        }
+        updateQueue.queue(Update.create(this, this::refreshChanged));
+    }
+
+    private void refreshChanged() {
+        // Only reload the roots if the registry dropped them, most directory changes do not affect any root
+        long modificationCount = WireMockRootRegistry.getInstance(project).getRootsModificationCount();
+        if (rootsChanged && modificationCount != rootsModificationCount) {
+            rootsModificationCount = modificationCount;
+            loadRoots();
+        }
+        rootsChanged = false;
+        for (RootNode node : new ArrayList<>(changedRoots)) {
+            if (node.getParent() != null) {
+                loadKeys(node, true);
+                reloadBodyFiles(node);
+            }
+        }
+        changedRoots.clear();
+    }
+
+    /**
+     * Reloads the body files of the stubs of a root that have already been expanded.
+     */
+    private void reloadBodyFiles(RootNode node) {
+        for (int i = 0; i < node.getChildCount(); i++) {
+            if (!(node.getChildAt(i) instanceof GroupNode groupNode)) continue;
+
+            for (int j = 0; j < groupNode.getChildCount(); j++) {
+                if (groupNode.getChildAt(j) instanceof StubNode stubNode && stubNode.state == LoadState.LOADED) {
+                    loadBodyFiles(stubNode);
+                }
+            }
+        }
+    }
+
+    private static boolean isAffected(WireMockRootLayout layout, @Nullable VirtualFile dir, Set<String> rootPaths) {
+        String rootPath = dir != null ? layout.getRootPath(dir.getPath()) : null;
+        return rootPath != null && rootPaths.contains(rootPath);
+    }
+
+    @Override
+    public void dispose() {
+        changedRoots.clear();
+    }
+
+    // ---- Nodes ----
+
+    private enum LoadState {NOT_LOADED, LOADING, LOADED}
+
+    /**
+     * Node whose children are loaded when it is expanded. Shows a "Loading..." child until then.
+     */
+    private abstract static class LazyNode extends DefaultMutableTreeNode {
+        LoadState state = LoadState.NOT_LOADED;
+
+        LazyNode() {
+            add(new DefaultMutableTreeNode(Loading.INSTANCE, false));
+        }
+    }
+
+    private static final class RootNode extends LazyNode {
+        private final WireMockRoot root;
+        private List<String> keys;
+        private int loadedKeys;
+        private boolean loadingMore;
+
+        private RootNode(WireMockRoot root) {
+            this.root = root;
+        }
+    }
+
+    private static final class GroupNode extends LazyNode {
+        private final String text;
+        private List<WireMockRequestLocation> stubs;
+        private int loadedStubs;
+
+        private GroupNode(String text, List<WireMockRequestLocation> stubs) {
+            this.text = text;
+            this.stubs = stubs;
+        }
+    }
+
+    private static final class StubNode extends LazyNode {
+        private final WireMockRequestLocation location;
+
+        private StubNode(WireMockRequestLocation location) {
+            this.location = location;
+        }
+    }
+
+    private enum Loading {INSTANCE}
+
+    /**
+     * A bodyFileName value of a stub and the body file it resolves to, if it exists.
+     */
+    private record BodyFile(String bodyFileName, @Nullable VirtualFile file) {
+    }
+
+    private record LoadMore(int remaining) {
+    }
+
+    private record Page(List<String> keys, Map<String, List<WireMockRequestLocation>> groups) {
+    }
+
+    private final class NodeRenderer extends ColoredTreeCellRenderer {
+        @Override
+        public void customizeCellRenderer(@NotNull JTree tree, Object value, boolean selected, boolean expanded,
+                                          boolean leaf, int row, boolean hasFocus) {
+            Object item = value instanceof DefaultMutableTreeNode node ? node.getUserObject() : null;
+            if (value instanceof RootNode node) {
+                VirtualFile mappingsDir = Objects.requireNonNull(node.root.getMappingsDir());
+                setIcon(AllIcons.Nodes.Folder);
+                append(getPresentablePath(mappingsDir));
+                VirtualFile filesDir = node.root.getFilesDir();
+                if (filesDir != null) {
+                    append("  " + getPresentablePath(filesDir), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+                }
+            } else if (value instanceof GroupNode node) {
+                append(node.text, SimpleTextAttributes.REGULAR_BOLD_ATTRIBUTES);
+                append("  " + node.stubs.size() + " " + StringUtil.pluralize("stub", node.stubs.size()), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+            } else if (value instanceof StubNode node) {
+                setIcon(AllIcons.FileTypes.Json);
+                append(node.location.getLocationText());
+            } else if (item instanceof BodyFile bodyFile) {
+                setIcon(AllIcons.FileTypes.Any_type);
+                append(bodyFile.bodyFileName(), bodyFile.file() != null ? SimpleTextAttributes.REGULAR_ATTRIBUTES : SimpleTextAttributes.ERROR_ATTRIBUTES);
+                if (bodyFile.file() == null) {
+                    append("  missing", SimpleTextAttributes.GRAYED_ATTRIBUTES);
+                }
+            } else if (item instanceof LoadMore loadMore) {
+                append("Load more (" + loadMore.remaining() + " remaining)", SimpleTextAttributes.LINK_ATTRIBUTES);
+            } else if (item == Loading.INSTANCE) {
+                append("Loading...", SimpleTextAttributes.GRAYED_ATTRIBUTES);
+            }
+        }
+
+        private String getPresentablePath(VirtualFile dir) {
+            String basePath = project.getBasePath();
+            String path = dir.getPath();
+            return basePath != null && path.startsWith(basePath + "/") ? path.substring(basePath.length() + 1) : path;
+        }
+    }
+
+    private final class RefreshAction extends DumbAwareAction {
+        private RefreshAction() {
+            super("Refresh", "Reload the WireMock roots and their stubs", AllIcons.Actions.Refresh);
+        }
+
+        @Override
+        public void actionPerformed(@NotNull AnActionEvent e) {
+            changedRoots.clear();
+            rootNode.removeAllChildren();
+            model.reload();
+            loadRoots();
+        }
+    }
+}
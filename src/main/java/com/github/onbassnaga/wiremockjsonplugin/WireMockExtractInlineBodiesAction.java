@@ -0,0 +1,209 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.wm.StatusBar;
+import com.intellij.util.ThrowableRunnable;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Action for mapping files and directories under "mappings".
+ * Moves inline response bodies ("body", "jsonBody", "base64Body") into body files under "__files" and replaces them with
+ * "bodyFileName". In the editor only the stub at the caret is converted.
+ * Files are processed one at a time in a background task: each file is scanned with {@link WireMockJsonScanner}
+ * without building PSI, and its bodies are written and replaced in a short write action on the EDT.
+ */
+public class WireMockExtractInlineBodiesAction extends AnAction {
+
+    public WireMockExtractInlineBodiesAction() {
+        super("Extract Inline Bodies to Body Files", "Move inline response bodies into body files under __files", null);
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        VirtualFile[] files = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+
+        // Only enable for mapping files or directories inside a "mappings" directory
+        boolean enabled = false;
+        if (project != null && files != null) {
+            WireMockRootRegistry registry = WireMockRootRegistry.getInstance(project);
+            for (VirtualFile file : files) {
+                if (registry.findMappingsRoot(file) != null) {
+                    enabled = true;
+                    break;
+                }
+            }
+        }
+        e.getPresentation().setEnabledAndVisible(enabled);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        VirtualFile[] selected = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (project == null || selected == null) return;
+
+        // In the editor, only the stub at the caret is converted
+        Editor editor = e.getData(CommonDataKeys.EDITOR);
+        int caretOffset = editor != null && selected.length == 1 && !selected[0].isDirectory() ? editor.getCaretModel().getOffset() : -1;
+
+        new Task.Backgroundable(project, "Extracting inline bodies", true) {
+            private final AtomicInteger extracted = new AtomicInteger();
+            private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                List<VirtualFile> mappingFiles = ReadAction.compute(() -> collectMappingFiles(project, selected));
+                indicator.setIndeterminate(false);
+                for (int i = 0; i < mappingFiles.size(); i++) {
+                    indicator.checkCanceled();
+                    indicator.setFraction((double) i / mappingFiles.size());
+                    indicator.setText2(mappingFiles.get(i).getPresentableUrl());
+                    extracted.addAndGet(extractFile(project, mappingFiles.get(i), caretOffset, errors));
+                }
+            }
+
+            @Override
+            public void onFinished() {
+                StatusBar.Info.set("Extracted " + extracted.get() + " inline bodies to body files", project);
+                if (!errors.isEmpty()) {
+                    WireMockUtils.notifyError(project, "Could not extract all inline bodies", String.join("\n", errors));
+                }
+            }
+        }.queue();
+    }
+
+    /**
+     * Collects the mapping files of the selection, descending into directories.
+     */
+    private static List<VirtualFile> collectMappingFiles(Project project, VirtualFile[] selected) {
+        WireMockRootRegistry registry = WireMockRootRegistry.getInstance(project);
+        Set<VirtualFile> result = new LinkedHashSet<>();
+        for (VirtualFile file : selected) {
+            if (registry.findMappingsRoot(file) == null) continue;
+
+            VfsUtilCore.iterateChildrenRecursively(file, null, child -> {
+                if (!child.isDirectory() && registry.isMappingFile(child)) {
+                    result.add(child);
+                }
+                return true;
+            });
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Extracts the inline bodies of a single mapping file.
+     *
+     * @param caretOffset The offset of the stub to convert, -1 to convert all stubs
+     * @param errors Collects the I/O errors to report to the user
+     * @return The number of extracted bodies
+     */
+    private static int extractFile(Project project, VirtualFile mappingFile, int caretOffset, List<String> errors) {
+        // Scan a snapshot of the document text, without PSI
+        Document document = ReadAction.compute(() -> mappingFile.isValid() ? FileDocumentManager.getInstance().getDocument(mappingFile) : null);
+        if (document == null) return 0;
+
+        long stamp = document.getModificationStamp();
+        CharSequence text = document.getImmutableCharSequence();
+        List<WireMockInlineBodyExtractor.InlineBody> bodies = WireMockInlineBodyExtractor.findInlineBodies(text);
+        if (caretOffset >= 0) {
+            bodies = selectStubAt(bodies, caretOffset);
+        }
+        if (bodies.isEmpty()) return 0;
+
+        WireMockRoot root = ReadAction.compute(() -> WireMockRootRegistry.getInstance(project).findMappingsRoot(mappingFile));
+        if (root == null || root.getMappingsDir() == null) return 0;
+
+        // Prepare the body file paths and contents in the background
+        String baseName = getBaseName(root, mappingFile);
+        List<WireMockInlineBodyExtractor.InlineBody> finalBodies = bodies;
+        List<String> paths = new ArrayList<>();
+        List<byte[]> contents = new ArrayList<>();
+        for (WireMockInlineBodyExtractor.InlineBody body : bodies) {
+            byte[] content = body.getContent(text);
+            boolean multiStub = finalBodies.size() > 1 || body.getStubIndex() > 0;
+            paths.add(baseName + (multiStub ? "-" + (body.getStubIndex() + 1) : "") + "." + body.getExtension(text));
+            contents.add(content);
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        ApplicationManager.getApplication().invokeAndWait(() -> {
+            try {
+                WriteCommandAction.writeCommandAction(project)
+                        .withName("Extract Inline Bodies")
+                        .run((ThrowableRunnable<IOException>) () -> {
+                            // Skip the file if it was edited since it was scanned
+                            if (document.getModificationStamp() != stamp) return;
+
+                            // Replace from the end so earlier offsets stay valid
+                            for (int i = finalBodies.size() - 1; i >= 0; i--) {
+                                if (contents.get(i) == null) continue;
+
+                                String bodyFileName = WireMockBodyFileCreator.createUniqueBodyFile(project, root, paths.get(i), contents.get(i));
+                                if (bodyFileName == null) continue;
+
+                                WireMockInlineBodyExtractor.InlineBody body = finalBodies.get(i);
+                                document.replaceString(body.getStart(), body.getEnd(),
+                                        "\"bodyFileName\": \"" + StringUtil.escapeStringCharacters(bodyFileName) + "\"");
+                                count.incrementAndGet();
+                            }
+                            FileDocumentManager.getInstance().saveDocument(document);
+                        });
+            } catch (IOException ex) {
+                errors.add(mappingFile.getPresentableUrl() + ": " + ex.getMessage());
+            }
+        }, ModalityState.defaultModalityState());
+        return count.get();
+    }
+
+    /**
+     * Keeps the inline body of the stub that contains the caret. Nothing is converted if that stub has no inline body.
+     */
+    private static List<WireMockInlineBodyExtractor.InlineBody> selectStubAt(List<WireMockInlineBodyExtractor.InlineBody> bodies, int offset) {
+        for (WireMockInlineBodyExtractor.InlineBody body : bodies) {
+            if (body.isInStub(offset)) {
+                return List.of(body);
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Gets the path of the body files of a mapping file without extension, mirroring its location under "mappings".
+     */
+    private static String getBaseName(WireMockRoot root, VirtualFile mappingFile) {
+        String relativeDir = mappingFile.getParent() != null ? VfsUtilCore.getRelativePath(mappingFile.getParent(), root.getMappingsDir()) : null;
+        String name = mappingFile.getNameWithoutExtension();
+        return relativeDir == null || relativeDir.isEmpty() ? name : relativeDir + "/" + name;
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
@@ -0,0 +1,227 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.ComboBox;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.openapi.ui.popup.PopupChooserBuilder;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.SimpleListCellRenderer;
+import com.intellij.ui.components.JBList;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import com.intellij.ui.components.JBTextField;
+import com.intellij.util.ui.FormBuilder;
+import com.intellij.util.ui.JBDimension;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.JComponent;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Action that finds the stub answering a request, without running WireMock.
+ * The request and the WireMock root to search are entered in a dialog, the root of the selected file is preselected.
+ * The request is evaluated with {@link WireMockStubMatcher} in a background task,
+ * and the winning stub is shown in a popup together with the closest near misses and their failed criteria.
+ */
+public class WireMockFindStubAction extends AnAction {
+
+    private static final int MAX_NEAR_MISSES = 5;
+
+    public WireMockFindStubAction() {
+        super("Find Stub for Request...", "Find the WireMock stub that answers a request", null);
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) return;
+
+        // Every root is a separate WireMock server, so the request is matched against the stubs of one root
+        List<WireMockRoot> roots = ProgressManager.getInstance().runProcessWithProgressSynchronously(
+                () -> ReadAction.nonBlocking(() -> getMappingsRoots(project))
+                        .inSmartMode(project)
+                        .executeSynchronously(),
+                "Finding WireMock Roots", true, project);
+        if (roots == null || roots.isEmpty()) {
+            Messages.showInfoMessage(project, "No WireMock mappings directories found.", "Find Stub for Request");
+            return;
+        }
+
+        WireMockRoot selectedRoot = WireMockRootRegistry.getInstance(project).findRoot(e.getData(CommonDataKeys.VIRTUAL_FILE));
+        RequestDialog dialog = new RequestDialog(project, roots, selectedRoot);
+        if (!dialog.showAndGet()) return;
+
+        WireMockRequest request = dialog.getRequest();
+        WireMockRoot root = dialog.getRoot();
+        new Task.Backgroundable(project, "Matching WireMock stubs", true) {
+            private List<WireMockMatchResult> results = List.of();
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                results = ReadAction.nonBlocking(() -> WireMockStubMatcher.findMatches(project, root, request))
+                        .inSmartMode(project)
+                        .wrapProgress(indicator)
+                        .executeSynchronously();
+            }
+
+            @Override
+            public void onSuccess() {
+                showResults(project, request, results);
+            }
+        }.queue();
+    }
+
+    /**
+     * Gets the roots that have a mappings directory, ordered by path.
+     */
+    private static List<WireMockRoot> getMappingsRoots(Project project) {
+        List<WireMockRoot> roots = new ArrayList<>();
+        for (WireMockRoot root : WireMockRootRegistry.getInstance(project).getRoots()) {
+            if (root.getMappingsDir() != null && root.getMappingsDir().isValid()) {
+                roots.add(root);
+            }
+        }
+        roots.sort((a, b) -> a.getMappingsDir().getPath().compareTo(b.getMappingsDir().getPath()));
+        return roots;
+    }
+
+    /**
+     * Shows the winning stub and the near misses in a popup.
+     */
+    private static void showResults(Project project, WireMockRequest request, List<WireMockMatchResult> results) {
+        String title = request.getMethod() + " " + request.getUrl();
+        if (results.isEmpty()) {
+            JBPopupFactory.getInstance()
+                    .createMessage("No stub is close to " + title)
+                    .showCenteredInCurrentWindow(project);
+            return;
+        }
+
+        // The first result is the winner if it matches, followed by the closest near misses
+        int matches = (int) results.stream().filter(WireMockMatchResult::isMatch).count();
+        List<WireMockMatchResult> shown = results.subList(0, Math.min(results.size(), Math.max(matches, 1) + MAX_NEAR_MISSES));
+
+        JBList<WireMockMatchResult> list = new JBList<>(shown);
+        list.setCellRenderer(SimpleListCellRenderer.create("", result -> getText(result, result == results.get(0))));
+
+        new PopupChooserBuilder<>(list)
+                .setTitle(results.get(0).isMatch() ? "Stub for " + title : "No Stub Matches " + title)
+                .setMinSize(new JBDimension(400, 100))
+                .setItemChosenCallback(result -> result.getLocation().navigate(project))
+                .createPopup()
+                .showCenteredInCurrentWindow(project);
+    }
+
+    private static String getText(WireMockMatchResult result, boolean first) {
+        WireMockRequestLocation location = result.getLocation();
+        StringBuilder text = new StringBuilder();
+        if (result.isMatch()) {
+            text.append(first ? "[winner] " : "[shadowed] ");
+        } else {
+            text.append("[near miss] ");
+        }
+        text.append(location.getPresentableText()).append(" (").append(location.getLocationText())
+                .append(", priority ").append(result.getPriority()).append(")");
+        if (!result.getFailures().isEmpty()) {
+            text.append(" - failed: ").append(String.join(", ", result.getFailures()));
+        }
+        if (!result.getNotEvaluated().isEmpty()) {
+            text.append(" - not evaluated: ").append(String.join(", ", result.getNotEvaluated()));
+        }
+        return text.toString();
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    /**
+     * Dialog to enter the request to match.
+     */
+    private static final class RequestDialog extends DialogWrapper {
+        private final ComboBox<WireMockRoot> rootField;
+        private final ComboBox<String> methodField = new ComboBox<>(new String[]{"GET", "POST", "PUT", "PATCH", "DELETE", "HEAD", "OPTIONS"});
+        private final JBTextField urlField = new JBTextField("/");
+        private final JBTextArea headersField = new JBTextArea(4, 40);
+        private final JBTextArea bodyField = new JBTextArea(8, 40);
+
+        private RequestDialog(Project project, List<WireMockRoot> roots, @Nullable WireMockRoot selectedRoot) {
+            super(project);
+            setTitle("Find Stub for Request");
+            rootField = new ComboBox<>(roots.toArray(new WireMockRoot[0]));
+            rootField.setRenderer(SimpleListCellRenderer.create("", root -> getPresentablePath(project, root.getMappingsDir())));
+            if (selectedRoot != null && roots.contains(selectedRoot)) {
+                rootField.setSelectedItem(selectedRoot);
+            }
+            methodField.setEditable(true);
+            headersField.getEmptyText().setText("Name: value, one per line");
+            init();
+        }
+
+        @Override
+        protected @Nullable JComponent createCenterPanel() {
+            return FormBuilder.createFormBuilder()
+                    .addLabeledComponent("Mappings:", rootField)
+                    .addLabeledComponent("Method:", methodField)
+                    .addLabeledComponent("URL:", urlField)
+                    .addLabeledComponent("Headers:", new JBScrollPane(headersField), true)
+                    .addLabeledComponent("Body:", new JBScrollPane(bodyField), true)
+                    .getPanel();
+        }
+
+        @Override
+        public @Nullable JComponent getPreferredFocusedComponent() {
+            return urlField;
+        }
+
+        private WireMockRoot getRoot() {
+            return (WireMockRoot) rootField.getSelectedItem();
+        }
+
+        private static String getPresentablePath(Project project, VirtualFile dir) {
+            VirtualFile baseDir = project.getBasePath() != null ? dir.getFileSystem().findFileByPath(project.getBasePath()) : null;
+            String relativePath = baseDir != null ? VfsUtilCore.getRelativePath(dir, baseDir) : null;
+            return relativePath != null ? relativePath : dir.getPresentableUrl();
+        }
+
+        private WireMockRequest getRequest() {
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (String line : headersField.getText().split("\n")) {
+                int separator = line.indexOf(':');
+                if (separator <= 0) continue;
+
+                headers.put(line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+            }
+
+            Object method = methodField.getEditor().getItem();
+            return new WireMockRequest(
+                    method != null ? method.toString().trim().toUpperCase(Locale.ROOT) : "GET",
+                    urlField.getText().trim(),
+                    headers,
+                    bodyField.getText()
+            );
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.json.JsonFileType;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.fileTypes.PlainTextFileType;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.IndexedFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Input filters of the WireMock indexes.
+ * They decide with the {@link WireMockRootLayout} of the project the file is indexed for, so the indexes follow
+ * the layout configured in {@link WireMockLayoutSettings}.
+ */
+final class WireMockIndexInputFilter implements FileBasedIndex.ProjectSpecificInputFilter {
+
+    private final boolean mappingFiles;
+
+    private WireMockIndexInputFilter(boolean mappingFiles) {
+        this.mappingFiles = mappingFiles;
+    }
+
+    /**
+     * Creates a filter accepting JSON files under mappings directories.
+     */
+    static FileBasedIndex.InputFilter mappingFiles() {
+        return new MappingFilesFilter();
+    }
+
+    /**
+     * Creates a filter accepting all files under body file directories.
+     */
+    static FileBasedIndex.InputFilter bodyFiles() {
+        return new WireMockIndexInputFilter(false);
+    }
+
+    @Override
+    public boolean acceptInput(@NotNull IndexedFile file) {
+        if (file.getFile().isDirectory()) return false;
+
+        WireMockRootLayout layout = WireMockLayoutSettings.getLayout(file.getProject());
+        return mappingFiles ? layout.isMappingFile(file.getFile()) : layout.isBodyFile(file.getFile());
+    }
+
+    /**
+     * Mapping file filter that is also restricted to the JSON file type,
+     * and plain text for large mapping files opened as text by {@link WireMockLargeFileTypeOverrider}.
+     */
+    private static final class MappingFilesFilter implements FileBasedIndex.ProjectSpecificInputFilter, FileBasedIndex.FileTypeSpecificInputFilter {
+        private final WireMockIndexInputFilter delegate = new WireMockIndexInputFilter(true);
+
+        @Override
+        public boolean acceptInput(@NotNull IndexedFile file) {
+            return delegate.acceptInput(file);
+        }
+
+        @Override
+        public void registerFileTypesUsedForIndexing(@NotNull Consumer<? super FileType> fileTypeSink) {
+            fileTypeSink.accept(JsonFileType.INSTANCE);
+            fileTypeSink.accept(PlainTextFileType.INSTANCE);
+        }
+    }
+}
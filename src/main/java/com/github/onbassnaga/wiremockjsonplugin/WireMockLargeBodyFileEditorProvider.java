@@ -0,0 +1,198 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.ide.DataManager;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionPlaces;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.FileEditor;
+import com.intellij.openapi.fileEditor.FileEditorPolicy;
+import com.intellij.openapi.fileEditor.FileEditorProvider;
+import com.intellij.openapi.fileEditor.FileEditorState;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.UserDataHolderBase;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.HyperlinkLabel;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import com.intellij.util.ui.JBUI;
+import com.intellij.util.ui.UIUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import java.awt.BorderLayout;
+import java.beans.PropertyChangeListener;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Editor provider for large body files.
+ * Replaces the text editor with a "Preview" that shows the beginning of the file, read through a memory mapped
+ * buffer in the background. The text editor is hidden, since creating it would load the whole file into a document.
+ * The tab also links to "Find Mapping Files", which is answered by {@link WireMockBodyFileIndex} without reading the file.
+ */
+public class WireMockLargeBodyFileEditorProvider implements FileEditorProvider, DumbAware {
+
+    private static final Logger LOG = Logger.getInstance(WireMockLargeBodyFileEditorProvider.class);
+
+    private static final int PREVIEW_SIZE = 64 * 1024;
+
+    @Override
+    public boolean accept(@NotNull Project project, @NotNull VirtualFile file) {
+        return file.isInLocalFileSystem() && WireMockUtils.isLargeBodyFile(project, file);
+    }
+
+    @Override
+    public @NotNull FileEditor createEditor(@NotNull Project project, @NotNull VirtualFile file) {
+        return new Preview(file);
+    }
+
+    @Override
+    public @NotNull String getEditorTypeId() {
+        return "wiremock-large-body-file-preview";
+    }
+
+    @Override
+    public @NotNull FileEditorPolicy getPolicy() {
+        return FileEditorPolicy.HIDE_DEFAULT_EDITOR;
+    }
+
+    /**
+     * Reads the beginning of a file through a memory mapped buffer.
+     * A character cut off at the end of the preview is replaced instead of failing the decoding.
+     *
+     * @param file The file to read
+     * @param size The maximum number of bytes to read
+     * @return The decoded text
+     */
+    static @NotNull String readPreview(@NotNull VirtualFile file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toNioPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), size));
+            CharBuffer text = file.getCharset().newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .decode(buffer);
+            return text.toString();
+        } catch (CharacterCodingException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Read-only preview of the beginning of a large body file.
+     */
+    private static final class Preview extends UserDataHolderBase implements FileEditor {
+        private final VirtualFile file;
+        private final JPanel component = new JPanel(new BorderLayout());
+        private final JBTextArea textArea = new JBTextArea();
+        private volatile boolean disposed;
+
+        private Preview(VirtualFile file) {
+            this.file = file;
+
+            textArea.setEditable(false);
+            textArea.setFont(JBUI.Fonts.create(UIUtil.MONOSPACED_FONT, textArea.getFont().getSize()));
+            textArea.setText("Loading...");
+
+            JPanel header = new JPanel(new BorderLayout(JBUI.scale(8), 0));
+            header.setBorder(JBUI.Borders.empty(4, 8));
+            header.add(new JBLabel("Large body file (" + StringUtil.formatFileSize(file.getLength()) + "), showing the first "
+                    + StringUtil.formatFileSize(PREVIEW_SIZE) + " without highlighting"), BorderLayout.CENTER);
+            HyperlinkLabel findLink = new HyperlinkLabel("Find Mapping Files");
+            findLink.addHyperlinkListener(e -> findMappingFiles());
+            header.add(findLink, BorderLayout.EAST);
+
+            component.add(header, BorderLayout.NORTH);
+            component.add(new JBScrollPane(textArea), BorderLayout.CENTER);
+
+            // Lets "Find Mapping Files" know which body file the preview shows
+            DataManager.registerDataProvider(component, dataId -> CommonDataKeys.VIRTUAL_FILE.is(dataId) ? file : null);
+
+            loadPreview();
+        }
+
+        private void loadPreview() {
+            ApplicationManager.getApplication().executeOnPooledThread(() -> {
+                String text;
+                try {
+                    text = readPreview(file, PREVIEW_SIZE);
+                } catch (IOException e) {
+                    LOG.warn("Cannot read preview of " + file.getPath(), e);
+                    text = "Cannot read file: " + e.getMessage();
+                }
+                String preview = text;
+                ApplicationManager.getApplication().invokeLater(() -> {
+                    textArea.setText(preview);
+                    textArea.setCaretPosition(0);
+                }, ModalityState.any(), o -> disposed);
+            });
+        }
+
+        private void findMappingFiles() {
+            AnAction action = ActionManager.getInstance().getAction("wiremockjsonplugin.WireMockBodyFileAction");
+            if (action == null) return;
+
+            ActionManager.getInstance().tryToExecute(action, null, component, ActionPlaces.EDITOR_TAB, true);
+        }
+
+        @Override
+        public @NotNull JComponent getComponent() {
+            return component;
+        }
+
+        @Override
+        public @Nullable JComponent getPreferredFocusedComponent() {
+            return textArea;
+        }
+
+        @Override
+        public @NotNull String getName() {
+            return "Preview";
+        }
+
+        @Override
+        public void setState(@NotNull FileEditorState state) {
+        }
+
+        @Override
+        public boolean isModified() {
+            return false;
+        }
+
+        @Override
+        public boolean isValid() {
+            return file.isValid();
+        }
+
+        @Override
+        public void addPropertyChangeListener(@NotNull PropertyChangeListener listener) {
+        }
+
+        @Override
+        public void removePropertyChangeListener(@NotNull PropertyChangeListener listener) {
+        }
+
+        @Override
+        public @NotNull VirtualFile getFile() {
+            return file;
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+    }
+}
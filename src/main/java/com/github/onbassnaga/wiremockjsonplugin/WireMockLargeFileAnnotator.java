@@ -0,0 +1,101 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.lang.annotation.AnnotationHolder;
+import com.intellij.lang.annotation.ExternalAnnotator;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.DefaultLanguageHighlighterColors;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Annotator for large WireMock mapping files.
+ * Finds bodyFileName values with {@link WireMockJsonScanner} on the document text in the background,
+ * so recorded mapping files with large inline bodies are not visited element by element.
+ */
+public class WireMockLargeFileAnnotator extends ExternalAnnotator<WireMockLargeFileAnnotator.Info, List<WireMockLargeFileAnnotator.Result>> {
+
+    @Override
+    public @Nullable Info collectInformation(@NotNull PsiFile file, @NotNull Editor editor, boolean hasErrors) {
+        VirtualFile virtualFile = file.getOriginalFile().getVirtualFile();
+        if (!WireMockUtils.isLargeMappingFile(virtualFile)) return null;
+        if (!WireMockRootRegistry.getInstance(file.getProject()).isMappingFile(virtualFile)) return null;
+
+        return new Info(file, editor.getDocument().getImmutableCharSequence());
+    }
+
+    @Override
+    public @Nullable List<Result> doAnnotate(Info info) {
+        List<Result> results = new ArrayList<>();
+        for (WireMockJsonScanner.Occurrence occurrence : WireMockJsonScanner.findBodyFileNames(info.text)) {
+            ProgressManager.checkCanceled();
+            VirtualFile bodyFile = ReadAction.compute(() -> WireMockUtils.resolveBodyFile(info.file, occurrence.getValue()));
+            results.add(new Result(new TextRange(occurrence.getOffset(), occurrence.getEndOffset()), occurrence.getValue(), bodyFile));
+        }
+        return results;
+    }
+
+    @Override
+    public void apply(@NotNull PsiFile file, List<Result> results, @NotNull AnnotationHolder holder) {
+        if (results == null) return;
+
+        int textLength = file.getTextLength();
+        for (Result result : results) {
+            if (result.range.getEndOffset() > textLength) continue;
+
+            if (result.bodyFile != null) {
+                // Body file exists, add a hyperlink to navigate to it
+                holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
+                        .range(result.range)
+                        .textAttributes(DefaultLanguageHighlighterColors.HIGHLIGHTED_REFERENCE)
+                        .tooltip("Click to navigate to body file")
+                        .withFix(new WireMockAnnotator.GoToBodyFileIntention(result.bodyFile))
+                        .create();
+            } else {
+                // Body file doesn't exist, add a hyperlink to create it
+                holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
+                        .range(result.range)
+                        .textAttributes(DefaultLanguageHighlighterColors.HIGHLIGHTED_REFERENCE)
+                        .tooltip("Click to create body file")
+                        .withFix(new WireMockAnnotator.CreateBodyFileIntention(result.bodyFileName))
+                        .create();
+            }
+        }
+    }
+
+    /**
+     * The mapping file and a snapshot of its text.
+     */
+    static final class Info {
+        private final PsiFile file;
+        private final CharSequence text;
+
+        private Info(PsiFile file, CharSequence text) {
+            this.file = file;
+            this.text = text;
+        }
+    }
+
+    /**
+     * A bodyFileName value and the body file it resolves to.
+     */
+    static final class Result {
+        private final TextRange range;
+        private final String bodyFileName;
+        private final VirtualFile bodyFile;
+
+        private Result(TextRange range, String bodyFileName, @Nullable VirtualFile bodyFile) {
+            this.range = range;
+            this.bodyFileName = bodyFileName;
+            this.bodyFile = bodyFile;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.util.registry.RegistryValue;
+import com.intellij.openapi.util.registry.RegistryValueListener;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Evaluates the file types of large files again when a large file threshold is changed in the registry,
+ * so files crossing the new threshold are opened as plain text or with their own file type right away.
+ */
+public class WireMockLargeFileThresholdListener implements RegistryValueListener {
+
+    @Override
+    public void afterValueChanged(@NotNull RegistryValue value) {
+        String key = value.getKey();
+        if (WireMockUtils.LARGE_MAPPING_FILE_THRESHOLD_KEY.equals(key) || WireMockUtils.LARGE_BODY_FILE_THRESHOLD_KEY.equals(key)) {
+            WireMockLargeFileTypeOverrider.reevaluate("WireMock large file threshold changed");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.fileTypes.FileTypeRegistry;
+import com.intellij.openapi.fileTypes.PlainTextFileType;
+import com.intellij.openapi.fileTypes.ex.FileTypeManagerEx;
+import com.intellij.openapi.fileTypes.impl.FileTypeOverrider;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.util.EmptyRunnable;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Opens large mapping files and large text body files as plain text, so the IDE does not build a JSON or XML
+ * PSI tree for them and no language annotators run on them. Binary body files keep their file type.
+ * Large mapping files are still indexed and annotated from their text, see {@link WireMockLargeFileAnnotator}.
+ * The thresholds are the registry keys {@link WireMockUtils#LARGE_MAPPING_FILE_THRESHOLD_KEY}
+ * and {@link WireMockUtils#LARGE_BODY_FILE_THRESHOLD_KEY}. File types are evaluated again when a threshold
+ * or the layout changes, see {@link #reevaluate(String)}.
+ * <p>
+ * {@link FileTypeOverrider} and {@link FileTypeManagerEx#makeFileTypesChange} are internal platform API,
+ * so this class has to be checked against every new platform version.
+ */
+public class WireMockLargeFileTypeOverrider implements FileTypeOverrider {
+
+    @Override
+    public @Nullable FileType getOverriddenFileType(@NotNull VirtualFile file) {
+        // Only projects that are already open can tell whether the file is under a WireMock directory
+        ProjectManager projectManager = ProjectManager.getInstanceIfCreated();
+        if (projectManager == null || file.isDirectory()) return null;
+
+        // This is asked for every file type query of the IDE, so small files are let through before any project is
+        long length = file.getLength();
+        boolean largeBodyFile = length > Registry.intValue(WireMockUtils.LARGE_BODY_FILE_THRESHOLD_KEY) * 1024L;
+        boolean largeMappingFile = length > Registry.intValue(WireMockUtils.LARGE_MAPPING_FILE_THRESHOLD_KEY) * 1024L;
+        if (!largeBodyFile && !largeMappingFile) return null;
+
+        // The file type by name never consults overriders, so this does not recurse
+        FileType fileType = FileTypeRegistry.getInstance().getFileTypeByFileName(file.getNameSequence());
+        if (fileType.isBinary() || fileType == PlainTextFileType.INSTANCE) return null;
+
+        for (Project project : projectManager.getOpenProjects()) {
+            if (largeBodyFile && WireMockUtils.isBodyFile(project, file)
+                    || largeMappingFile && WireMockUtils.isMappingFile(project, file)) {
+                return PlainTextFileType.INSTANCE;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Makes the IDE ask the overrider again for the file type of every file, so files switch between their own
+     * file type and plain text, and their editors are reopened, without restarting the IDE.
+     *
+     * @param reason The reason of the change, for the logs of the file type manager
+     */
+    public static void reevaluate(@NotNull String reason) {
+        ApplicationManager.getApplication().invokeLater(() -> WriteAction.run(() ->
+                FileTypeManagerEx.getInstanceEx().makeFileTypesChange(reason, EmptyRunnable.getInstance())), ModalityState.nonModal());
+    }
+}
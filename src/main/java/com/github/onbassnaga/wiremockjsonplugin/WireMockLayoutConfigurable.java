@@ -0,0 +1,78 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.options.Configurable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.ui.components.JBTextField;
+import com.intellij.util.ui.FormBuilder;
+import org.jetbrains.annotations.Nls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import java.util.List;
+
+/**
+ * Settings page for the directory layout of WireMock roots, under Settings | Tools | WireMock.
+ */
+public class WireMockLayoutConfigurable implements Configurable {
+
+    private final Project project;
+    private JBTextField mappingsField;
+    private JBTextField filesField;
+
+    public WireMockLayoutConfigurable(Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public @Nls String getDisplayName() {
+        return "WireMock";
+    }
+
+    @Override
+    public @Nullable JComponent createComponent() {
+        mappingsField = new JBTextField();
+        filesField = new JBTextField();
+        return FormBuilder.createFormBuilder()
+                .addLabeledComponent("Mappings directories:", mappingsField)
+                .addTooltip("Comma separated relative paths, e.g. mappings, stubs, wiremock/mappings")
+                .addLabeledComponent("Body file directories:", filesField)
+                .addTooltip("Looked up in a mappings directory and then in its parents, e.g. __files, wiremock/files")
+                .addComponentFillVertically(new JPanel(), 0)
+                .getPanel();
+    }
+
+    @Override
+    public boolean isModified() {
+        return !createLayout().equals(WireMockLayoutSettings.getInstance(project).getLayout());
+    }
+
+    @Override
+    public void apply() {
+        WireMockLayoutSettings.getInstance(project).setLayout(createLayout());
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        WireMockRootLayout layout = WireMockLayoutSettings.getInstance(project).getLayout();
+        mappingsField.setText(String.join(", ", layout.getMappingsPatterns()));
+        filesField.setText(String.join(", ", layout.getFilesPatterns()));
+    }
+
+    @Override
+    public void disposeUIResources() {
+        mappingsField = null;
+        filesField = null;
+    }
+
+    private @NotNull WireMockRootLayout createLayout() {
+        return new WireMockRootLayout(split(mappingsField.getText()), split(filesField.getText()));
+    }
+
+    private static List<String> split(String text) {
+        return StringUtil.split(text, ",");
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.xmlb.annotations.XCollection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Project settings for the directory layout of WireMock roots.
+ * The patterns are compiled into a {@link WireMockRootLayout} once, when they are loaded or changed,
+ * and every check of the plugin shares that instance.
+ */
+@Service(Service.Level.PROJECT)
+@State(name = "WireMockLayoutSettings", storages = @Storage("wiremock.xml"))
+public final class WireMockLayoutSettings implements PersistentStateComponent<WireMockLayoutSettings.LayoutState> {
+
+    private final Project project;
+    private volatile WireMockRootLayout layout = WireMockRootLayout.DEFAULT;
+
+    public WireMockLayoutSettings(Project project) {
+        this.project = project;
+    }
+
+    public static WireMockLayoutSettings getInstance(Project project) {
+        return project.getService(WireMockLayoutSettings.class);
+    }
+
+    /**
+     * Gets the compiled layout of a project.
+     *
+     * @param project The project, may be null e.g. for files that are indexed outside a project
+     * @return The layout of the project, or the default layout without a project
+     */
+    public static @NotNull WireMockRootLayout getLayout(@Nullable Project project) {
+        return project != null && !project.isDisposed() ? getInstance(project).getLayout() : WireMockRootLayout.DEFAULT;
+    }
+
+    public @NotNull WireMockRootLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Changes the layout. Cached roots are dropped, the WireMock indexes are rebuilt and the file types of large files
+     * are evaluated again if the layout changed.
+     *
+     * @param newLayout The new layout
+     */
+    public void setLayout(@NotNull WireMockRootLayout newLayout) {
+        if (newLayout.equals(layout)) return;
+
+        layout = newLayout;
+        WireMockRootRegistry.getInstance(project).clear();
+        WireMockModificationTracker.getInstance().incModificationCount();
+
+        // The input filters of the indexes depend on the layout
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        index.requestRebuild(WireMockBodyFileIndex.NAME);
+        index.requestRebuild(WireMockRequestIndex.NAME);
+        index.requestRebuild(WireMockBodyFileHashIndex.NAME);
+        DaemonCodeAnalyzer.getInstance(project).restart();
+
+        // Large file mode depends on whether a file is a mapping or body file
+        WireMockLargeFileTypeOverrider.reevaluate("WireMock layout changed");
+    }
+
+    @Override
+    public @NotNull LayoutState getState() {
+        LayoutState state = new LayoutState();
+        state.mappingsDirectories = new ArrayList<>(layout.getMappingsPatterns());
+        state.filesDirectories = new ArrayList<>(layout.getFilesPatterns());
+        return state;
+    }
+
+    @Override
+    public void loadState(@NotNull LayoutState state) {
+        layout = new WireMockRootLayout(state.mappingsDirectories, state.filesDirectories);
+    }
+
+    /**
+     * The persisted patterns.
+     */
+    public static final class LayoutState {
+        @XCollection(elementName = "pattern")
+        public List<String> mappingsDirectories = new ArrayList<>(List.of(WireMockPaths.MAPPINGS_DIRECTORY));
+
+        @XCollection(elementName = "pattern")
+        public List<String> filesDirectories = new ArrayList<>(List.of(WireMockPaths.FILES_DIRECTORY));
+    }
+}
@@ -4,51 +4,77 @@ import com.intellij.codeInsight.daemon.RelatedItemLineMarkerInfo;
 import com.intellij.codeInsight.daemon.RelatedItemLineMarkerProvider;
 import com.intellij.codeInsight.navigation.NavigationGutterIconBuilder;
 import com.intellij.icons.AllIcons;
-import com.intellij.json.psi.JsonProperty;
+import com.intellij.json.JsonElementTypes;
 import com.intellij.json.psi.JsonStringLiteral;
-import com.intellij.openapi.actionSystem.AnAction;
-import com.intellij.openapi.actionSystem.AnActionEvent;
-import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.markup.GutterIconRenderer;
-import com.intellij.openapi.fileEditor.FileEditorManager;
-import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.util.NotNullLazyValue;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
-import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.PsiUtilCore;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * Line marker provider for WireMock mapping files.
  * Adds "Create file" or "Go to file" links for bodyFileName references.
+ * Markers are registered on the string tokens of bodyFileName values and are collected in the slow line marker pass.
+ * Body files are resolved through the VFS only, so markers are also shown while the IDE is indexing.
  */
-public class WireMockLineMarkerProvider extends RelatedItemLineMarkerProvider {
+public class WireMockLineMarkerProvider extends RelatedItemLineMarkerProvider implements DumbAware {
 
     @Override
-    protected void collectNavigationMarkers(@NotNull PsiElement element, @NotNull Collection<? super RelatedItemLineMarkerInfo<?>> result) {
-        // Only process JSON string literals
-        if (!(element instanceof JsonStringLiteral)) return;
+    public void collectNavigationMarkers(
+            @NotNull List<? extends PsiElement> elements,
+            @NotNull Collection<? super RelatedItemLineMarkerInfo<?>> result,
+            boolean forNavigation
+    ) {
+        if (elements.isEmpty()) return;
+
+        long start = System.nanoTime();
+        try {
+            collectMarkers(elements, result);
+        } finally {
+            WireMockMetrics.getInstance().record(WireMockMetrics.Operation.LINE_MARKERS, start);
+        }
+    }
 
-        // Check if the file is a WireMock mapping file
-        VirtualFile virtualFile = element.getContainingFile().getVirtualFile();
-        if (!WireMockUtils.isMappingFile(virtualFile)) return;
+    private void collectMarkers(@NotNull List<? extends PsiElement> elements, @NotNull Collection<? super RelatedItemLineMarkerInfo<?>> result) {
+        // All elements of a pass belong to the same file, so check the file only once
+        PsiFile file = elements.get(0).getContainingFile();
+        if (file == null) return;
+
+        VirtualFile virtualFile = file.getOriginalFile().getVirtualFile();
+        if (!WireMockRootRegistry.getInstance(file.getProject()).isMappingFile(virtualFile)) return;
+
+        // Large mapping files are handled by WireMockLargeFileAnnotator without visiting their PSI
+        if (WireMockUtils.isLargeMappingFile(virtualFile)) return;
+
+        for (PsiElement element : elements) {
+            ProgressManager.checkCanceled();
+            collectNavigationMarkers(element, result);
+        }
+    }
 
-        // Check if this is a bodyFileName property value
-        JsonProperty property = PsiTreeUtil.getParentOfType(element, JsonProperty.class);
-        if (property == null || !"bodyFileName".equals(property.getName())) return;
+    @Override
+    protected void collectNavigationMarkers(@NotNull PsiElement element, @NotNull Collection<? super RelatedItemLineMarkerInfo<?>> result) {
+        // Line markers must be registered on leaf elements, i.e. the string token of a JSON string literal
+        if (!isStringToken(element)) return;
 
-        // Get the bodyFileName value
-        String bodyFileName = ((JsonStringLiteral) element).getValue();
+        // Only process bodyFileName values in WireMock mapping files
+        WireMockBodyFileReference reference = WireMockBodyFileReference.find(element.getParent());
+        if (reference == null) return;
 
         // Find the corresponding body file
-        VirtualFile bodyFile = WireMockUtils.getBodyFile(virtualFile, bodyFileName);
+        VirtualFile bodyFile = reference.resolveFile();
 
         if (bodyFile != null) {
             // Body file exists, add "Go to file" marker
@@ -56,25 +82,29 @@ public class WireMockLineMarkerProvider extends RelatedItemLineMarkerProvider {
         }
     }
 
+    /**
+     * Checks if the given element is the string token of a JSON string literal.
+     */
+    private static boolean isStringToken(PsiElement element) {
+        IElementType elementType = PsiUtilCore.getElementType(element);
+        return (elementType == JsonElementTypes.DOUBLE_QUOTED_STRING || elementType == JsonElementTypes.SINGLE_QUOTED_STRING)
+                && element.getParent() instanceof JsonStringLiteral;
+    }
+
     /**
      * Adds a "Go to file" marker for an existing body file.
+     * The PSI of the body file is only loaded when the marker is used.
      */
     private void addGoToFileMarker(
             PsiElement element,
             VirtualFile bodyFile,
             Collection<? super RelatedItemLineMarkerInfo<?>> result
     ) {
-
-        // Convert VirtualFile to PsiFile
-        PsiFile psiFile = PsiManager.getInstance(element.getProject()).findFile(bodyFile);
-        if (psiFile == null) return;
-
-        // Create a list with the target file
-        Collection<PsiFile> targets = Collections.singletonList(psiFile);
+        Project project = element.getProject();
 
         // Create a line marker with the action
         NavigationGutterIconBuilder<PsiElement> builder = NavigationGutterIconBuilder.create(AllIcons.General.OpenDisk)
-                .setTargets(targets)
+                .setTargets(NotNullLazyValue.lazy(() -> findTargets(project, bodyFile)))
                 .setTooltipText("Go to file")
                 .setPopupTitle("Navigate to Body File")
                 .setAlignment(GutterIconRenderer.Alignment.RIGHT);
@@ -83,84 +113,12 @@ public class WireMockLineMarkerProvider extends RelatedItemLineMarkerProvider {
     }
 
     /**
-     * Creates a body file and opens it in the editor.
+     * Gets the PSI of the body file as navigation target.
      */
-    public void createBodyFile(Project project, String bodyFileName, VirtualFile mappingFile) {
-        try {
-            // Find the mappings directory
-            VirtualFile mappingsDir = null;
-            VirtualFile parent = mappingFile.getParent();
-            while (parent != null) {
-                if ("mappings".equals(parent.getName())) {
-                    mappingsDir = parent;
-                    break;
-                }
-                parent = parent.getParent();
-            }
-
-            if (mappingsDir == null) return;
-
-            // Find or create the __files directory
-            VirtualFile rootDir = mappingsDir.getParent();
-            if (rootDir == null) return;
-
-            VirtualFile filesDir = rootDir.findChild("__files");
-            if (filesDir == null) {
-                filesDir = WriteCommandAction.runWriteCommandAction(project, 
-                    (com.intellij.openapi.util.ThrowableComputable<VirtualFile, IOException>) () -> 
-                    rootDir.createChildDirectory(this, "__files")
-                );
-            }
-
-            // Normalize the bodyFileName path (it might start with /)
-            String normalizedBodyFileName = bodyFileName;
-            if (normalizedBodyFileName.startsWith("/")) {
-                normalizedBodyFileName = normalizedBodyFileName.substring(1);
-            }
-
-            // Split the path and create the directory structure
-            String[] pathParts = normalizedBodyFileName.split("/");
-            VirtualFile currentDir = filesDir;
-
-            // Create all directories in the path except the last part (which is the filename)
-            for (int i = 0; i < pathParts.length - 1; i++) {
-                String dirName = pathParts[i];
-                VirtualFile childDir = currentDir.findChild(dirName);
-                if (childDir == null) {
-                    final VirtualFile parentDir = currentDir;
-                    final String finalDirName = dirName;
-                    childDir = WriteCommandAction.runWriteCommandAction(project, 
-                        (com.intellij.openapi.util.ThrowableComputable<VirtualFile, IOException>) () -> 
-                        parentDir.createChildDirectory(this, finalDirName)
-                    );
-                }
-                currentDir = childDir;
-            }
-
-            // Create the file
-            String fileName = pathParts[pathParts.length - 1];
-            final VirtualFile dir = currentDir;
-            final String finalFileName = fileName;
-
-            VirtualFile bodyFile = WriteCommandAction.runWriteCommandAction(project, 
-                (com.intellij.openapi.util.ThrowableComputable<VirtualFile, IOException>) () -> {
-                    VirtualFile file = dir.createChildData(this, finalFileName);
-                    VfsUtil.saveText(file, "{\n  \n}");
-                    return file;
-                }
-            );
-
-            // Open the file in the editor
-            if (bodyFile != null) {
-                FileEditorManager.getInstance(project).openTextEditor(
-                        new OpenFileDescriptor(project, bodyFile),
-                        true
-                );
-            }
-        } catch (IOException e) {
-            // Handle the exception (e.g., log it or show an error message)
-            com.intellij.openapi.diagnostic.Logger.getInstance(WireMockLineMarkerProvider.class)
-                .error("Error creating body file", e);
-        }
+    private static Collection<PsiElement> findTargets(Project project, VirtualFile bodyFile) {
+        PsiFile psiFile = bodyFile.isValid() ? PsiManager.getInstance(project).findFile(bodyFile) : null;
+        if (psiFile == null) return Collections.emptyList();
+
+        return Collections.singletonList(psiFile);
     }
 }
@@ -0,0 +1,77 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The result of evaluating a stub against a request.
+ */
+public final class WireMockMatchResult {
+
+    /**
+     * Orders results the way WireMock picks a stub: matches before near misses, then by priority (lower wins).
+     * WireMock breaks priority ties by the most recently added stub, which is not known offline,
+     * so ties are broken by mapping file path and position in the file instead.
+     * Near misses are ordered by the fraction of failed criteria.
+     */
+    public static final Comparator<WireMockMatchResult> ORDER = Comparator
+            .comparing((WireMockMatchResult result) -> !result.isMatch())
+            .thenComparingDouble(WireMockMatchResult::getDistance)
+            .thenComparingInt(WireMockMatchResult::getPriority)
+            .thenComparing(result -> result.getLocation().getMappingFile().getPath())
+            .thenComparingInt(result -> result.getLocation().getEntry().getOffset());
+
+    private final WireMockRequestLocation location;
+    private final int priority;
+    private final int criteriaCount;
+    private final List<String> failures;
+    private final List<String> notEvaluated;
+
+    public WireMockMatchResult(@NotNull WireMockRequestLocation location, int priority, int criteriaCount,
+                               @NotNull List<String> failures, @NotNull List<String> notEvaluated) {
+        this.location = location;
+        this.priority = priority;
+        this.criteriaCount = criteriaCount;
+        this.failures = List.copyOf(failures);
+        this.notEvaluated = List.copyOf(notEvaluated);
+    }
+
+    public @NotNull WireMockRequestLocation getLocation() {
+        return location;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Checks if the request satisfies all evaluated criteria of the stub.
+     */
+    public boolean isMatch() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * Gets the fraction of failed criteria, 0 for a match.
+     */
+    public double getDistance() {
+        return criteriaCount == 0 ? 0 : (double) failures.size() / criteriaCount;
+    }
+
+    /**
+     * Gets the descriptions of the criteria the request does not satisfy.
+     */
+    public @NotNull List<String> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Gets the state the stub depends on that is not known offline, such as the scenario state, which was treated as matching.
+     * Request matchers that are not supported offline are reported as failures instead.
+     */
+    public @NotNull List<String> getNotEvaluated() {
+        return notEvaluated;
+    }
+}
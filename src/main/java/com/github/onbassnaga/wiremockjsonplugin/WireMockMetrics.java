@@ -0,0 +1,209 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.application.ApplicationInfo;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Application level counters for the hot paths of the plugin.
+ * Every call costs two {@link System#nanoTime()} calls and a few uncontended {@link LongAdder} increments,
+ * so the counters are always on. Latencies are kept in a histogram with power of two buckets in microseconds.
+ */
+@Service
+public final class WireMockMetrics {
+
+    private static final int BUCKETS = 24;
+
+    /**
+     * The instrumented operations.
+     */
+    public enum Operation {
+        ANNOTATE("WireMockAnnotator.annotate"),
+        LINE_MARKERS("WireMockLineMarkerProvider.collectNavigationMarkers"),
+        FIND_BODY_FILE("WireMockUtils.findBodyFile"),
+        PROCESS_STUBS("WireMockUtils.processStubsReferencingBodyFile");
+
+        private final String displayName;
+
+        Operation(String displayName) {
+            this.displayName = displayName;
+        }
+    }
+
+    /**
+     * The instrumented caches.
+     */
+    public enum Cache {
+        RESOLVED_BODY_FILES("Resolved bodyFileName values"),
+        ROOT_DIRECTORIES("Root registry directories");
+
+        private final String displayName;
+
+        Cache(String displayName) {
+            this.displayName = displayName;
+        }
+    }
+
+    private final Map<Operation, Timer> timers = new EnumMap<>(Operation.class);
+    private final Map<Cache, CacheCounter> caches = new EnumMap<>(Cache.class);
+    private volatile Instant since = Instant.now();
+
+    public WireMockMetrics() {
+        for (Operation operation : Operation.values()) {
+            timers.put(operation, new Timer());
+        }
+        for (Cache cache : Cache.values()) {
+            caches.put(cache, new CacheCounter());
+        }
+    }
+
+    public static WireMockMetrics getInstance() {
+        return ApplicationManager.getApplication().getService(WireMockMetrics.class);
+    }
+
+    /**
+     * Records a call of an operation.
+     *
+     * @param operation The operation
+     * @param startNanos The value of {@link System#nanoTime()} when the call started
+     */
+    public void record(@NotNull Operation operation, long startNanos) {
+        timers.get(operation).record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records a cache lookup.
+     *
+     * @param cache The cache
+     * @param hit true if the value was found in the cache, false if it had to be computed
+     */
+    public void recordLookup(@NotNull Cache cache, boolean hit) {
+        CacheCounter counter = caches.get(cache);
+        (hit ? counter.hits : counter.misses).increment();
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public void reset() {
+        timers.values().forEach(Timer::reset);
+        caches.values().forEach(CacheCounter::reset);
+        since = Instant.now();
+    }
+
+    /**
+     * Creates a plain text report of all counters, suitable for attaching to bug reports.
+     *
+     * @return The report
+     */
+    public @NotNull String createReport() {
+        Instant now = Instant.now();
+        StringBuilder report = new StringBuilder();
+        report.append("WireMock JSON plugin diagnostics\n");
+        report.append("Created: ").append(now).append('\n');
+        report.append("Collected for: ").append(Duration.between(since, now).toSeconds()).append(" s\n");
+        report.append("IDE: ").append(ApplicationInfo.getInstance().getFullApplicationName())
+                .append(" (").append(ApplicationInfo.getInstance().getBuild()).append(")\n");
+
+        report.append("\nOperations (times in microseconds)\n");
+        report.append(String.format("%-55s %10s %12s %10s %10s %10s %10s%n", "Operation", "Calls", "Total ms", "Mean", "p50", "p99", "Max"));
+        for (Operation operation : Operation.values()) {
+            Timer timer = timers.get(operation);
+            long calls = timer.calls.sum();
+            long totalNanos = timer.totalNanos.sum();
+            report.append(String.format("%-55s %10d %12.1f %10.1f %10s %10s %10d%n",
+                    operation.displayName,
+                    calls,
+                    totalNanos / 1_000_000.0,
+                    calls > 0 ? totalNanos / 1_000.0 / calls : 0.0,
+                    timer.percentile(calls, 0.5),
+                    timer.percentile(calls, 0.99),
+                    timer.maxNanos.get() / 1_000));
+        }
+
+        report.append("\nCaches\n");
+        report.append(String.format("%-55s %10s %10s %10s%n", "Cache", "Hits", "Misses", "Hit rate"));
+        for (Cache cache : Cache.values()) {
+            CacheCounter counter = caches.get(cache);
+            long hits = counter.hits.sum();
+            long misses = counter.misses.sum();
+            report.append(String.format("%-55s %10d %10d %9.1f%%%n",
+                    cache.displayName, hits, misses, hits + misses > 0 ? 100.0 * hits / (hits + misses) : 0.0));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Call count, total time and latency histogram of an operation.
+     */
+    private static final class Timer {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+        private Timer() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos) {
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+
+            // Bucket i holds the calls that took less than 2^i microseconds
+            long micros = nanos / 1_000;
+            int bucket = micros == 0 ? 0 : 64 - Long.numberOfLeadingZeros(micros);
+            buckets[Math.min(bucket, BUCKETS - 1)].increment();
+        }
+
+        /**
+         * Gets the upper bound of the bucket that contains the given percentile, e.g. "<128".
+         */
+        private String percentile(long calls, double percentile) {
+            if (calls == 0) return "-";
+
+            long threshold = (long) Math.ceil(calls * percentile);
+            long count = 0;
+            for (int i = 0; i < BUCKETS - 1; i++) {
+                count += buckets[i].sum();
+                if (count >= threshold) {
+                    return "<" + (1L << i);
+                }
+            }
+            return ">=" + (1L << (BUCKETS - 2));
+        }
+
+        private void reset() {
+            calls.reset();
+            totalNanos.reset();
+            maxNanos.set(0);
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+        }
+    }
+
+    /**
+     * Hit and miss counts of a cache.
+     */
+    private static final class CacheCounter {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private void reset() {
+            hits.reset();
+            misses.reset();
+        }
+    }
+}
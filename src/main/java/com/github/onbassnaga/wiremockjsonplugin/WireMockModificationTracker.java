@@ -0,0 +1,18 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.util.SimpleModificationTracker;
+
+/**
+ * Modification tracker for the structure of WireMock directories.
+ * Incremented whenever files are created, deleted, moved or renamed under a "mappings" or "__files" directory,
+ * so cached bodyFileName resolutions can depend on it instead of on every PSI change.
+ */
+@Service
+public final class WireMockModificationTracker extends SimpleModificationTracker {
+
+    public static WireMockModificationTracker getInstance() {
+        return ApplicationManager.getApplication().getService(WireMockModificationTracker.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Cache of compiled regular expressions used by stub URL and body matchers.
+ * Every distinct expression is compiled once; invalid expressions are remembered as such.
+ */
+public final class WireMockPatterns {
+
+    private static final int MAX_SIZE = 10_000;
+
+    private static final Map<String, Optional<Pattern>> PATTERNS = new ConcurrentHashMap<>();
+
+    private WireMockPatterns() {
+    }
+
+    /**
+     * Gets the compiled pattern for the given regular expression.
+     *
+     * @param regex The regular expression
+     * @return The compiled pattern, null if the expression is invalid
+     */
+    public static @Nullable Pattern compile(@NotNull String regex) {
+        Optional<Pattern> pattern = PATTERNS.get(regex);
+        if (pattern == null) {
+            if (PATTERNS.size() >= MAX_SIZE) {
+                PATTERNS.clear();
+            }
+            pattern = PATTERNS.computeIfAbsent(regex, WireMockPatterns::tryCompile);
+        }
+        return pattern.orElse(null);
+    }
+
+    /**
+     * Checks if the given regular expression matches the whole value, as WireMock does.
+     *
+     * @param regex The regular expression
+     * @param value The value to match
+     * @return true if the expression is valid and matches the value, false otherwise
+     */
+    public static boolean matches(@NotNull String regex, @NotNull String value) {
+        Pattern pattern = compile(regex);
+        return pattern != null && pattern.matcher(value).matches();
+    }
+
+    private static Optional<Pattern> tryCompile(String regex) {
+        try {
+            return Optional.of(Pattern.compile(regex));
+        } catch (PatternSyntaxException e) {
+            return Optional.empty();
+        }
+    }
+}
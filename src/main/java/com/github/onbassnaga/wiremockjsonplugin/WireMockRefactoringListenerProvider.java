@@ -0,0 +1,127 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.json.psi.JsonFile;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileSystemItem;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.refactoring.listeners.RefactoringElementAdapter;
+import com.intellij.refactoring.listeners.RefactoringElementListener;
+import com.intellij.refactoring.listeners.RefactoringElementListenerProvider;
+import com.intellij.util.indexing.FileBasedIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Updates bodyFileName values when a directory or a body file under "__files" is renamed or moved.
+ * A directory has no reference of its own, so the affected values are looked up by prefix in
+ * {@link WireMockBodyFileIndex} and rewritten in one batch, as part of the refactoring command.
+ * Body files are handled by {@link WireMockBodyFileReference}, except in large mapping files that are opened as
+ * plain text and have no references; their values are looked up by path and rewritten the same way.
+ */
+public class WireMockRefactoringListenerProvider implements RefactoringElementListenerProvider {
+
+    @Override
+    public @Nullable RefactoringElementListener getListener(PsiElement element) {
+        if (!(element instanceof PsiDirectory) && !(element instanceof PsiFile)) return null;
+
+        // Only directories and files below a "__files" directory of a WireMock root with mappings
+        PsiFileSystemItem item = (PsiFileSystemItem) element;
+        Project project = item.getProject();
+        VirtualFile file = item.getVirtualFile();
+        WireMockRoot root = file != null ? WireMockRootRegistry.getInstance(project).findRoot(file) : null;
+        if (root == null || root.getFilesDir() == null) return null;
+        if (!VfsUtilCore.isAncestor(root.getFilesDir(), file, true)) return null;
+
+        String oldPath = VfsUtilCore.getRelativePath(file, root.getFilesDir());
+        if (oldPath == null) return null;
+
+        boolean directory = item.isDirectory();
+        return new RefactoringElementAdapter() {
+            @Override
+            protected void elementRenamedOrMoved(@NotNull PsiElement newElement) {
+                if (!(newElement instanceof PsiFileSystemItem newItem) || newItem.getVirtualFile() == null) return;
+
+                // Values can only be rewritten while the element stays under the same "__files" directory
+                VirtualFile filesDir = root.getFilesDir();
+                if (filesDir == null || !filesDir.isValid() || !VfsUtilCore.isAncestor(filesDir, newItem.getVirtualFile(), true)) return;
+
+                String newPath = VfsUtilCore.getRelativePath(newItem.getVirtualFile(), filesDir);
+                if (newPath == null || newPath.equals(oldPath)) return;
+
+                if (directory) {
+                    rewriteDirectory(project, root, oldPath, newPath);
+                } else {
+                    rewritePlainTextMappingFiles(project, root, oldPath, newPath);
+                }
+            }
+
+            @Override
+            public void undoElementMovedOrRenamed(@NotNull PsiElement newElement, @NotNull String oldQualifiedName) {
+                // The rewritten values are part of the refactoring command and are undone with it
+            }
+        };
+    }
+
+    /**
+     * Replaces the directory prefix of all bodyFileName values of a root that point below the old directory.
+     */
+    private static void rewriteDirectory(Project project, WireMockRoot root, String oldPath, String newPath) {
+        // Find the affected values by key prefix, grouped by mapping file
+        String prefix = oldPath + "/";
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        GlobalSearchScope scope = WireMockRootRegistry.getInstance(project).getMappingFilesScope(root);
+        List<String> keys = new ArrayList<>();
+        index.processAllKeys(WireMockBodyFileIndex.NAME, key -> {
+            if (key.startsWith(prefix)) {
+                keys.add(key);
+            }
+            return true;
+        }, scope, null);
+
+        Map<VirtualFile, List<Integer>> offsets = new LinkedHashMap<>();
+        for (String key : keys) {
+            index.processValues(WireMockBodyFileIndex.NAME, key, null, (mappingFile, entries) -> {
+                for (WireMockStubEntry entry : entries) {
+                    offsets.computeIfAbsent(mappingFile, file -> new ArrayList<>()).add(entry.getBodyFileNameOffset());
+                }
+                return true;
+            }, scope);
+        }
+
+        // Skip values that the refactoring already updated through their references
+        WireMockBodyFileNameRewriter.rewrite(project, offsets, bodyFileName ->
+                bodyFileName.startsWith(prefix) ? newPath + bodyFileName.substring(oldPath.length()) : null);
+    }
+
+    /**
+     * Replaces the values of a renamed or moved body file in the mapping files that have no JSON PSI.
+     * The values in JSON mapping files were already updated through their references.
+     */
+    private static void rewritePlainTextMappingFiles(Project project, WireMockRoot root, String oldPath, String newPath) {
+        GlobalSearchScope scope = WireMockRootRegistry.getInstance(project).getMappingFilesScope(root);
+        PsiManager psiManager = PsiManager.getInstance(project);
+        Map<VirtualFile, List<Integer>> offsets = new LinkedHashMap<>();
+        FileBasedIndex.getInstance().processValues(WireMockBodyFileIndex.NAME, oldPath, null, (mappingFile, entries) -> {
+            if (psiManager.findFile(mappingFile) instanceof JsonFile) return true;
+
+            for (WireMockStubEntry entry : entries) {
+                offsets.computeIfAbsent(mappingFile, key -> new ArrayList<>()).add(entry.getBodyFileNameOffset());
+            }
+            return true;
+        }, scope);
+        if (offsets.isEmpty()) return;
+
+        WireMockBodyFileNameRewriter.rewrite(project, offsets, bodyFileName -> bodyFileName.equals(oldPath) ? newPath : null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.json.psi.JsonProperty;
+import com.intellij.json.psi.JsonStringLiteral;
+import com.intellij.patterns.PlatformPatterns;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.PsiReferenceContributor;
+import com.intellij.psi.PsiReferenceProvider;
+import com.intellij.psi.PsiReferenceRegistrar;
+import com.intellij.util.ProcessingContext;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Reference contributor for WireMock mapping files.
+ * Provides {@link WireMockBodyFileReference}s for bodyFileName values, which enables Ctrl+Click, Find Usages and rename.
+ */
+public class WireMockReferenceContributor extends PsiReferenceContributor {
+
+    @Override
+    public void registerReferenceProviders(@NotNull PsiReferenceRegistrar registrar) {
+        registrar.registerReferenceProvider(
+                PlatformPatterns.psiElement(JsonStringLiteral.class).withParent(JsonProperty.class),
+                new PsiReferenceProvider() {
+                    @Override
+                    public PsiReference @NotNull [] getReferencesByElement(@NotNull PsiElement element, @NotNull ProcessingContext context) {
+                        WireMockBodyFileReference reference = WireMockBodyFileReference.find(element);
+                        return reference != null ? new PsiReference[]{reference} : PsiReference.EMPTY_ARRAY;
+                    }
+                }
+        );
+    }
+}
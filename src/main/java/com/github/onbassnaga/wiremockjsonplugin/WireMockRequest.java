@@ -0,0 +1,106 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An HTTP request to evaluate against WireMock stubs without a running WireMock server.
+ */
+public final class WireMockRequest {
+
+    private final String method;
+    private final String url;
+    private final Map<String, String> headers;
+    private final String body;
+    private Map<String, List<String>> queryParameters;
+
+    public WireMockRequest(@NotNull String method, @NotNull String url, @NotNull Map<String, String> headers, @NotNull String body) {
+        this.method = method;
+        this.url = url;
+        this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.headers.putAll(headers);
+        this.body = body;
+    }
+
+    public @NotNull String getMethod() {
+        return method;
+    }
+
+    /**
+     * Gets the URL including the query string, as matched by "url" and "urlPattern".
+     */
+    public @NotNull String getUrl() {
+        return url;
+    }
+
+    /**
+     * Gets the URL without the query string, as matched by "urlPath" and "urlPathPattern".
+     */
+    public @NotNull String getPath() {
+        return WireMockRequestIndex.getPath(url);
+    }
+
+    /**
+     * Gets the value of a header, header names are case insensitive.
+     */
+    public @Nullable String getHeader(@NotNull String name) {
+        return headers.get(name);
+    }
+
+    /**
+     * Gets the values of a header, empty if the request does not have it.
+     */
+    public @NotNull List<String> getHeaders(@NotNull String name) {
+        String value = headers.get(name);
+        return value != null ? List.of(value) : List.of();
+    }
+
+    /**
+     * Gets all values of a query parameter in the order of the query string, empty if the request does not have it.
+     */
+    public @NotNull List<String> getQueryParameters(@NotNull String name) {
+        List<String> values = getQueryParameters().get(name);
+        return values != null ? values : List.of();
+    }
+
+    public @NotNull String getBody() {
+        return body;
+    }
+
+    private Map<String, List<String>> getQueryParameters() {
+        if (queryParameters == null) {
+            Map<String, List<String>> result = new LinkedHashMap<>();
+            int queryStart = url.indexOf('?');
+            if (queryStart >= 0) {
+                for (String pair : url.substring(queryStart + 1).split("&")) {
+                    if (pair.isEmpty()) continue;
+
+                    int separator = pair.indexOf('=');
+                    String name = decode(separator >= 0 ? pair.substring(0, separator) : pair);
+                    String value = separator >= 0 ? decode(pair.substring(separator + 1)) : "";
+                    result.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+                }
+            }
+            result.replaceAll((name, values) -> Collections.unmodifiableList(values));
+            queryParameters = Collections.unmodifiableMap(result);
+        }
+        return queryParameters;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return value;
+        }
+    }
+}
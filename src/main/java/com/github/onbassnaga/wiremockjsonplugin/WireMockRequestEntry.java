@@ -0,0 +1,165 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Index value describing the request matcher of a stub.
+ * Holds the method and URL matcher of the stub and where the stub is located in its mapping file.
+ */
+public final class WireMockRequestEntry {
+
+    private final int index;
+    private final int offset;
+    private final String method;
+    private final String urlMatcher;
+    private final String url;
+    private final String name;
+    private final int priority;
+
+    public WireMockRequestEntry(int index, int offset, @Nullable String method, @Nullable String urlMatcher,
+                                @Nullable String url, @Nullable String name, int priority) {
+        this.index = index;
+        this.offset = offset;
+        this.method = method;
+        this.urlMatcher = urlMatcher;
+        this.url = url;
+        this.name = name;
+        this.priority = priority;
+    }
+
+    /**
+     * Gets the position of the stub in its mapping file, starting at 0.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the offset of the opening brace of the stub.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the request method of the stub, null if it has none.
+     */
+    public @Nullable String getMethod() {
+        return method;
+    }
+
+    /**
+     * Gets the kind of URL matcher, i.e. "url", "urlPath", "urlPattern" or "urlPathPattern", or null for any URL.
+     */
+    public @Nullable String getUrlMatcher() {
+        return urlMatcher;
+    }
+
+    /**
+     * Gets the value of the URL matcher, null for any URL.
+     */
+    public @Nullable String getUrl() {
+        return url;
+    }
+
+    /**
+     * Gets the name or id of the stub.
+     */
+    public @Nullable String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the priority of the stub, {@link WireMockRequestIndex#DEFAULT_PRIORITY} if it has none.
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Checks if the URL matcher of the stub is a regular expression.
+     */
+    public boolean isPattern() {
+        return "urlPattern".equals(urlMatcher) || "urlPathPattern".equals(urlMatcher);
+    }
+
+    /**
+     * Checks if the method of the stub matches the given method.
+     */
+    public boolean matchesMethod(@Nullable String requestMethod) {
+        return requestMethod == null || method == null || "ANY".equalsIgnoreCase(method) || method.equalsIgnoreCase(requestMethod);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WireMockRequestEntry other)) return false;
+        return index == other.index && offset == other.offset && priority == other.priority
+                && Objects.equals(method, other.method) && Objects.equals(urlMatcher, other.urlMatcher)
+                && Objects.equals(url, other.url) && Objects.equals(name, other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, offset, method, urlMatcher, url, name, priority);
+    }
+
+    /**
+     * Externalizer for lists of request entries.
+     */
+    public static final class ListExternalizer implements DataExternalizer<List<WireMockRequestEntry>> {
+
+        @Override
+        public void save(@NotNull DataOutput out, List<WireMockRequestEntry> entries) throws IOException {
+            DataInputOutputUtil.writeINT(out, entries.size());
+            for (WireMockRequestEntry entry : entries) {
+                DataInputOutputUtil.writeINT(out, entry.index);
+                DataInputOutputUtil.writeINT(out, entry.offset);
+                writeNullableString(out, entry.method);
+                writeNullableString(out, entry.urlMatcher);
+                writeNullableString(out, entry.url);
+                writeNullableString(out, entry.name);
+                out.writeInt(entry.priority);
+            }
+        }
+
+        @Override
+        public List<WireMockRequestEntry> read(@NotNull DataInput in) throws IOException {
+            int size = DataInputOutputUtil.readINT(in);
+            List<WireMockRequestEntry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int index = DataInputOutputUtil.readINT(in);
+                int offset = DataInputOutputUtil.readINT(in);
+                String method = readNullableString(in);
+                String urlMatcher = readNullableString(in);
+                String url = readNullableString(in);
+                String name = readNullableString(in);
+                int priority = in.readInt();
+                entries.add(new WireMockRequestEntry(index, offset, method, urlMatcher, url, name, priority));
+            }
+            return entries;
+        }
+
+        private static void writeNullableString(DataOutput out, @Nullable String value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                IOUtil.writeUTF(out, value);
+            }
+        }
+
+        private static @Nullable String readNullableString(DataInput in) throws IOException {
+            return in.readBoolean() ? IOUtil.readUTF(in) : null;
+        }
+    }
+}
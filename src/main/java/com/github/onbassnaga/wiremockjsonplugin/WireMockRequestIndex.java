@@ -0,0 +1,218 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.Processor;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * File based index of the request matchers of WireMock stubs.
+ * Stubs with a "url" or "urlPath" matcher are keyed by their URL path, so exact and prefix lookups are answered
+ * from the index keys. Stubs with a "urlPattern" or "urlPathPattern" matcher share the {@link #PATTERN_KEY} key
+ * and stubs without a URL matcher share the {@link #ANY_URL_KEY} key.
+ */
+public class WireMockRequestIndex extends FileBasedIndexExtension<String, List<WireMockRequestEntry>> {
+
+    public static final ID<String, List<WireMockRequestEntry>> NAME = ID.create("com.github.onbassnaga.wiremockjsonplugin.WireMockRequestIndex");
+
+    /**
+     * The priority WireMock uses for stubs without a "priority".
+     */
+    public static final int DEFAULT_PRIORITY = 5;
+
+    /**
+     * Key of the stubs matching the URL with a regular expression.
+     */
+    public static final String PATTERN_KEY = "<pattern>";
+
+    /**
+     * Key of the stubs matching any URL.
+     */
+    public static final String ANY_URL_KEY = "<any>";
+
+    @Override
+    public @NotNull ID<String, List<WireMockRequestEntry>> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, List<WireMockRequestEntry>, FileContent> getIndexer() {
+        return inputData -> {
+            Map<String, List<WireMockRequestEntry>> result = new HashMap<>();
+            for (WireMockStub stub : WireMockJsonScanner.findStubs(inputData.getContentAsText())) {
+                String name = stub.getName() != null ? stub.getName() : stub.getId();
+                int priority = stub.getPriority() != null ? stub.getPriority() : DEFAULT_PRIORITY;
+                WireMockRequestEntry entry = new WireMockRequestEntry(
+                        stub.getIndex(), stub.getOffset(), stub.getMethod(), stub.getUrlMatcher(), stub.getUrl(), name, priority);
+                result.computeIfAbsent(getKey(entry), key -> new ArrayList<>()).add(entry);
+            }
+            return result;
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<List<WireMockRequestEntry>> getValueExternalizer() {
+        return new WireMockRequestEntry.ListExternalizer();
+    }
+
+    @Override
+    public int getVersion() {
+        return 3;
+    }
+
+    @Override
+    public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+        return WireMockIndexInputFilter.mappingFiles();
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Processes the stubs whose method and URL matcher match the given request.
+     * Exact matchers are looked up by the URL path, only regular expressions are evaluated, using cached patterns.
+     *
+     * @param method The request method, null to match any method
+     * @param url The request URL including the query string
+     * @param scope The scope of mapping files to search
+     * @param processor The processor to feed the matching stubs to, may return false to stop
+     * @return false if the processor stopped the search, true otherwise
+     */
+    public static boolean processMatchingStubs(@Nullable String method, @NotNull String url, @NotNull GlobalSearchScope scope,
+                                               @NotNull Processor<? super WireMockRequestLocation> processor) {
+        String path = getPath(url);
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        for (String key : List.of(path, PATTERN_KEY, ANY_URL_KEY)) {
+            boolean completed = index.processValues(NAME, key, null, (file, entries) -> {
+                for (WireMockRequestEntry entry : entries) {
+                    if (entry.matchesMethod(method) && matchesUrl(entry, url, path)
+                            && !processor.process(new WireMockRequestLocation(file, entry))) {
+                        return false;
+                    }
+                }
+                return true;
+            }, scope);
+            if (!completed) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Processes the stubs that are close to a request URL, whatever their method and whether their URL matches:
+     * the stubs of the same path and of its sibling paths, and all stubs with a URL pattern or without URL matcher.
+     * Used to find near misses, which are most often stubs whose URL differs slightly from the request.
+     *
+     * @param url The request URL including the query string
+     * @param scope The scope of mapping files to search
+     * @param processor The processor to feed the stubs to, may return false to stop
+     * @return false if the processor stopped the search, true otherwise
+     */
+    public static boolean processNearbyStubs(@NotNull String url, @NotNull GlobalSearchScope scope,
+                                             @NotNull Processor<? super WireMockRequestLocation> processor) {
+        String path = getPath(url);
+        String parent = path.substring(0, path.lastIndexOf('/') + 1);
+        if (!processStubs(path, scope, processor)) return false;
+
+        // The root path "/" would list every stub, so only the exact path is used there
+        if (parent.length() > 1 && !processStubsByPrefix(null, parent, scope, processor)) return false;
+        if (parent.length() > 1 && !processStubs(parent.substring(0, parent.length() - 1), scope, processor)) return false;
+
+        return processStubs(PATTERN_KEY, scope, processor) && processStubs(ANY_URL_KEY, scope, processor);
+    }
+
+    private static boolean processStubs(@NotNull String key, @NotNull GlobalSearchScope scope,
+                                        @NotNull Processor<? super WireMockRequestLocation> processor) {
+        return FileBasedIndex.getInstance().processValues(NAME, key, null, (file, entries) -> {
+            for (WireMockRequestEntry entry : entries) {
+                if (!processor.process(new WireMockRequestLocation(file, entry))) return false;
+            }
+            return true;
+        }, scope);
+    }
+
+    /**
+     * Processes the stubs with an exact URL matcher whose URL path starts with the given prefix.
+     *
+     * @param method The request method, null to match any method
+     * @param prefix The URL prefix
+     * @param scope The scope of mapping files to search
+     * @param processor The processor to feed the matching stubs to, may return false to stop
+     * @return false if the processor stopped the search, true otherwise
+     */
+    public static boolean processStubsByPrefix(@Nullable String method, @NotNull String prefix, @NotNull GlobalSearchScope scope,
+                                               @NotNull Processor<? super WireMockRequestLocation> processor) {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        List<String> keys = new ArrayList<>();
+        index.processAllKeys(NAME, key -> {
+            if (key.startsWith(prefix) && !PATTERN_KEY.equals(key) && !ANY_URL_KEY.equals(key)) {
+                keys.add(key);
+            }
+            return true;
+        }, scope, null);
+
+        for (String key : keys) {
+            boolean completed = index.processValues(NAME, key, null, (file, entries) -> {
+                for (WireMockRequestEntry entry : entries) {
+                    if (entry.matchesMethod(method) && !processor.process(new WireMockRequestLocation(file, entry))) {
+                        return false;
+                    }
+                }
+                return true;
+            }, scope);
+            if (!completed) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the URL matcher of the given stub matches the request URL, following WireMock's semantics:
+     * "url" and "urlPattern" match the path and query, "urlPath" and "urlPathPattern" match the path only.
+     */
+    public static boolean matchesUrl(@NotNull WireMockRequestEntry entry, @NotNull String url, @NotNull String path) {
+        String matcher = entry.getUrlMatcher();
+        String value = entry.getUrl();
+        if (matcher == null || value == null) return true;
+
+        return switch (matcher) {
+            case "url" -> value.equals(url);
+            case "urlPath" -> value.equals(path);
+            case "urlPattern" -> WireMockPatterns.matches(value, url);
+            case "urlPathPattern" -> WireMockPatterns.matches(value, path);
+            default -> false;
+        };
+    }
+
+    /**
+     * Gets the path of a URL, i.e. the URL without its query string.
+     */
+    public static @NotNull String getPath(@NotNull String url) {
+        int queryStart = url.indexOf('?');
+        return queryStart >= 0 ? url.substring(0, queryStart) : url;
+    }
+
+    private static @NotNull String getKey(@NotNull WireMockRequestEntry entry) {
+        if (entry.getUrlMatcher() == null || entry.getUrl() == null) return ANY_URL_KEY;
+        if (entry.isPattern()) return PATTERN_KEY;
+        return getPath(entry.getUrl());
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * The request matcher of a stub in a specific mapping file, as found in the index.
+ */
+public final class WireMockRequestLocation {
+
+    private final VirtualFile mappingFile;
+    private final WireMockRequestEntry entry;
+
+    public WireMockRequestLocation(@NotNull VirtualFile mappingFile, @NotNull WireMockRequestEntry entry) {
+        this.mappingFile = mappingFile;
+        this.entry = entry;
+    }
+
+    public @NotNull VirtualFile getMappingFile() {
+        return mappingFile;
+    }
+
+    public @NotNull WireMockRequestEntry getEntry() {
+        return entry;
+    }
+
+    /**
+     * Gets the text to show for this stub, e.g. "GET /api/users".
+     */
+    public @NotNull String getPresentableText() {
+        String method = entry.getMethod() != null ? entry.getMethod() : "ANY";
+        String url = entry.getUrl() != null ? entry.getUrl() : "(any URL)";
+        return entry.isPattern() ? method + " " + url + " (pattern)" : method + " " + url;
+    }
+
+    /**
+     * Gets the mapping file name and the name of the stub, shown next to the presentable text.
+     */
+    public @NotNull String getLocationText() {
+        return entry.getName() != null ? mappingFile.getName() + " - " + entry.getName() : mappingFile.getName();
+    }
+
+    /**
+     * Opens the mapping file in the editor at this stub.
+     */
+    public void navigate(@NotNull Project project) {
+        if (!mappingFile.isValid()) return;
+
+        FileEditorManager.getInstance(project).openTextEditor(
+                new OpenFileDescriptor(project, mappingFile, entry.getOffset()),
+                true
+        );
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WireMockRequestLocation other)) return false;
+        return mappingFile.equals(other.mappingFile) && entry.equals(other.entry);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mappingFile, entry);
+    }
+}
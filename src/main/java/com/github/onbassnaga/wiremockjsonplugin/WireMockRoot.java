@@ -0,0 +1,53 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * A WireMock root, i.e. a "mappings" directory and the "__files" directory its bodyFileName values are resolved against.
+ * Either directory may be missing, e.g. before the first body file has been created.
+ */
+public final class WireMockRoot {
+
+    private final VirtualFile mappingsDir;
+    private final VirtualFile filesDir;
+
+    public WireMockRoot(@Nullable VirtualFile mappingsDir, @Nullable VirtualFile filesDir) {
+        this.mappingsDir = mappingsDir;
+        this.filesDir = filesDir;
+    }
+
+    public @Nullable VirtualFile getMappingsDir() {
+        return mappingsDir;
+    }
+
+    public @Nullable VirtualFile getFilesDir() {
+        return filesDir;
+    }
+
+    /**
+     * Checks if the directories of this root still exist.
+     */
+    public boolean isValid() {
+        return (mappingsDir == null || mappingsDir.isValid()) && (filesDir == null || filesDir.isValid());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WireMockRoot other)) return false;
+        return Objects.equals(mappingsDir, other.mappingsDir) && Objects.equals(filesDir, other.filesDir);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mappingsDir, filesDir);
+    }
+
+    @Override
+    public String toString() {
+        return "WireMockRoot{mappings=" + mappingsDir + ", files=" + filesDir + "}";
+    }
+}
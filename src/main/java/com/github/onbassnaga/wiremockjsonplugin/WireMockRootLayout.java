@@ -0,0 +1,196 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Directory layout of WireMock roots on the VFS.
+ * The patterns are compiled and matched by {@link WireMockLayoutPatterns} of the core module,
+ * so a directory is checked with a single hash lookup on its name, see there for the pattern syntax.
+ */
+public final class WireMockRootLayout {
+
+    /**
+     * The standard WireMock layout with "mappings" and "__files" directories.
+     */
+    public static final WireMockRootLayout DEFAULT = new WireMockRootLayout(
+            List.of(WireMockPaths.MAPPINGS_DIRECTORY), List.of(WireMockPaths.FILES_DIRECTORY));
+
+    private final WireMockLayoutPatterns patterns;
+
+    /**
+     * Compiles the given patterns. Blank patterns are ignored, and leading or trailing slashes are removed.
+     *
+     * @param mappingsPatterns The patterns of mappings directories
+     * @param filesPatterns The patterns of body file directories, in lookup order
+     */
+    public WireMockRootLayout(@NotNull List<String> mappingsPatterns, @NotNull List<String> filesPatterns) {
+        this.patterns = new WireMockLayoutPatterns(mappingsPatterns, filesPatterns);
+    }
+
+    /**
+     * Gets the compiled patterns, to match paths outside the VFS.
+     */
+    public @NotNull WireMockLayoutPatterns getPatterns() {
+        return patterns;
+    }
+
+    public @NotNull List<String> getMappingsPatterns() {
+        return patterns.getMappingsPatterns();
+    }
+
+    public @NotNull List<String> getFilesPatterns() {
+        return patterns.getFilesPatterns();
+    }
+
+    /**
+     * Gets the pattern used to create a body file directory next to a mappings directory that has none.
+     */
+    public @NotNull String getDefaultFilesPattern() {
+        return patterns.getFilesPatterns().get(0);
+    }
+
+    /**
+     * Gets the last segments of all patterns, i.e. the names of the directories that can start a WireMock root.
+     */
+    public @NotNull Set<String> getDirectoryNames() {
+        return patterns.getDirectoryNames();
+    }
+
+    /**
+     * Checks if the given directory matches a mappings pattern.
+     */
+    public boolean isMappingsDirectory(@NotNull VirtualFile dir) {
+        return patterns.matchMappingsDirectory(dir, VirtualFile::getName, VirtualFile::getParent) >= 0;
+    }
+
+    /**
+     * Checks if the given directory matches a body file directory pattern.
+     */
+    public boolean isFilesDirectory(@NotNull VirtualFile dir) {
+        return patterns.matchFilesDirectory(dir, VirtualFile::getName, VirtualFile::getParent) >= 0;
+    }
+
+    /**
+     * Finds the innermost mappings directory containing the given file.
+     *
+     * @param file The file to start from
+     * @return The mappings directory, or null if the file is not located under one
+     */
+    public @Nullable VirtualFile findMappingsDirectory(@Nullable VirtualFile file) {
+        VirtualFile parent = file != null ? file.getParent() : null;
+        while (parent != null) {
+            if (isMappingsDirectory(parent)) return parent;
+            parent = parent.getParent();
+        }
+        return null;
+    }
+
+    /**
+     * Finds the innermost body file directory containing the given file.
+     *
+     * @param file The file to start from
+     * @return The body file directory, or null if the file is not located under one
+     */
+    public @Nullable VirtualFile findFilesDirectoryOf(@Nullable VirtualFile file) {
+        VirtualFile parent = file != null ? file.getParent() : null;
+        while (parent != null) {
+            if (isFilesDirectory(parent)) return parent;
+            parent = parent.getParent();
+        }
+        return null;
+    }
+
+    /**
+     * Finds the body file directory of a mappings directory by looking for a pattern in the mappings directory itself
+     * first and then in each of its parents, so a nested directory such as mappings/__files wins over a sibling one.
+     *
+     * @param mappingsDir The mappings directory
+     * @return The body file directory if found, null otherwise
+     */
+    public @Nullable VirtualFile findFilesDirectory(@NotNull VirtualFile mappingsDir) {
+        VirtualFile currentDir = mappingsDir;
+        while (currentDir != null) {
+            for (String pattern : patterns.getFilesPatterns()) {
+                VirtualFile filesDir = currentDir.findFileByRelativePath(pattern);
+                if (filesDir != null && filesDir.isDirectory()) {
+                    return filesDir;
+                }
+            }
+            currentDir = currentDir.getParent();
+        }
+        return null;
+    }
+
+    /**
+     * Finds the mappings directory next to a body file directory, i.e. under the same parent directory.
+     *
+     * @param filesDir The body file directory
+     * @return The mappings directory if found, null otherwise
+     */
+    public @Nullable VirtualFile findSiblingMappingsDirectory(@NotNull VirtualFile filesDir) {
+        // Go up to the directory the body file directory pattern starts in
+        int depth = patterns.matchFilesDirectory(filesDir, VirtualFile::getName, VirtualFile::getParent);
+        VirtualFile rootDir = filesDir;
+        for (int i = 0; i < depth && rootDir != null; i++) {
+            rootDir = rootDir.getParent();
+        }
+        if (depth < 0 || rootDir == null) return null;
+
+        for (String mappingsPattern : patterns.getMappingsPatterns()) {
+            VirtualFile mappingsDir = rootDir.findFileByRelativePath(mappingsPattern);
+            if (mappingsDir != null && mappingsDir.isDirectory()) {
+                return mappingsDir;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the given file is a JSON file under a mappings directory.
+     */
+    public boolean isMappingFile(@Nullable VirtualFile file) {
+        return file != null && WireMockPaths.isJsonFileName(file.getName()) && findMappingsDirectory(file) != null;
+    }
+
+    /**
+     * Checks if the given file is located under a body file directory.
+     */
+    public boolean isBodyFile(@Nullable VirtualFile file) {
+        return findFilesDirectoryOf(file) != null;
+    }
+
+    /**
+     * Gets the path of the directory containing the outermost matched mappings or body file directory of a path,
+     * e.g. "/project/wiremock" for "/project/wiremock/mappings/users/get.json".
+     *
+     * @param path A VFS path
+     * @return The root path, or null if the path is not located in a WireMock directory
+     */
+    public @Nullable String getRootPath(@NotNull String path) {
+        return patterns.getRootPath(path);
+    }
+
+    /**
+     * Checks if the given directory name is the last segment of any pattern.
+     */
+    public boolean isDirectoryName(@NotNull String name) {
+        return patterns.isDirectoryName(name);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WireMockRootLayout other)) return false;
+        return patterns.equals(other.patterns);
+    }
+
+    @Override
+    public int hashCode() {
+        return patterns.hashCode();
+    }
+}
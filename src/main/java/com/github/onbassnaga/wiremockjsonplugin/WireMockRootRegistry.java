@@ -0,0 +1,384 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.VirtualFileVisitor;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.NewVirtualFile;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.psi.search.FilenameIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Project level registry of WireMock roots.
+ * The root of a file is looked up once per directory and remembered, so checking whether a file belongs to a
+ * WireMock root is a single map lookup for every file after the first one in the same directory.
+ * The roots are discovered once and kept until a root directory changes. Directory changes only drop the
+ * remembered directories below the changed directory and those of the roots it affects, and files created in or
+ * deleted from existing WireMock directories keep the registry intact. The number of remembered directories is
+ * bounded, when the bound is reached they are dropped and looked up again.
+ * Directory names follow the {@link WireMockRootLayout} configured in {@link WireMockLayoutSettings}.
+ */
+@Service(Service.Level.PROJECT)
+public final class WireMockRootRegistry implements Disposable {
+
+    private static final int MAX_DIRECTORIES = 50_000;
+
+    private final Project project;
+    private final Map<VirtualFile, Optional<Location>> directoryLocations = new ConcurrentHashMap<>();
+    private final AtomicLong rootsModificationCount = new AtomicLong();
+    private volatile List<WireMockRoot> roots;
+
+    public WireMockRootRegistry(Project project) {
+        this.project = project;
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends @NotNull VFileEvent> events) {
+                update(events);
+            }
+        });
+    }
+
+    public static WireMockRootRegistry getInstance(Project project) {
+        return project.getService(WireMockRootRegistry.class);
+    }
+
+    /**
+     * Finds the WireMock root the given file belongs to.
+     *
+     * @param file The file to check
+     * @return The WireMock root if the file is located under a "mappings" or "__files" directory, null otherwise
+     */
+    public @Nullable WireMockRoot findRoot(@Nullable VirtualFile file) {
+        Location location = findLocation(file);
+        return location != null ? location.root : null;
+    }
+
+    /**
+     * Finds the WireMock root of a mapping file or of a directory inside a "mappings" directory.
+     *
+     * @param file The file or directory to check
+     * @return The WireMock root if the file is on the mappings side of a root, null otherwise
+     */
+    public @Nullable WireMockRoot findMappingsRoot(@Nullable VirtualFile file) {
+        if (file == null) return null;
+        if (!file.isDirectory() && !"json".equalsIgnoreCase(file.getExtension())) return null;
+
+        Location location = findLocation(file);
+        return location != null && location.mappings ? location.root : null;
+    }
+
+    /**
+     * Checks if the given file is a WireMock mapping file.
+     *
+     * @param file The file to check
+     * @return true if the file is a JSON file under a "mappings" directory, false otherwise
+     */
+    public boolean isMappingFile(@Nullable VirtualFile file) {
+        if (file == null || !"json".equalsIgnoreCase(file.getExtension())) return false;
+
+        Location location = findLocation(file);
+        return location != null && location.mappings;
+    }
+
+    /**
+     * Checks if the given file is a WireMock body file.
+     *
+     * @param file The file to check
+     * @return true if the file is under a "__files" directory, false otherwise
+     */
+    public boolean isBodyFile(@Nullable VirtualFile file) {
+        Location location = findLocation(file);
+        return location != null && !location.mappings;
+    }
+
+    /**
+     * Gets all WireMock roots of the project.
+     * Discovered once from the file name index and cached until a root directory changes.
+     * Must be called in smart mode.
+     *
+     * @return The WireMock roots of the project
+     */
+    public @NotNull List<WireMockRoot> getRoots() {
+        List<WireMockRoot> result = roots;
+        if (result == null) {
+            result = Collections.unmodifiableList(discoverRoots());
+            roots = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the mappings directories whose bodyFileName values are resolved against the given body file directory.
+     * Usually this is a single directory, but several mappings directories can share one body file directory.
+     * Must be called in smart mode.
+     *
+     * @param root The root of the body file directory
+     * @return The mappings directories of all roots sharing the body file directory of the given root
+     */
+    public @NotNull List<VirtualFile> getMappingsDirectories(@NotNull WireMockRoot root) {
+        List<VirtualFile> result = new ArrayList<>();
+        if (root.getMappingsDir() != null) {
+            result.add(root.getMappingsDir());
+        }
+        if (root.getFilesDir() == null) return result;
+
+        for (WireMockRoot other : getRoots()) {
+            if (root.getFilesDir().equals(other.getFilesDir()) && other.getMappingsDir() != null && !result.contains(other.getMappingsDir())) {
+                result.add(other.getMappingsDir());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets a search scope of the mapping files that can reference the body files of a root.
+     * Must be called in smart mode.
+     *
+     * @param root The WireMock root
+     * @return The scope of all mappings directories sharing the body file directory of the root
+     */
+    public @NotNull GlobalSearchScope getMappingFilesScope(@NotNull WireMockRoot root) {
+        List<VirtualFile> mappingsDirs = getMappingsDirectories(root);
+        if (mappingsDirs.isEmpty()) return GlobalSearchScope.EMPTY_SCOPE;
+
+        GlobalSearchScope[] scopes = new GlobalSearchScope[mappingsDirs.size()];
+        for (int i = 0; i < scopes.length; i++) {
+            scopes[i] = GlobalSearchScopesCore.directoryScope(project, mappingsDirs.get(i), true);
+        }
+        return GlobalSearchScope.union(scopes);
+    }
+
+    /**
+     * Gets a counter that is incremented whenever the roots are dropped, so views of the roots know when to reload them.
+     */
+    public long getRootsModificationCount() {
+        return rootsModificationCount.get();
+    }
+
+    /**
+     * Drops all cached roots. They are discovered again on the next lookup.
+     */
+    public void clear() {
+        directoryLocations.clear();
+        roots = null;
+        rootsModificationCount.incrementAndGet();
+    }
+
+    /**
+     * Drops the remembered directories and roots affected by directory changes.
+     * A created layout directory affects the roots around it, since body file directories are looked up upwards
+     * from mappings directories. A deleted, moved, renamed or copied directory affects the directories below it.
+     */
+    private void update(@NotNull List<? extends VFileEvent> events) {
+        WireMockRootLayout layout = getLayout();
+        List<VirtualFile> changedDirs = new ArrayList<>();
+        List<String> createdRootPaths = new ArrayList<>();
+        boolean rootsChanged = false;
+        for (VFileEvent event : events) {
+            if (!WireMockVfsListener.isRootStructureChange(event, layout)) continue;
+
+            if (event instanceof VFileCreateEvent) {
+                String rootPath = layout.getRootPath(event.getPath());
+                if (rootPath != null) {
+                    createdRootPaths.add(rootPath);
+                    rootsChanged = true;
+                }
+                continue;
+            }
+
+            VirtualFile dir = event instanceof VFileCopyEvent copyEvent ? copyEvent.findCreatedFile() : event.getFile();
+            if (dir == null) continue;
+
+            // Moved, renamed or copied directories can bring roots to their new location
+            changedDirs.add(dir);
+            rootsChanged |= !(event instanceof VFileDeleteEvent) && dir.isValid() && containsLayoutDirectory(layout, dir);
+        }
+        if (changedDirs.isEmpty() && createdRootPaths.isEmpty()) return;
+
+        directoryLocations.entrySet().removeIf(entry -> isAffected(entry.getKey(), changedDirs)
+                || entry.getValue().map(location -> isAffected(location.root, changedDirs, createdRootPaths)).orElse(false));
+
+        List<WireMockRoot> current = roots;
+        if (rootsChanged || current != null && current.stream().anyMatch(root -> isAffected(root, changedDirs, createdRootPaths))) {
+            roots = null;
+            rootsModificationCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Checks if a directory was deleted, or is located in one of the changed directories.
+     */
+    private static boolean isAffected(@NotNull VirtualFile dir, @NotNull List<VirtualFile> changedDirs) {
+        if (!dir.isValid()) return true;
+
+        for (VirtualFile changedDir : changedDirs) {
+            if (changedDir.isValid() && VfsUtilCore.isAncestor(changedDir, dir, false)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a directory of a root is affected by the changed directories or located below a created root path.
+     */
+    private static boolean isAffected(@NotNull WireMockRoot root, @NotNull List<VirtualFile> changedDirs, @NotNull List<String> createdRootPaths) {
+        for (VirtualFile dir : new VirtualFile[]{root.getMappingsDir(), root.getFilesDir()}) {
+            if (dir == null) continue;
+            if (isAffected(dir, changedDirs)) return true;
+
+            for (String rootPath : createdRootPaths) {
+                if (FileUtil.isAncestor(rootPath, dir.getPath(), false)) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a directory or one of its subdirectories that are already loaded in the VFS is a layout directory.
+     */
+    private static boolean containsLayoutDirectory(@NotNull WireMockRootLayout layout, @NotNull VirtualFile dir) {
+        boolean[] found = new boolean[1];
+        VfsUtilCore.visitChildrenRecursively(dir, new VirtualFileVisitor<Void>(VirtualFileVisitor.NO_FOLLOW_SYMLINKS) {
+            @Override
+            public @NotNull Result visitFileEx(@NotNull VirtualFile file) {
+                if (!file.isDirectory()) return SKIP_CHILDREN;
+                if (layout.isMappingsDirectory(file) || layout.isFilesDirectory(file)) {
+                    found[0] = true;
+                    return skipTo(dir);
+                }
+                return CONTINUE;
+            }
+
+            @Override
+            public @Nullable Iterable<VirtualFile> getChildrenIterable(@NotNull VirtualFile file) {
+                return file instanceof NewVirtualFile newFile ? newFile.getCachedChildren() : null;
+            }
+        });
+        return found[0];
+    }
+
+    @Override
+    public void dispose() {
+        clear();
+    }
+
+    private @Nullable Location findLocation(@Nullable VirtualFile file) {
+        if (file == null) return null;
+
+        VirtualFile dir = file.isDirectory() ? file : file.getParent();
+        if (dir == null) return null;
+
+        Optional<Location> location = directoryLocations.get(dir);
+        WireMockMetrics.getInstance().recordLookup(WireMockMetrics.Cache.ROOT_DIRECTORIES, location != null);
+        if (location == null) {
+            location = Optional.ofNullable(computeLocation(dir));
+            if (directoryLocations.size() >= MAX_DIRECTORIES) {
+                directoryLocations.clear();
+            }
+            directoryLocations.put(dir, location);
+        }
+        return location.orElse(null);
+    }
+
+    private @Nullable Location computeLocation(@NotNull VirtualFile dir) {
+        // Reuse the result of the parent directory when it is already known
+        WireMockRootLayout layout = getLayout();
+        VirtualFile current = dir;
+        while (current != null) {
+            if (layout.isMappingsDirectory(current)) {
+                return new Location(createRootForMappingsDir(layout, current), true);
+            }
+            if (layout.isFilesDirectory(current)) {
+                return new Location(createRootForFilesDir(layout, current), false);
+            }
+
+            VirtualFile parent = current.getParent();
+            Optional<Location> known = parent != null ? directoryLocations.get(parent) : null;
+            if (known != null) {
+                return known.orElse(null);
+            }
+            current = parent;
+        }
+        return null;
+    }
+
+    private @NotNull List<WireMockRoot> discoverRoots() {
+        WireMockRootLayout layout = getLayout();
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        List<VirtualFile> mappingsDirs = new ArrayList<>();
+        List<VirtualFile> filesDirs = new ArrayList<>();
+        for (String name : layout.getDirectoryNames()) {
+            for (VirtualFile dir : FilenameIndex.getVirtualFilesByName(name, scope)) {
+                if (!dir.isDirectory()) continue;
+
+                if (layout.isMappingsDirectory(dir)) {
+                    mappingsDirs.add(dir);
+                } else if (layout.isFilesDirectory(dir)) {
+                    filesDirs.add(dir);
+                }
+            }
+        }
+
+        // Body file directories only get a root of their own if no mappings directory uses them
+        Set<WireMockRoot> result = new LinkedHashSet<>();
+        Set<VirtualFile> usedFilesDirs = new HashSet<>();
+        for (VirtualFile mappingsDir : mappingsDirs) {
+            WireMockRoot root = createRootForMappingsDir(layout, mappingsDir);
+            result.add(root);
+            usedFilesDirs.add(root.getFilesDir());
+        }
+        for (VirtualFile filesDir : filesDirs) {
+            if (!usedFilesDirs.contains(filesDir)) {
+                result.add(createRootForFilesDir(layout, filesDir));
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    private @NotNull WireMockRootLayout getLayout() {
+        return WireMockLayoutSettings.getInstance(project).getLayout();
+    }
+
+    private static @NotNull WireMockRoot createRootForMappingsDir(@NotNull WireMockRootLayout layout, @NotNull VirtualFile mappingsDir) {
+        return new WireMockRoot(mappingsDir, layout.findFilesDirectory(mappingsDir));
+    }
+
+    private static @NotNull WireMockRoot createRootForFilesDir(@NotNull WireMockRootLayout layout, @NotNull VirtualFile filesDir) {
+        return new WireMockRoot(layout.findSiblingMappingsDirectory(filesDir), filesDir);
+    }
+
+    /**
+     * The WireMock root of a directory and whether the directory is on the mappings side of it.
+     */
+    private static final class Location {
+        private final WireMockRoot root;
+        private final boolean mappings;
+
+        private Location(WireMockRoot root, boolean mappings) {
+            this.root = root;
+            this.mappings = mappings;
+        }
+    }
+}
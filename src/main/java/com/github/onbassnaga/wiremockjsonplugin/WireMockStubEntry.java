@@ -0,0 +1,133 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Index value describing a stub that references a body file.
+ * Stores where the stub and its bodyFileName value are located, so navigation does not need to parse the mapping file.
+ */
+public final class WireMockStubEntry {
+
+    private final int index;
+    private final int stubCount;
+    private final int offset;
+    private final int bodyFileNameOffset;
+    private final String id;
+    private final String name;
+
+    public WireMockStubEntry(int index, int stubCount, int offset, int bodyFileNameOffset, @Nullable String id,
+                             @Nullable String name) {
+        this.index = index;
+        this.stubCount = stubCount;
+        this.offset = offset;
+        this.bodyFileNameOffset = bodyFileNameOffset;
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * Gets the position of the stub in its mapping file, starting at 0.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the number of stubs in the mapping file of the stub.
+     */
+    public int getStubCount() {
+        return stubCount;
+    }
+
+    /**
+     * Gets the offset of the opening brace of the stub.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the offset of the bodyFileName value in the stub.
+     */
+    public int getBodyFileNameOffset() {
+        return bodyFileNameOffset;
+    }
+
+    public @Nullable String getId() {
+        return id;
+    }
+
+    public @Nullable String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WireMockStubEntry other)) return false;
+        return index == other.index && stubCount == other.stubCount && offset == other.offset && bodyFileNameOffset == other.bodyFileNameOffset
+                && Objects.equals(id, other.id) && Objects.equals(name, other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, stubCount, offset, bodyFileNameOffset, id, name);
+    }
+
+    /**
+     * Externalizer for lists of stub entries.
+     */
+    public static final class ListExternalizer implements DataExternalizer<List<WireMockStubEntry>> {
+
+        @Override
+        public void save(@NotNull DataOutput out, List<WireMockStubEntry> entries) throws IOException {
+            DataInputOutputUtil.writeINT(out, entries.size());
+            for (WireMockStubEntry entry : entries) {
+                DataInputOutputUtil.writeINT(out, entry.index);
+                DataInputOutputUtil.writeINT(out, entry.stubCount);
+                DataInputOutputUtil.writeINT(out, entry.offset);
+                DataInputOutputUtil.writeINT(out, entry.bodyFileNameOffset);
+                writeNullableString(out, entry.id);
+                writeNullableString(out, entry.name);
+            }
+        }
+
+        @Override
+        public List<WireMockStubEntry> read(@NotNull DataInput in) throws IOException {
+            int size = DataInputOutputUtil.readINT(in);
+            List<WireMockStubEntry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int index = DataInputOutputUtil.readINT(in);
+                int stubCount = DataInputOutputUtil.readINT(in);
+                int offset = DataInputOutputUtil.readINT(in);
+                int bodyFileNameOffset = DataInputOutputUtil.readINT(in);
+                String id = readNullableString(in);
+                String name = readNullableString(in);
+                entries.add(new WireMockStubEntry(index, stubCount, offset, bodyFileNameOffset, id, name));
+            }
+            return entries;
+        }
+
+        private static void writeNullableString(DataOutput out, @Nullable String value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                IOUtil.writeUTF(out, value);
+            }
+        }
+
+        private static @Nullable String readNullableString(DataInput in) throws IOException {
+            return in.readBoolean() ? IOUtil.readUTF(in) : null;
+        }
+    }
+}
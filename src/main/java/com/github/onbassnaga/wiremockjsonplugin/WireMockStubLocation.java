@@ -0,0 +1,68 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * A stub in a specific mapping file, as found in the index.
+ */
+public final class WireMockStubLocation {
+
+    private final VirtualFile mappingFile;
+    private final WireMockStubEntry entry;
+
+    public WireMockStubLocation(@NotNull VirtualFile mappingFile, @NotNull WireMockStubEntry entry) {
+        this.mappingFile = mappingFile;
+        this.entry = entry;
+    }
+
+    public @NotNull VirtualFile getMappingFile() {
+        return mappingFile;
+    }
+
+    public @NotNull WireMockStubEntry getEntry() {
+        return entry;
+    }
+
+    /**
+     * Gets the text to show for this stub, i.e. the mapping file name and the name or id of the stub.
+     * Unnamed stubs of files with several stubs are shown by their position.
+     */
+    public @NotNull String getPresentableText() {
+        String label = StringUtil.isNotEmpty(entry.getName()) ? entry.getName() : entry.getId();
+        if (StringUtil.isNotEmpty(label)) {
+            return mappingFile.getName() + " - " + label;
+        }
+        return entry.getStubCount() > 1 ? mappingFile.getName() + " - stub #" + (entry.getIndex() + 1) : mappingFile.getName();
+    }
+
+    /**
+     * Opens the mapping file in the editor at the bodyFileName value of this stub.
+     */
+    public void navigate(@NotNull Project project) {
+        if (!mappingFile.isValid()) return;
+
+        FileEditorManager.getInstance(project).openTextEditor(
+                new OpenFileDescriptor(project, mappingFile, entry.getBodyFileNameOffset()),
+                true
+        );
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WireMockStubLocation other)) return false;
+        return mappingFile.equals(other.mappingFile) && entry.equals(other.entry);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mappingFile, entry);
+    }
+}
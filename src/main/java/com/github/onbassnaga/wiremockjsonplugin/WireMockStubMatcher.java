@@ -0,0 +1,479 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.json.JsonLanguage;
+import com.intellij.json.psi.JsonArray;
+import com.intellij.json.psi.JsonBooleanLiteral;
+import com.intellij.json.psi.JsonFile;
+import com.intellij.json.psi.JsonNullLiteral;
+import com.intellij.json.psi.JsonNumberLiteral;
+import com.intellij.json.psi.JsonObject;
+import com.intellij.json.psi.JsonProperty;
+import com.intellij.json.psi.JsonStringLiteral;
+import com.intellij.json.psi.JsonValue;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Compiled request matcher of a single WireMock stub.
+ * Supports the method, the URL matchers, header and query parameter patterns and body patterns with
+ * WireMock's string value matchers (equalTo, contains, doesNotContain, matches, doesNotMatch, absent, and, or)
+ * as well as equalToJson. Matchers this class does not support fail with a "not evaluated" criterion, so such a stub is
+ * never reported as the winner. JSON values are compared as plain Java objects, so no PSI is kept in compiled matchers.
+ */
+public final class WireMockStubMatcher {
+
+    private static final int MAX_CANDIDATES = 1000;
+
+    /**
+     * Marks JSON that could not be parsed, distinct from a JSON null.
+     */
+    private static final Object INVALID = new Object();
+
+    /**
+     * The last parsed JSON body. All stubs are evaluated against the same request, so its body is parsed only once.
+     */
+    private static volatile ParsedJson lastParsedJson;
+
+    private final int priority;
+    private final List<Criterion> criteria;
+    private final List<String> notEvaluated;
+
+    private WireMockStubMatcher(int priority, List<Criterion> criteria, List<String> notEvaluated) {
+        this.priority = priority;
+        this.criteria = criteria;
+        this.notEvaluated = notEvaluated;
+    }
+
+    /**
+     * Evaluates the stubs of a WireMock root against a request.
+     * Stubs that can win are the ones whose method and URL matcher match the request, found with {@link WireMockRequestIndex}.
+     * Stubs of the same and of sibling paths and stubs with URL patterns are evaluated as well, so stubs that only
+     * differ in method, URL, headers, query parameters or body are returned as near misses.
+     * Must be called in a read action in smart mode.
+     *
+     * @param project The current project
+     * @param root The root whose mapping files are searched, including the roots sharing its body file directory
+     * @param request The request to evaluate
+     * @return The results ordered by {@link WireMockMatchResult#ORDER}, the first one is the stub that answers the request if it matches
+     */
+    public static @NotNull List<WireMockMatchResult> findMatches(@NotNull Project project, @NotNull WireMockRoot root,
+                                                                 @NotNull WireMockRequest request) {
+        GlobalSearchScope scope = WireMockRootRegistry.getInstance(project).getMappingFilesScope(root);
+
+        // All stubs that can win, then nearby stubs for the near misses up to a limit
+        Set<WireMockRequestLocation> candidates = new LinkedHashSet<>();
+        WireMockRequestIndex.processMatchingStubs(request.getMethod(), request.getUrl(), scope, location -> {
+            ProgressManager.checkCanceled();
+            candidates.add(location);
+            return true;
+        });
+        int winners = candidates.size();
+        WireMockRequestIndex.processNearbyStubs(request.getUrl(), scope, location -> {
+            ProgressManager.checkCanceled();
+            candidates.add(location);
+            return candidates.size() < winners + MAX_CANDIDATES;
+        });
+
+        List<WireMockMatchResult> results = new ArrayList<>();
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (WireMockRequestLocation location : candidates) {
+            ProgressManager.checkCanceled();
+            PsiFile psiFile = location.getMappingFile().isValid() ? psiManager.findFile(location.getMappingFile()) : null;
+            WireMockStubMatcher matcher = psiFile != null ? getMatcher(psiFile, location.getEntry().getOffset()) : null;
+            if (matcher != null) {
+                results.add(matcher.match(location, request));
+            }
+        }
+        results.sort(WireMockMatchResult.ORDER);
+        return results;
+    }
+
+    /**
+     * Gets the cached matcher of the stub at the given offset of a mapping file.
+     * Mapping files above the large file threshold have no JSON PSI, their stub is compiled from its text instead.
+     *
+     * @param psiFile The mapping file
+     * @param offset The start offset of the stub object
+     * @return The matcher, or null if there is no stub at the offset
+     */
+    public static @Nullable WireMockStubMatcher getMatcher(@NotNull PsiFile psiFile, int offset) {
+        Map<Integer, Optional<WireMockStubMatcher>> cache = CachedValuesManager.getCachedValue(psiFile, () ->
+                CachedValueProvider.Result.create(new ConcurrentHashMap<>(), psiFile));
+
+        return cache.computeIfAbsent(offset, key -> {
+            if (!(psiFile instanceof JsonFile)) {
+                return Optional.ofNullable(compileText(psiFile.getProject(), psiFile.getViewProvider().getContents(), key));
+            }
+            JsonObject stub = PsiTreeUtil.getParentOfType(psiFile.findElementAt(key), JsonObject.class, false);
+            return stub != null && stub.getTextOffset() == key ? Optional.of(compile(stub)) : Optional.empty();
+        }).orElse(null);
+    }
+
+    /**
+     * Compiles the stub at the given offset of mapping file text. Only the text of the stub is parsed,
+     * so recorded mapping files with many stubs or large inline bodies never get a PSI tree of the whole file.
+     *
+     * @param project The current project
+     * @param text The text of the mapping file
+     * @param offset The offset of the opening brace of the stub
+     * @return The matcher, or null if there is no stub at the offset
+     */
+    private static @Nullable WireMockStubMatcher compileText(@NotNull Project project, @NotNull CharSequence text, int offset) {
+        if (offset < 0 || offset >= text.length() || text.charAt(offset) != '{') return null;
+
+        int end = WireMockJsonScanner.skipValue(text, offset);
+        JsonFile file = (JsonFile) PsiFileFactory.getInstance(project).createFileFromText(
+                "stub.json", JsonLanguage.INSTANCE, text.subSequence(offset, end));
+        return file.getTopLevelValue() instanceof JsonObject stub ? compile(stub) : null;
+    }
+
+    /**
+     * Compiles the request matcher of the given stub.
+     *
+     * @param stub The JSON object of the stub
+     * @return The compiled matcher
+     */
+    public static @NotNull WireMockStubMatcher compile(@NotNull JsonObject stub) {
+        List<Criterion> criteria = new ArrayList<>();
+        List<String> notEvaluated = new ArrayList<>();
+
+        Integer priority = getInt(stub.findProperty("priority"));
+        if (stub.findProperty("scenarioName") != null) {
+            notEvaluated.add("scenario state");
+        }
+
+        JsonValue request = getValue(stub, "request");
+        if (request instanceof JsonObject requestObject) {
+            compileRequest(requestObject, criteria);
+        }
+
+        return new WireMockStubMatcher(priority != null ? priority : WireMockRequestIndex.DEFAULT_PRIORITY, criteria, notEvaluated);
+    }
+
+    /**
+     * Evaluates this matcher against a request.
+     *
+     * @param location The stub this matcher belongs to
+     * @param request The request to evaluate
+     * @return The result with all criteria the request does not satisfy
+     */
+    public @NotNull WireMockMatchResult match(@NotNull WireMockRequestLocation location, @NotNull WireMockRequest request) {
+        List<String> failures = new ArrayList<>();
+        for (Criterion criterion : criteria) {
+            if (!criterion.predicate.test(request)) {
+                failures.add(criterion.description);
+            }
+        }
+        return new WireMockMatchResult(location, priority, criteria.size(), failures, notEvaluated);
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    private static void compileRequest(JsonObject request, List<Criterion> criteria) {
+        String method = getString(request.findProperty("method"));
+        if (method != null && !"ANY".equalsIgnoreCase(method)) {
+            criteria.add(new Criterion("method " + method, r -> method.equalsIgnoreCase(r.getMethod())));
+        }
+
+        for (String urlMatcher : WireMockJsonScanner.URL_MATCHERS) {
+            String url = getString(request.findProperty(urlMatcher));
+            if (url == null) continue;
+
+            WireMockRequestEntry entry = new WireMockRequestEntry(0, 0, method, urlMatcher, url, null, 0);
+            criteria.add(new Criterion(urlMatcher + " " + url, r -> WireMockRequestIndex.matchesUrl(entry, r.getUrl(), r.getPath())));
+        }
+
+        compileNamedPatterns(request, "headers", "header", WireMockRequest::getHeaders, criteria);
+        compileNamedPatterns(request, "queryParameters", "query parameter", WireMockRequest::getQueryParameters, criteria);
+
+        JsonValue bodyPatterns = getValue(request, "bodyPatterns");
+        if (bodyPatterns instanceof JsonArray array) {
+            for (JsonValue bodyPattern : array.getValueList()) {
+                if (!(bodyPattern instanceof JsonObject patternObject)) continue;
+
+                Predicate<String> predicate = compileValuePattern(request.getProject(), patternObject);
+                criteria.add(createCriterion("body " + describe(patternObject), predicate, r -> r.getBody()));
+            }
+        }
+
+        for (String unsupported : List.of("cookies", "basicAuthCredentials", "multipartPatterns", "customMatcher")) {
+            if (request.findProperty(unsupported) != null) {
+                criteria.add(createCriterion(unsupported, null, r -> null));
+            }
+        }
+    }
+
+    /**
+     * Creates the criterion of a value pattern. Patterns that could not be compiled always fail,
+     * since it is unknown whether WireMock would match them.
+     */
+    private static Criterion createCriterion(String description, @Nullable Predicate<String> predicate,
+                                             Function<WireMockRequest, String> value) {
+        if (predicate == null) {
+            return new Criterion(description + " (not evaluated)", r -> false);
+        }
+        return new Criterion(description, r -> predicate.test(value.apply(r)));
+    }
+
+    /**
+     * Compiles the patterns of named values such as headers. Like WireMock, a pattern matches a value that is given
+     * several times if any of its values matches, and the pattern receives null if the value is not given at all.
+     */
+    private static void compileNamedPatterns(JsonObject request, String propertyName, String description,
+                                             NamedValueGetter getter, List<Criterion> criteria) {
+        JsonValue patterns = getValue(request, propertyName);
+        if (!(patterns instanceof JsonObject patternsObject)) return;
+
+        for (JsonProperty property : patternsObject.getPropertyList()) {
+            if (!(property.getValue() instanceof JsonObject patternObject)) continue;
+
+            String name = property.getName();
+            String criterionDescription = description + " " + name + " " + describe(patternObject);
+            Predicate<String> predicate = compileValuePattern(request.getProject(), patternObject);
+            if (predicate == null) {
+                criteria.add(createCriterion(criterionDescription, null, r -> null));
+                continue;
+            }
+            criteria.add(new Criterion(criterionDescription, r -> {
+                List<String> values = getter.get(r, name);
+                return values.isEmpty() ? predicate.test(null) : values.stream().anyMatch(predicate);
+            }));
+        }
+    }
+
+    /**
+     * Compiles a WireMock string value pattern. The returned predicate receives null for absent values.
+     *
+     * @return The predicate, or null if the pattern is not supported or invalid
+     */
+    private static @Nullable Predicate<String> compileValuePattern(Project project, JsonObject pattern) {
+        boolean caseInsensitive = Boolean.TRUE.equals(getBoolean(pattern.findProperty("caseInsensitive")));
+        for (JsonProperty property : pattern.getPropertyList()) {
+            String operator = property.getName();
+            JsonValue value = property.getValue();
+            String expected = value instanceof JsonStringLiteral ? ((JsonStringLiteral) value).getValue() : null;
+
+            switch (operator) {
+                case "equalTo":
+                    if (expected == null) break;
+                    return actual -> actual != null && (caseInsensitive ? expected.equalsIgnoreCase(actual) : expected.equals(actual));
+                case "contains":
+                    if (expected == null) break;
+                    return actual -> actual != null && actual.contains(expected);
+                case "doesNotContain":
+                    if (expected == null) break;
+                    return actual -> actual == null || !actual.contains(expected);
+                case "matches":
+                    if (expected == null) break;
+                    return actual -> actual != null && WireMockPatterns.matches(expected, actual);
+                case "doesNotMatch":
+                    if (expected == null) break;
+                    return actual -> actual == null || !WireMockPatterns.matches(expected, actual);
+                case "absent":
+                    return Objects::isNull;
+                case "and":
+                case "or":
+                    List<Predicate<String>> operands = compileOperands(project, value);
+                    if (operands == null) break;
+                    return "and".equals(operator)
+                            ? actual -> operands.stream().allMatch(operand -> operand.test(actual))
+                            : actual -> operands.stream().anyMatch(operand -> operand.test(actual));
+                case "equalToJson":
+                    return compileEqualToJson(project, pattern, value);
+                case "caseInsensitive":
+                case "ignoreArrayOrder":
+                case "ignoreExtraElements":
+                    continue;
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
+    private static @Nullable List<Predicate<String>> compileOperands(Project project, JsonValue value) {
+        if (!(value instanceof JsonArray array)) return null;
+
+        List<Predicate<String>> operands = new ArrayList<>();
+        for (JsonValue operand : array.getValueList()) {
+            if (!(operand instanceof JsonObject operandObject)) return null;
+
+            Predicate<String> predicate = compileValuePattern(project, operandObject);
+            if (predicate == null) return null;
+            operands.add(predicate);
+        }
+        return operands;
+    }
+
+    private static @Nullable Predicate<String> compileEqualToJson(Project project, JsonObject pattern, JsonValue value) {
+        boolean ignoreArrayOrder = Boolean.TRUE.equals(getBoolean(pattern.findProperty("ignoreArrayOrder")));
+        boolean ignoreExtraElements = Boolean.TRUE.equals(getBoolean(pattern.findProperty("ignoreExtraElements")));
+
+        // The expected JSON is either inline or given as a string, it is converted once when the matcher is compiled
+        ParsedJson expected = value instanceof JsonStringLiteral literal ? parseJson(project, literal.getValue()) : new ParsedJson(null, toModel(value));
+        if (expected.value == INVALID) return null;
+
+        return actual -> {
+            if (actual == null) return false;
+            Object actualJson = parseJson(project, actual).value;
+            return actualJson != INVALID && jsonEquals(expected.value, actualJson, ignoreArrayOrder, ignoreExtraElements);
+        };
+    }
+
+    /**
+     * Parses JSON text to plain Java objects, see {@link #toModel}. The last result is reused for the same text.
+     */
+    private static ParsedJson parseJson(Project project, String text) {
+        ParsedJson last = lastParsedJson;
+        if (last != null && text.equals(last.text)) return last;
+
+        JsonFile file = (JsonFile) PsiFileFactory.getInstance(project).createFileFromText("body.json", JsonLanguage.INSTANCE, text);
+        JsonValue topLevelValue = file.getTopLevelValue();
+        ParsedJson parsed = new ParsedJson(text, topLevelValue != null ? toModel(topLevelValue) : INVALID);
+        lastParsedJson = parsed;
+        return parsed;
+    }
+
+    /**
+     * Converts a JSON value to maps, lists, strings, doubles, booleans and null, or {@link #INVALID}.
+     */
+    private static @Nullable Object toModel(@Nullable JsonValue value) {
+        if (value instanceof JsonObject object) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (JsonProperty property : object.getPropertyList()) {
+                result.put(property.getName(), toModel(property.getValue()));
+            }
+            return result;
+        }
+        if (value instanceof JsonArray array) {
+            List<Object> result = new ArrayList<>();
+            for (JsonValue element : array.getValueList()) {
+                result.add(toModel(element));
+            }
+            return result;
+        }
+        if (value instanceof JsonStringLiteral literal) return literal.getValue();
+        if (value instanceof JsonNumberLiteral literal) return literal.getValue();
+        if (value instanceof JsonBooleanLiteral literal) return literal.getValue();
+        if (value instanceof JsonNullLiteral) return null;
+        return INVALID;
+    }
+
+    private static boolean jsonEquals(@Nullable Object expected, @Nullable Object actual, boolean ignoreArrayOrder, boolean ignoreExtraElements) {
+        if (expected instanceof Map<?, ?> expectedObject) {
+            if (!(actual instanceof Map<?, ?> actualObject)) return false;
+
+            if (!ignoreExtraElements && expectedObject.size() != actualObject.size()) return false;
+            for (Map.Entry<?, ?> property : expectedObject.entrySet()) {
+                if (!actualObject.containsKey(property.getKey())) return false;
+                if (!jsonEquals(property.getValue(), actualObject.get(property.getKey()), ignoreArrayOrder, ignoreExtraElements)) return false;
+            }
+            return true;
+        }
+
+        if (expected instanceof List<?> expectedValues) {
+            if (!(actual instanceof List<?> actualList)) return false;
+
+            List<Object> actualValues = new ArrayList<>(actualList);
+            if (expectedValues.size() != actualValues.size()) return false;
+            for (int i = 0; i < expectedValues.size(); i++) {
+                Object expectedValue = expectedValues.get(i);
+                if (!ignoreArrayOrder) {
+                    if (!jsonEquals(expectedValue, actualValues.get(i), false, ignoreExtraElements)) return false;
+                    continue;
+                }
+                boolean found = actualValues.removeIf(new Predicate<>() {
+                    private boolean removed;
+
+                    @Override
+                    public boolean test(Object candidate) {
+                        if (removed || !jsonEquals(expectedValue, candidate, true, ignoreExtraElements)) return false;
+                        removed = true;
+                        return true;
+                    }
+                });
+                if (!found) return false;
+            }
+            return true;
+        }
+
+        return expected != INVALID && Objects.equals(expected, actual);
+    }
+
+    private static String describe(JsonObject pattern) {
+        JsonProperty first = pattern.getPropertyList().isEmpty() ? null : pattern.getPropertyList().get(0);
+        if (first == null || first.getValue() == null) return "";
+
+        String value = first.getValue() instanceof JsonStringLiteral literal ? literal.getValue() : first.getValue().getText();
+        if (value.length() > 60) {
+            value = value.substring(0, 60) + "...";
+        }
+        return first.getName() + " " + value;
+    }
+
+    private static @Nullable JsonValue getValue(JsonObject object, String name) {
+        JsonProperty property = object.findProperty(name);
+        return property != null ? property.getValue() : null;
+    }
+
+    private static @Nullable String getString(@Nullable JsonProperty property) {
+        return property != null && property.getValue() instanceof JsonStringLiteral literal ? literal.getValue() : null;
+    }
+
+    private static @Nullable Integer getInt(@Nullable JsonProperty property) {
+        return property != null && property.getValue() instanceof JsonNumberLiteral literal ? (int) literal.getValue() : null;
+    }
+
+    private static @Nullable Boolean getBoolean(@Nullable JsonProperty property) {
+        return property != null && property.getValue() instanceof JsonBooleanLiteral literal ? literal.getValue() : null;
+    }
+
+    /**
+     * JSON text and its value converted by {@link #toModel}.
+     */
+    private record ParsedJson(@Nullable String text, @Nullable Object value) {
+    }
+
+    /**
+     * Gets the values of a named value such as a header from a request, empty if it is not given.
+     */
+    private interface NamedValueGetter {
+        @NotNull List<String> get(WireMockRequest request, String name);
+    }
+
+    /**
+     * A single condition of the request matcher.
+     */
+    private static final class Criterion {
+        private final String description;
+        private final Predicate<WireMockRequest> predicate;
+
+        private Criterion(String description, Predicate<WireMockRequest> predicate) {
+            this.description = description;
+            this.predicate = predicate;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributor;
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributorFactory;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.ui.ColoredListCellRenderer;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.util.Processor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.JList;
+import javax.swing.ListCellRenderer;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Search Everywhere contributor for WireMock stubs.
+ * Finds stubs by URL, optionally preceded by a method (e.g. "GET /api/users"), using {@link WireMockRequestIndex}.
+ * Stubs with an exact URL matcher are found by prefix, stubs with a URL pattern when the pattern matches the query.
+ */
+public class WireMockStubSearchEverywhereContributor implements SearchEverywhereContributor<WireMockRequestLocation> {
+
+    private static final int MAX_RESULTS = 200;
+
+    private final Project project;
+
+    public WireMockStubSearchEverywhereContributor(@NotNull Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public @NotNull String getSearchProviderId() {
+        return WireMockStubSearchEverywhereContributor.class.getSimpleName();
+    }
+
+    @Override
+    public @NotNull String getGroupName() {
+        return "WireMock Stubs";
+    }
+
+    @Override
+    public int getSortWeight() {
+        return 500;
+    }
+
+    @Override
+    public boolean showInFindResults() {
+        return false;
+    }
+
+    @Override
+    public boolean isShownInSeparateTab() {
+        return true;
+    }
+
+    @Override
+    public void fetchElements(@NotNull String pattern, @NotNull ProgressIndicator progressIndicator,
+                              @NotNull Processor<? super WireMockRequestLocation> consumer) {
+        // Split an optional method from the URL, e.g. "GET /api/users"
+        String query = pattern.trim();
+        String method = null;
+        int space = query.indexOf(' ');
+        if (space > 0) {
+            method = query.substring(0, space).toUpperCase(Locale.ROOT);
+            query = query.substring(space + 1).trim();
+        }
+        if (!query.startsWith("/")) return;
+
+        String finalMethod = method;
+        String url = query;
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        // Kept across attempts, so a search restarted by a write action does not report stubs twice
+        Set<WireMockRequestLocation> found = new HashSet<>();
+        Processor<WireMockRequestLocation> processor = location -> {
+            ProgressManager.checkCanceled();
+            if (found.add(location) && !consumer.process(location)) return false;
+            return found.size() < MAX_RESULTS;
+        };
+
+        // The index scan gives way to write actions, so typing in the editor is not held up by the search
+        while (!progressIndicator.isCanceled()) {
+            ProgressIndicatorUtils.yieldToPendingWriteActions();
+            boolean completed = ProgressIndicatorUtils.runInReadActionWithWriteActionPriority(() -> {
+                if (project.isDisposed() || DumbService.isDumb(project)) return;
+
+                // Exact URLs by prefix first, then the patterns that match the query as a complete URL
+                if (WireMockRequestIndex.processStubsByPrefix(finalMethod, url, scope, processor)) {
+                    WireMockRequestIndex.processMatchingStubs(finalMethod, url, scope, location ->
+                            location.getEntry().getUrlMatcher() == null || processor.process(location));
+                }
+            }, progressIndicator);
+            if (completed) return;
+        }
+    }
+
+    @Override
+    public boolean processSelectedItem(@NotNull WireMockRequestLocation selected, int modifiers, @NotNull String searchText) {
+        selected.navigate(project);
+        return true;
+    }
+
+    @Override
+    public @NotNull ListCellRenderer<? super WireMockRequestLocation> getElementsRenderer() {
+        return new ColoredListCellRenderer<>() {
+            @Override
+            protected void customizeCellRenderer(@NotNull JList<? extends WireMockRequestLocation> list, WireMockRequestLocation value,
+                                                 int index, boolean selected, boolean hasFocus) {
+                append(value.getPresentableText());
+                append("  " + value.getLocationText(), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+            }
+        };
+    }
+
+    @Override
+    public @Nullable Object getDataForItem(@NotNull WireMockRequestLocation element, @NotNull String dataId) {
+        return null;
+    }
+
+    /**
+     * Factory registering the contributor for a project.
+     */
+    public static class Factory implements SearchEverywhereContributorFactory<WireMockRequestLocation> {
+
+        @Override
+        public @NotNull SearchEverywhereContributor<WireMockRequestLocation> createContributor(@NotNull AnActionEvent initEvent) {
+            return new WireMockStubSearchEverywhereContributor(initEvent.getRequiredData(CommonDataKeys.PROJECT));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Factory of the "WireMock" tool window.
+ * The explorer is only created when the tool window is opened for the first time.
+ */
+public class WireMockToolWindowFactory implements ToolWindowFactory, DumbAware {
+
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+        WireMockExplorerPanel panel = new WireMockExplorerPanel(project);
+        Content content = ContentFactory.getInstance().createContent(panel, "", false);
+        content.setDisposer(panel);
+        toolWindow.getContentManager().addContent(content);
+    }
+}
@@ -1,66 +1,131 @@
 package com.github.onbassnaga.wiremockjsonplugin;
 
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.IndexNotReadyException;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.Processor;
+import com.intellij.util.indexing.FileBasedIndex;
 
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for WireMock file operations.
+ * Path logic that does not depend on the VFS lives in {@link WireMockPaths}.
  */
 public class WireMockUtils {
 
     /**
-     * Checks if the given file is a WireMock mapping file.
+     * Registry key for the size in KB above which mapping files are handled in large file mode.
+     */
+    public static final String LARGE_MAPPING_FILE_THRESHOLD_KEY = "wiremock.json.large.mapping.file.threshold.kb";
+
+    /**
+     * Registry key for the size in KB above which body files are handled in large file mode.
+     */
+    public static final String LARGE_BODY_FILE_THRESHOLD_KEY = "wiremock.json.large.body.file.threshold.kb";
+
+    /**
+     * Id of the notification group for errors caused by the WireMock files of a project.
+     */
+    public static final String NOTIFICATION_GROUP_ID = "WireMock";
+
+    /**
+     * Shows an error about the WireMock files of a project in a balloon, for problems the user can fix.
+     *
+     * @param project The current project
+     * @param title The title of the notification
+     * @param content The message as plain text, may contain several lines
+     */
+    public static void notifyError(Project project, String title, String content) {
+        NotificationGroupManager.getInstance().getNotificationGroup(NOTIFICATION_GROUP_ID)
+                .createNotification(title, StringUtil.escapeXmlEntities(content).replace("\n", "<br/>"), NotificationType.ERROR)
+                .notify(project);
+    }
+
+    /**
+     * Checks if the given file is a WireMock mapping file of the default layout.
      *
      * @param file The file to check
      * @return true if the file is a WireMock mapping file, false otherwise
      */
     public static boolean isMappingFile(VirtualFile file) {
-        if (file == null) return false;
+        return WireMockRootLayout.DEFAULT.isMappingFile(file);
+    }
 
-        // Check if the file has a .json extension
-        String extension = file.getExtension();
-        if (extension == null || !extension.equalsIgnoreCase("json")) {
-            return false;
-        }
+    /**
+     * Checks if the given file is a WireMock mapping file of the layout configured for the project.
+     *
+     * @param project The current project
+     * @param file The file to check
+     * @return true if the file is a WireMock mapping file, false otherwise
+     */
+    public static boolean isMappingFile(Project project, VirtualFile file) {
+        return WireMockLayoutSettings.getLayout(project).isMappingFile(file);
+    }
 
-        // Check if the file is in a "mappings" directory or has a parent directory that is in a "mappings" directory
-        VirtualFile parent = file.getParent();
-        while (parent != null) {
-            if ("mappings".equals(parent.getName())) {
-                return true;
-            }
-            parent = parent.getParent();
-        }
+    /**
+     * Checks if the given mapping file is large enough to be handled in large file mode.
+     * In large file mode the file is opened as plain text, see {@link WireMockLargeFileTypeOverrider},
+     * and bodyFileName values are found with {@link WireMockJsonScanner} instead of visiting a JSON PSI tree.
+     *
+     * @param file The mapping file to check
+     * @return true if the file is larger than the configured threshold, false otherwise
+     */
+    public static boolean isLargeMappingFile(VirtualFile file) {
+        return file != null && file.getLength() > Registry.intValue(LARGE_MAPPING_FILE_THRESHOLD_KEY) * 1024L;
+    }
 
-        return false;
+    /**
+     * Checks if the given body file is large enough to be handled in large file mode.
+     * In large file mode the file is opened as plain text with a preview, see {@link WireMockLargeFileTypeOverrider}
+     * and {@link WireMockLargeBodyFileEditorProvider}. The size is checked first, so small files never match the layout.
+     *
+     * @param project The current project
+     * @param file The file to check
+     * @return true if the file is a body file larger than the configured threshold, false otherwise
+     */
+    public static boolean isLargeBodyFile(Project project, VirtualFile file) {
+        return file != null && !file.isDirectory()
+                && file.getLength() > Registry.intValue(LARGE_BODY_FILE_THRESHOLD_KEY) * 1024L
+                && isBodyFile(project, file);
     }
 
     /**
-     * Checks if the given file is a WireMock body file.
+     * Checks if the given file is a WireMock body file of the default layout.
      *
      * @param file The file to check
      * @return true if the file is a WireMock body file, false otherwise
      */
     public static boolean isBodyFile(VirtualFile file) {
-        if (file == null) return false;
-
-        // Check if the file is in a "__files" directory or has a parent directory that is in a "__files" directory
-        VirtualFile parent = file.getParent();
-        while (parent != null) {
-            if ("__files".equals(parent.getName())) {
-                return true;
-            }
-            parent = parent.getParent();
-        }
+        return WireMockRootLayout.DEFAULT.isBodyFile(file);
+    }
 
-        return false;
+    /**
+     * Checks if the given file is a WireMock body file of the layout configured for the project.
+     *
+     * @param project The current project
+     * @param file The file to check
+     * @return true if the file is a WireMock body file, false otherwise
+     */
+    public static boolean isBodyFile(Project project, VirtualFile file) {
+        return WireMockLayoutSettings.getLayout(project).isBodyFile(file);
     }
 
     /**
@@ -70,55 +135,43 @@ public class WireMockUtils {
      * @return The "__files" directory if found, null otherwise
      */
     public static VirtualFile findFilesDirectory(VirtualFile startDir) {
-        if (startDir == null) return null;
-
-        // Traverse up to find the "__files" directory
-        VirtualFile currentDir = startDir;
-        while (currentDir != null) {
-            VirtualFile filesDir = currentDir.findChild("__files");
-            if (filesDir != null && filesDir.isDirectory()) {
-                return filesDir;
-            }
-            currentDir = currentDir.getParent();
-        }
+        return startDir != null ? WireMockRootLayout.DEFAULT.findFilesDirectory(startDir) : null;
+    }
 
-        return null;
+    /**
+     * Gets the corresponding body file for a bodyFileName value in a mapping file of the default layout.
+     *
+     * @param mappingFile The mapping file
+     * @param bodyFileName The bodyFileName value from the mapping file
+     * @return The VirtualFile of the body file if it exists, null otherwise
+     */
+    public static VirtualFile getBodyFile(VirtualFile mappingFile, String bodyFileName) {
+        return getBodyFile(WireMockRootLayout.DEFAULT, mappingFile, bodyFileName);
     }
 
     /**
      * Gets the corresponding body file for a bodyFileName value in a mapping file.
      *
+     * @param layout The layout of the WireMock roots
      * @param mappingFile The mapping file
      * @param bodyFileName The bodyFileName value from the mapping file
      * @return The VirtualFile of the body file if it exists, null otherwise
      */
-    public static VirtualFile getBodyFile(VirtualFile mappingFile, String bodyFileName) {
+    public static VirtualFile getBodyFile(WireMockRootLayout layout, VirtualFile mappingFile, String bodyFileName) {
         if (mappingFile == null || bodyFileName == null || bodyFileName.isEmpty()) {
             return null;
         }
 
         // Find the mappings directory
-        VirtualFile mappingsDir = null;
-        VirtualFile parent = mappingFile.getParent();
-        while (parent != null) {
-            if ("mappings".equals(parent.getName())) {
-                mappingsDir = parent;
-                break;
-            }
-            parent = parent.getParent();
-        }
-
+        VirtualFile mappingsDir = layout.findMappingsDirectory(mappingFile);
         if (mappingsDir == null) return null;
 
-        // Find the "__files" directory
-        VirtualFile filesDir = findFilesDirectory(mappingsDir);
+        // Find the body file directory
+        VirtualFile filesDir = layout.findFilesDirectory(mappingsDir);
         if (filesDir == null) return null;
 
         // Normalize the bodyFileName path (it might start with /)
-        String normalizedBodyFileName = bodyFileName;
-        if (normalizedBodyFileName.startsWith("/")) {
-            normalizedBodyFileName = normalizedBodyFileName.substring(1);
-        }
+        String normalizedBodyFileName = normalizeBodyFileName(bodyFileName);
 
         // Split the path and navigate through the directory structure
         String[] pathParts = normalizedBodyFileName.split("/");
@@ -134,81 +187,151 @@ public class WireMockUtils {
         return currentDir.findChild(pathParts[pathParts.length - 1]);
     }
 
+    /**
+     * Gets the corresponding body file for a bodyFileName value, using the root registry of the project.
+     *
+     * @param project The current project
+     * @param mappingFile The mapping file
+     * @param bodyFileName The bodyFileName value from the mapping file
+     * @return The VirtualFile of the body file if it exists, null otherwise
+     */
+    public static VirtualFile findBodyFile(Project project, VirtualFile mappingFile, String bodyFileName) {
+        if (bodyFileName == null || bodyFileName.isEmpty()) return null;
+
+        long start = System.nanoTime();
+        try {
+            return findBodyFileInRoot(project, mappingFile, bodyFileName);
+        } finally {
+            WireMockMetrics.getInstance().record(WireMockMetrics.Operation.FIND_BODY_FILE, start);
+        }
+    }
+
+    private static VirtualFile findBodyFileInRoot(Project project, VirtualFile mappingFile, String bodyFileName) {
+        WireMockRoot root = WireMockRootRegistry.getInstance(project).findRoot(mappingFile);
+        if (root == null || root.getMappingsDir() == null || root.getFilesDir() == null) return null;
+
+        VirtualFile bodyFile = root.getFilesDir().findFileByRelativePath(normalizeBodyFileName(bodyFileName));
+        return bodyFile != null && !bodyFile.isDirectory() ? bodyFile : null;
+    }
+
+    /**
+     * Gets the corresponding body file for a bodyFileName value, using a per-mapping-file cache.
+     * The cache is only dropped when the structure of a WireMock directory changes (see {@link WireMockModificationTracker}),
+     * so editing the mapping file itself does not cause existing references to be resolved again.
+     *
+     * @param mappingFile The mapping file
+     * @param bodyFileName The bodyFileName value from the mapping file
+     * @return The VirtualFile of the body file if it exists, null otherwise
+     */
+    public static VirtualFile resolveBodyFile(PsiFile mappingFile, String bodyFileName) {
+        if (mappingFile == null || bodyFileName == null || bodyFileName.isEmpty()) {
+            return null;
+        }
+
+        PsiFile originalFile = mappingFile.getOriginalFile();
+        VirtualFile virtualFile = originalFile.getVirtualFile();
+        if (virtualFile == null) return null;
+
+        Map<String, Optional<VirtualFile>> cache = CachedValuesManager.getCachedValue(originalFile, () ->
+                CachedValueProvider.Result.create(new ConcurrentHashMap<>(), WireMockModificationTracker.getInstance()));
+
+        Optional<VirtualFile> cached = cache.get(bodyFileName);
+        boolean hit = cached != null && (cached.isEmpty() || cached.get().isValid());
+        WireMockMetrics.getInstance().recordLookup(WireMockMetrics.Cache.RESOLVED_BODY_FILES, hit);
+        if (!hit) {
+            cached = Optional.ofNullable(findBodyFile(originalFile.getProject(), virtualFile, bodyFileName));
+            cache.put(bodyFileName, cached);
+        }
+        return cached.orElse(null);
+    }
+
     /**
      * Finds all mapping files that reference a specific body file.
+     * The lookup is answered by {@link WireMockBodyFileIndex} and does not load PSI or file contents.
+     *
+     * @param project The current project
+     * @param bodyFile The body file to find references to
+     * @return A list of mapping files that reference the body file, sorted by path
+     */
+    public static List<VirtualFile> findMappingFilesReferencingBodyFile(Project project, VirtualFile bodyFile) {
+        Set<VirtualFile> result = new LinkedHashSet<>();
+        processStubsReferencingBodyFile(project, bodyFile, location -> {
+            result.add(location.getMappingFile());
+            return true;
+        });
+        List<VirtualFile> sorted = new ArrayList<>(result);
+        sorted.sort(Comparator.comparing(VirtualFile::getPath));
+        return sorted;
+    }
+
+    /**
+     * Processes the stubs that reference a specific body file one by one, as they are found in the index.
+     * Multi stub mapping files report every matching stub separately.
+     * While the IDE is indexing, the stubs are taken from {@link WireMockBodyFileSnapshot}.
+     * The recorded time includes the time spent in the processor.
      *
      * @param project The current project
      * @param bodyFile The body file to find references to
-     * @return A list of mapping files that reference the body file
+     * @param processor The processor to feed the stubs to, may return false to stop the search
+     * @return false if the processor stopped the search, true otherwise
      */
-    public static List<PsiFile> findMappingFilesReferencingBodyFile(Project project, VirtualFile bodyFile) {
-        if (project == null || !isBodyFile(bodyFile)) {
-            return new ArrayList<>();
+    public static boolean processStubsReferencingBodyFile(Project project, VirtualFile bodyFile, Processor<? super WireMockStubLocation> processor) {
+        if (project == null || bodyFile == null) {
+            return true;
         }
 
-        // Find the "__files" directory
-        VirtualFile filesDir = null;
-        VirtualFile parent = bodyFile.getParent();
-        while (parent != null) {
-            if ("__files".equals(parent.getName())) {
-                filesDir = parent;
-                break;
-            }
-            parent = parent.getParent();
+        long start = System.nanoTime();
+        try {
+            return processStubsInRoot(project, bodyFile, processor);
+        } finally {
+            WireMockMetrics.getInstance().record(WireMockMetrics.Operation.PROCESS_STUBS, start);
         }
+    }
 
-        if (filesDir == null) return new ArrayList<>();
+    private static boolean processStubsInRoot(Project project, VirtualFile bodyFile, Processor<? super WireMockStubLocation> processor) {
 
-        // Find the "mappings" directory at the same level as "__files"
-        VirtualFile rootDir = filesDir.getParent();
-        if (rootDir == null) return new ArrayList<>();
+        // Find the "__files" and "mappings" directories of the root the body file belongs to
+        WireMockRootRegistry registry = WireMockRootRegistry.getInstance(project);
+        if (!registry.isBodyFile(bodyFile)) return true;
 
-        VirtualFile mappingsDir = rootDir.findChild("mappings");
-        if (mappingsDir == null) return new ArrayList<>();
+        WireMockRoot root = registry.findRoot(bodyFile);
+        if (root == null) return true;
+
+        VirtualFile filesDir = root.getFilesDir();
+        if (filesDir == null) return true;
+
+        // While the IDE is indexing, answer from the in-memory snapshot instead of the index
+        WireMockBodyFileSnapshot snapshot = WireMockBodyFileSnapshot.getInstance(project);
+        if (DumbService.isDumb(project)) {
+            return snapshot.processStubsReferencingBodyFile(bodyFile, processor);
+        }
 
         // Get the relative path of the body file from the "__files" directory
         String bodyFilePath = getRelativePath(filesDir, bodyFile);
 
-        // Find all JSON files in the mappings directory and its subdirectories
-        List<PsiFile> mappingFiles = new ArrayList<>();
-        findJsonFilesRecursively(project, mappingsDir, mappingFiles);
-
-        // Filter to only include mapping files that reference this body file
-        List<PsiFile> result = new ArrayList<>();
-        for (PsiFile psiFile : mappingFiles) {
-            String text = psiFile.getText();
-
-            // Check if the file contains a reference to the body file
-            if (text.contains("\"bodyFileName\"") && 
-                (text.contains("\"" + bodyFilePath + "\"") || 
-                 text.contains("\"/" + bodyFilePath + "\""))) {
-                result.add(psiFile);
-            }
+        // Query the index, restricted to the mapping files of the roots sharing this body file directory
+        try {
+            GlobalSearchScope scope = registry.getMappingFilesScope(root);
+            return FileBasedIndex.getInstance().processValues(WireMockBodyFileIndex.NAME, bodyFilePath, null, (mappingFile, entries) -> {
+                for (WireMockStubEntry entry : entries) {
+                    if (!processor.process(new WireMockStubLocation(mappingFile, entry))) return false;
+                }
+                return true;
+            }, scope);
+        } catch (IndexNotReadyException e) {
+            // Indexing started during the search, callers skip stubs they have already seen
+            return snapshot.processStubsReferencingBodyFile(bodyFile, processor);
         }
-
-        return result;
     }
 
     /**
-     * Recursively finds all JSON files in a directory and its subdirectories.
+     * Normalizes a bodyFileName value so that it is relative to the "__files" directory.
      *
-     * @param project The current project
-     * @param dir The directory to search in
-     * @param result The list to add found files to
-     */
-    private static void findJsonFilesRecursively(Project project, VirtualFile dir, List<PsiFile> result) {
-        if (dir == null) return;
-
-        for (VirtualFile child : dir.getChildren()) {
-            if (child.isDirectory()) {
-                findJsonFilesRecursively(project, child, result);
-            } else if ("json".equalsIgnoreCase(child.getExtension())) {
-                PsiFile psiFile = PsiManager.getInstance(project).findFile(child);
-                if (psiFile != null) {
-                    result.add(psiFile);
-                }
-            }
-        }
+     * @param bodyFileName The bodyFileName value from the mapping file
+     * @return The normalized path without a leading slash
+     */
+    public static String normalizeBodyFileName(String bodyFileName) {
+        return WireMockPaths.normalizeBodyFileName(bodyFileName);
     }
 
     /**
@@ -219,8 +342,6 @@ public class WireMockUtils {
      * @return The relative path as a string
      */
     public static String getRelativePath(VirtualFile baseDir, VirtualFile file) {
-        Path basePath = Paths.get(baseDir.getPath());
-        Path filePath = Paths.get(file.getPath());
-        return basePath.relativize(filePath).toString().replace("\\", "/");
+        return WireMockPaths.getRelativePath(Paths.get(baseDir.getPath()), Paths.get(file.getPath()));
     }
 }
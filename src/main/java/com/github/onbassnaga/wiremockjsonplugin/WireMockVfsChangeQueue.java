@@ -0,0 +1,98 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.util.ui.update.MergingUpdateQueue;
+import com.intellij.util.ui.update.Update;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces structural changes of WireMock directories reported by {@link WireMockVfsListener}.
+ * Changes arriving within {@link #DELAY_MS} of each other are merged into one update, which invalidates the cached
+ * bodyFileName resolutions once and restarts the daemon only for the open mapping files of the affected roots.
+ */
+@Service(Service.Level.PROJECT)
+public final class WireMockVfsChangeQueue implements Disposable {
+
+    private static final int DELAY_MS = 300;
+
+    private final Project project;
+    private final MergingUpdateQueue queue;
+    private final Set<String> pendingRootPaths = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pendingAdded = new AtomicBoolean();
+
+    public WireMockVfsChangeQueue(Project project) {
+        this.project = project;
+        this.queue = new MergingUpdateQueue("WireMock VFS changes", DELAY_MS, true, null, this);
+    }
+
+    public static WireMockVfsChangeQueue getInstance(Project project) {
+        return project.getService(WireMockVfsChangeQueue.class);
+    }
+
+    /**
+     * Adds changes to the next update.
+     *
+     * @param rootPaths The paths of the affected WireMock root directories
+     * @param added true if files may have been created, moved or renamed, false if they were only deleted
+     */
+    public void add(@NotNull Collection<String> rootPaths, boolean added) {
+        pendingRootPaths.addAll(rootPaths);
+        if (added) {
+            pendingAdded.set(true);
+        }
+        queue.queue(Update.create(this, this::flush));
+    }
+
+    private void flush() {
+        if (project.isDisposed()) return;
+
+        List<String> rootPaths = new ArrayList<>(pendingRootPaths);
+        pendingRootPaths.removeAll(rootPaths);
+
+        // Deleted body files are detected when cached resolutions are used, so only additions invalidate them
+        if (pendingAdded.getAndSet(false)) {
+            WireMockModificationTracker.getInstance().incModificationCount();
+        }
+
+        // Restart the daemon once for every open mapping file of an affected root
+        WireMockRootRegistry registry = WireMockRootRegistry.getInstance(project);
+        WireMockRootLayout layout = WireMockLayoutSettings.getInstance(project).getLayout();
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (VirtualFile file : FileEditorManager.getInstance(project).getOpenFiles()) {
+            if (!file.isValid() || !registry.isMappingFile(file)) continue;
+
+            // The body file directory of a root may be shared and located above the mappings directory
+            WireMockRoot root = registry.findRoot(file);
+            if (root == null || !(isAffected(layout, root.getMappingsDir(), rootPaths) || isAffected(layout, root.getFilesDir(), rootPaths))) continue;
+
+            PsiFile psiFile = psiManager.findFile(file);
+            if (psiFile != null) {
+                DaemonCodeAnalyzer.getInstance(project).restart(psiFile);
+            }
+        }
+    }
+
+    private static boolean isAffected(WireMockRootLayout layout, VirtualFile dir, List<String> rootPaths) {
+        String rootPath = dir != null ? layout.getRootPath(dir.getPath()) : null;
+        return rootPath != null && rootPaths.contains(rootPath);
+    }
+
+    @Override
+    public void dispose() {
+        pendingRootPaths.clear();
+    }
+}
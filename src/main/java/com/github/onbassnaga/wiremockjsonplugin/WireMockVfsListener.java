@@ -0,0 +1,91 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileContentChangeEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Listens for VFS changes that can affect bodyFileName resolution.
+ * Content changes are ignored because they never change which body file a path resolves to.
+ * Events are only collected here; they are handed to {@link WireMockVfsChangeQueue} of every open project,
+ * which coalesces bursts (e.g. WireMock record mode writing thousands of files) into a single update.
+ * Paths are matched with the {@link WireMockRootLayout} of each project.
+ */
+public class WireMockVfsListener implements BulkFileListener {
+
+    @Override
+    public void after(@NotNull List<? extends @NotNull VFileEvent> events) {
+        for (Project project : ProjectManager.getInstance().getOpenProjects()) {
+            if (project.isDisposed()) continue;
+
+            // Collect the affected WireMock root directories, usually only one per batch
+            WireMockRootLayout layout = WireMockLayoutSettings.getInstance(project).getLayout();
+            Set<String> rootPaths = new LinkedHashSet<>();
+            boolean added = false;
+            for (VFileEvent event : events) {
+                if (!isRelevant(event, layout, rootPaths)) continue;
+
+                // Deleted files are detected when they are resolved, everything else can make a missing body file appear
+                added |= !(event instanceof VFileDeleteEvent);
+            }
+            if (!rootPaths.isEmpty()) {
+                WireMockVfsChangeQueue.getInstance(project).add(rootPaths, added);
+            }
+        }
+    }
+
+    /**
+     * Checks if the given event changes the structure of a WireMock directory, and collects the affected root paths.
+     */
+    static boolean isRelevant(VFileEvent event, WireMockRootLayout layout, Set<String> rootPaths) {
+        if (event instanceof VFileContentChangeEvent) return false;
+        if (event instanceof VFilePropertyChangeEvent propertyChangeEvent && !propertyChangeEvent.isRename()) return false;
+
+        boolean relevant = addRootPath(rootPaths, layout, event.getPath());
+        if (event instanceof VFileMoveEvent moveEvent) {
+            relevant |= addRootPath(rootPaths, layout, moveEvent.getOldPath());
+        } else if (event instanceof VFilePropertyChangeEvent propertyChangeEvent) {
+            relevant |= addRootPath(rootPaths, layout, propertyChangeEvent.getOldPath());
+        }
+        return relevant;
+    }
+
+    /**
+     * Checks if the given event can change which WireMock root a directory belongs to, i.e. if it creates a layout
+     * directory or deletes, moves, renames or copies a directory. {@link WireMockRootRegistry} decides which
+     * directories and roots are actually affected.
+     * Files created in or deleted from existing WireMock directories, the bulk of the events in record mode, never do.
+     */
+    static boolean isRootStructureChange(VFileEvent event, WireMockRootLayout layout) {
+        if (event instanceof VFileContentChangeEvent) return false;
+        if (event instanceof VFilePropertyChangeEvent propertyChangeEvent && !propertyChangeEvent.isRename()) return false;
+
+        if (event instanceof VFileCreateEvent createEvent) {
+            return createEvent.isDirectory() && layout.isDirectoryName(createEvent.getChildName());
+        }
+
+        // Deleting, moving, renaming or copying a directory may affect the roots below it
+        VirtualFile file = event.getFile();
+        return file != null && file.isDirectory();
+    }
+
+    private static boolean addRootPath(Set<String> rootPaths, WireMockRootLayout layout, String path) {
+        String rootPath = layout.getRootPath(path);
+        if (rootPath == null) return false;
+
+        rootPaths.add(rootPath);
+        return true;
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.codeInsight.daemon.RelatedItemLineMarkerInfo;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.SyntaxTraverser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Performance tests for the annotator and the line marker provider on a large multi stub mapping file.
+ */
+public class WireMockHighlightingPerformanceTest extends WireMockPerformanceTestCase {
+
+    private static final int STUBS = 1000;
+
+    private PsiFile mappingFile;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        WireMockFixtureGenerator.Fixture fixture = generateRoot(new WireMockFixtureGenerator.Options()
+                .mappingFiles(1)
+                .stubsPerFile(STUBS)
+                .bodyFiles(STUBS)
+                .depth(2));
+        myFixture.configureFromExistingVirtualFile(findFile(fixture.getMappingFiles().get(0)));
+        mappingFile = myFixture.getFile();
+    }
+
+    public void testAnnotateMappingFile() throws Throwable {
+        assertFalse("The mapping file must not be handled in large file mode",
+                WireMockUtils.isLargeMappingFile(mappingFile.getVirtualFile()));
+
+        assertTiming("Highlighting a mapping file with " + STUBS + " stubs", 3000, () -> {
+            DaemonCodeAnalyzer.getInstance(getProject()).restart(mappingFile);
+            assertNotEmpty(myFixture.doHighlighting());
+        });
+    }
+
+    public void testCollectLineMarkers() throws Throwable {
+        List<PsiElement> elements = SyntaxTraverser.psiTraverser(mappingFile).toList();
+        WireMockLineMarkerProvider provider = new WireMockLineMarkerProvider();
+
+        assertTiming("Collecting line markers for " + STUBS + " stubs", 1000, () -> {
+            List<RelatedItemLineMarkerInfo<?>> markers = new ArrayList<>();
+            provider.collectNavigationMarkers(elements, markers, false);
+            assertEquals(STUBS, markers.size());
+        });
+    }
+}
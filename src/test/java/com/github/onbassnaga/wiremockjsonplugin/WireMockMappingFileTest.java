@@ -0,0 +1,192 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.codeInsight.daemon.GutterMark;
+import com.intellij.codeInsight.daemon.LineMarkerInfo;
+import com.intellij.codeInsight.daemon.RelatedItemLineMarkerInfo;
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.codeInsight.intention.IntentionAction;
+import com.intellij.json.psi.JsonFile;
+import com.intellij.navigation.GotoRelatedItem;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.openapi.util.registry.RegistryValue;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiReference;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Functional tests for the bodyFileName support in mapping files: references, annotations, intentions and line markers.
+ */
+public class WireMockMappingFileTest extends BasePlatformTestCase {
+
+    private static final String MAPPING = """
+            {
+              "request": {"method": "GET", "url": "/users"},
+              "response": {"status": 200, "bodyFileName": "%s"}
+            }
+            """;
+
+    private PsiFile bodyFile;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        bodyFile = myFixture.addFileToProject("wiremock/__files/users/list.json", "[]");
+    }
+
+    public void testReferenceResolvesToBodyFile() {
+        configureMapping("users/list.json");
+
+        PsiReference reference = myFixture.getReferenceAtCaretPositionWithAssertion();
+        assertInstanceOf(reference, WireMockBodyFileReference.class);
+        assertEquals(bodyFile, reference.resolve());
+    }
+
+    public void testReferenceWithLeadingSlashResolvesToBodyFile() {
+        configureMapping("/users/list.json");
+
+        assertEquals(bodyFile, myFixture.getReferenceAtCaretPositionWithAssertion().resolve());
+    }
+
+    public void testExistingBodyFileIsAnnotatedAsNavigable() {
+        configureMapping("users/list.json");
+
+        assertEquals(List.of("Click to navigate to body file"), getBodyFileNameTooltips());
+        assertNotNull(myFixture.getAvailableIntention("Go to body file"));
+        assertNull(myFixture.getAvailableIntention("Create body file"));
+    }
+
+    public void testMissingBodyFileIsAnnotatedAsCreatable() {
+        configureMapping("users/missing.json");
+
+        assertEquals(List.of("Click to create body file"), getBodyFileNameTooltips());
+        assertNull(myFixture.getReferenceAtCaretPositionWithAssertion().resolve());
+
+        IntentionAction intention = myFixture.findSingleIntention("Create body file");
+        myFixture.launchAction(intention);
+
+        VirtualFile created = bodyFile.getVirtualFile().getParent().findChild("missing.json");
+        assertNotNull("The body file must be created next to the existing one", created);
+        assertEquals(created, ((WireMockBodyFileReference) myFixture.getReferenceAtCaretPositionWithAssertion()).resolveFile());
+    }
+
+    public void testLineMarkerNavigatesToBodyFile() {
+        configureMapping("users/list.json");
+        myFixture.doHighlighting();
+
+        List<GutterMark> gutters = myFixture.findAllGutters();
+        assertEquals(1, gutters.size());
+        assertEquals("Go to file", gutters.get(0).getTooltipText());
+
+        LineMarkerInfo<?> info = ((LineMarkerInfo.LineMarkerGutterIconRenderer<?>) gutters.get(0)).getLineMarkerInfo();
+        List<PsiFile> targets = new ArrayList<>();
+        for (GotoRelatedItem item : ((RelatedItemLineMarkerInfo<?>) info).createGotoRelatedItems()) {
+            targets.add((PsiFile) item.getElement());
+        }
+        assertEquals(List.of(bodyFile), targets);
+    }
+
+    public void testMissingBodyFileHasNoLineMarker() {
+        configureMapping("users/missing.json");
+        myFixture.doHighlighting();
+
+        assertEmpty(myFixture.findAllGutters());
+    }
+
+    public void testJsonFileOutsideMappingsIsIgnored() {
+        configure("wiremock/other/users.json", "users/list.json");
+
+        assertEmpty(getBodyFileNameTooltips());
+        assertEmpty(myFixture.findAllGutters());
+        assertNull(myFixture.getReferenceAtCaretPosition());
+    }
+
+    public void testStubsReferencingBodyFileAreFound() {
+        VirtualFile mappingFile = myFixture.addFileToProject("wiremock/mappings/users.json", """
+                {
+                  "mappings": [
+                    {"name": "list", "request": {"url": "/users"}, "response": {"bodyFileName": "users/list.json"}},
+                    {"name": "other", "request": {"url": "/other"}, "response": {"bodyFileName": "other.json"}},
+                    {"name": "page", "request": {"url": "/users?page=1"}, "response": {"bodyFileName": "/users/list.json"}}
+                  ]
+                }
+                """).getVirtualFile();
+
+        List<WireMockStubLocation> locations = new ArrayList<>();
+        WireMockUtils.processStubsReferencingBodyFile(getProject(), bodyFile.getVirtualFile(), locations::add);
+
+        assertEquals(List.of(mappingFile, mappingFile), locations.stream().map(WireMockStubLocation::getMappingFile).toList());
+        assertEquals(List.of("list", "page"), locations.stream().map(location -> location.getEntry().getName()).toList());
+        assertEquals(List.of(mappingFile), WireMockUtils.findMappingFilesReferencingBodyFile(getProject(), bodyFile.getVirtualFile()));
+    }
+
+    public void testUnnamedStubsOfMultiStubFileShowTheirPosition() {
+        myFixture.addFileToProject("wiremock/mappings/users.json", """
+                {
+                  "mappings": [
+                    {"request": {"url": "/users"}, "response": {"bodyFileName": "users/list.json"}},
+                    {"request": {"url": "/users?page=1"}, "response": {"bodyFileName": "users/list.json"}}
+                  ]
+                }
+                """);
+        myFixture.addFileToProject("wiremock/mappings/single.json", MAPPING.formatted("users/list.json"));
+
+        List<WireMockStubLocation> locations = new ArrayList<>();
+        WireMockUtils.processStubsReferencingBodyFile(getProject(), bodyFile.getVirtualFile(), locations::add);
+
+        assertSameElements(locations.stream().map(WireMockStubLocation::getPresentableText).toList(),
+                "users.json - stub #1", "users.json - stub #2", "single.json");
+    }
+
+    public void testRenamingBodyFileUpdatesLargeMappingFile() {
+        RegistryValue threshold = Registry.get(WireMockUtils.LARGE_MAPPING_FILE_THRESHOLD_KEY);
+        int previous = threshold.asInteger();
+        threshold.setValue(1);
+        try {
+            String padding = "x".repeat(2048);
+            PsiFile largeMappingFile = myFixture.addFileToProject("wiremock/mappings/large.json", """
+                    {"request": {"url": "/users"}, "response": {"bodyFileName": "/users/list.json", "headers": {"X-Padding": "%s"}}}
+                    """.formatted(padding));
+            assertFalse("The mapping file must be above the large file threshold", largeMappingFile instanceof JsonFile);
+            PsiFile mappingFile = myFixture.addFileToProject("wiremock/mappings/users.json", MAPPING.formatted("users/list.json"));
+
+            myFixture.renameElement(bodyFile, "all.json");
+
+            assertEquals(MAPPING.formatted("users/all.json"), mappingFile.getText());
+            assertTrue(largeMappingFile.getViewProvider().getDocument().getText().contains("\"bodyFileName\": \"/users/all.json\""));
+        } finally {
+            threshold.setValue(previous);
+        }
+    }
+
+    private void configureMapping(String bodyFileName) {
+        configure("wiremock/mappings/users.json", bodyFileName);
+    }
+
+    /**
+     * Opens a mapping file with the given bodyFileName value, with the caret on the value.
+     */
+    private void configure(String path, String bodyFileName) {
+        String text = MAPPING.formatted(bodyFileName);
+        PsiFile file = myFixture.addFileToProject(path, text);
+        myFixture.configureFromExistingVirtualFile(file.getVirtualFile());
+        myFixture.getEditor().getCaretModel().moveToOffset(text.indexOf(bodyFileName));
+    }
+
+    /**
+     * Gets the tooltips of the annotations on bodyFileName values.
+     */
+    private List<String> getBodyFileNameTooltips() {
+        List<String> tooltips = new ArrayList<>();
+        for (HighlightInfo info : myFixture.doHighlighting()) {
+            String tooltip = info.getToolTip();
+            if (tooltip != null && tooltip.contains("body file")) {
+                tooltips.add(tooltip.replaceAll("<[^>]+>", ""));
+            }
+        }
+        return tooltips;
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import com.intellij.util.ThrowableRunnable;
+
+import java.io.IOException;
+
+/**
+ * Base class for performance tests on generated WireMock roots.
+ * Time budgets can be scaled for slow machines with the system property "wiremock.performance.factor".
+ */
+public abstract class WireMockPerformanceTestCase extends BasePlatformTestCase {
+
+    private static final int RUNS = 3;
+
+    protected VirtualFile rootDir;
+
+    /**
+     * Generates a WireMock root into the temp directory of the test project.
+     */
+    protected WireMockFixtureGenerator.Fixture generateRoot(WireMockFixtureGenerator.Options options) throws IOException {
+        rootDir = myFixture.getTempDirFixture().findOrCreateDir("wiremock");
+        return WriteAction.compute(() -> WireMockFixtureGenerator.generate(options, (relativePath, content) -> {
+            int separator = relativePath.lastIndexOf('/');
+            VirtualFile dir = VfsUtil.createDirectoryIfMissing(rootDir, relativePath.substring(0, separator));
+            VirtualFile file = dir.createChildData(this, relativePath.substring(separator + 1));
+            VfsUtil.saveText(file, content);
+        }));
+    }
+
+    /**
+     * Finds a generated file.
+     */
+    protected VirtualFile findFile(String relativePath) {
+        VirtualFile file = rootDir.findFileByRelativePath(relativePath);
+        assertNotNull("Generated file not found: " + relativePath, file);
+        return file;
+    }
+
+    /**
+     * Runs an operation once to warm up, then fails if the fastest of the following runs exceeds the budget.
+     */
+    protected static void assertTiming(String what, long budgetMillis, ThrowableRunnable<?> operation) throws Throwable {
+        operation.run();
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        long budget = (long) (budgetMillis * Double.parseDouble(System.getProperty("wiremock.performance.factor", "1")));
+        assertTrue(what + " took " + best + " ms, the budget is " + budget + " ms", best <= budget);
+    }
+}
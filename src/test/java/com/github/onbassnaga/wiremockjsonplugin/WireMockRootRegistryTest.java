@@ -0,0 +1,92 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.List;
+
+/**
+ * Tests that the root registry keeps its roots across unrelated directory changes and picks up changed roots.
+ */
+public class WireMockRootRegistryTest extends BasePlatformTestCase {
+
+    private WireMockRootRegistry registry;
+    private VirtualFile mappingFile;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        registry = WireMockRootRegistry.getInstance(getProject());
+        mappingFile = myFixture.addFileToProject("wiremock/mappings/users/get.json", "{}").getVirtualFile();
+        myFixture.addFileToProject("wiremock/__files/users.json", "[]");
+        myFixture.addFileToProject("other/data/file.json", "{}");
+    }
+
+    public void testUnrelatedDirectoryChangesKeepRoots() throws Exception {
+        List<WireMockRoot> roots = registry.getRoots();
+        WireMockRoot root = registry.findRoot(mappingFile);
+        long modificationCount = registry.getRootsModificationCount();
+
+        VirtualFile dataDir = myFixture.findFileInTempDir("other/data");
+        WriteAction.run(() -> dataDir.rename(this, "renamed"));
+        WriteAction.run(() -> dataDir.delete(this));
+        WriteAction.run(() -> mappingFile.getParent().createChildDirectory(this, "orders"));
+
+        assertEquals(modificationCount, registry.getRootsModificationCount());
+        assertSame(roots, registry.getRoots());
+        assertSame(root, registry.findRoot(mappingFile));
+    }
+
+    public void testDirectoriesInsideRootsKeepRoots() throws Exception {
+        List<WireMockRoot> roots = registry.getRoots();
+        long modificationCount = registry.getRootsModificationCount();
+
+        WriteAction.run(() -> mappingFile.getParent().rename(this, "customers"));
+
+        assertEquals(modificationCount, registry.getRootsModificationCount());
+        assertSame(roots, registry.getRoots());
+        assertTrue(registry.isMappingFile(mappingFile));
+    }
+
+    public void testCreatedMappingsDirectoryAddsRoot() throws Exception {
+        assertEquals(1, registry.getRoots().size());
+        long modificationCount = registry.getRootsModificationCount();
+
+        VirtualFile otherDir = myFixture.findFileInTempDir("other");
+        VirtualFile otherMappingFile = WriteAction.compute(() -> otherDir.createChildDirectory(this, "mappings").createChildData(this, "get.json"));
+
+        assertTrue(registry.getRootsModificationCount() > modificationCount);
+        assertEquals(2, registry.getRoots().size());
+        assertTrue(registry.isMappingFile(otherMappingFile));
+    }
+
+    public void testRenamedRootDirectoryDropsRoot() throws Exception {
+        assertTrue(registry.isMappingFile(mappingFile));
+
+        VirtualFile mappingsDir = myFixture.findFileInTempDir("wiremock/mappings");
+        WriteAction.run(() -> mappingsDir.rename(this, "stubs"));
+
+        assertFalse(registry.isMappingFile(mappingFile));
+        assertNull(registry.findMappingsRoot(mappingFile));
+
+        WriteAction.run(() -> mappingsDir.rename(this, "mappings"));
+
+        assertTrue(registry.isMappingFile(mappingFile));
+    }
+
+    public void testMovedDirectoryWithRootAddsRoot() throws Exception {
+        VirtualFile stagingDir = WriteAction.compute(() -> myFixture.getTempDirFixture().findOrCreateDir("staging"));
+        VirtualFile stagedMappingFile = WriteAction.compute(() ->
+                stagingDir.createChildDirectory(this, "stubs").createChildDirectory(this, "mappings").createChildData(this, "get.json"));
+        VirtualFile targetDir = myFixture.findFileInTempDir("other");
+        assertEquals(2, registry.getRoots().size());
+
+        WriteAction.run(() -> stagedMappingFile.getParent().getParent().move(this, targetDir));
+
+        assertEquals(2, registry.getRoots().size());
+        WireMockRoot root = registry.findMappingsRoot(stagedMappingFile);
+        assertNotNull(root);
+        assertEquals(targetDir.getPath() + "/stubs/mappings", root.getMappingsDir().getPath());
+    }
+}
@@ -0,0 +1,132 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.json.psi.JsonFile;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.openapi.util.registry.RegistryValue;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests of {@link WireMockStubMatcher}: the winning stub, URL matcher kinds, value patterns and near miss failures.
+ */
+public class WireMockStubMatcherTest extends BasePlatformTestCase {
+
+    private static final String MAPPING_FILE = "wiremock/mappings/stubs.json";
+
+    public void testLowestPriorityWins() {
+        addMappings("""
+                {"mappings": [
+                  {"name": "default", "request": {"method": "GET", "urlPath": "/users"}},
+                  {"name": "preferred", "priority": 1, "request": {"method": "GET", "urlPath": "/users"}},
+                  {"name": "fallback", "priority": 10, "request": {"method": "ANY", "urlPathPattern": "/.*"}}
+                ]}
+                """);
+
+        List<WireMockMatchResult> results = findMatches(get("/users"));
+
+        assertEquals(List.of("preferred", "default", "fallback"), getNames(results));
+        assertTrue(results.stream().allMatch(WireMockMatchResult::isMatch));
+    }
+
+    public void testUrlMatcherKinds() {
+        addMappings("""
+                {"mappings": [
+                  {"name": "url", "request": {"url": "/users?page=1"}},
+                  {"name": "urlPath", "request": {"urlPath": "/users"}},
+                  {"name": "urlPattern", "request": {"urlPattern": "/users\\\\?page=[0-9]+"}},
+                  {"name": "urlPathPattern", "request": {"urlPathPattern": "/us.*"}},
+                  {"name": "any", "request": {"method": "GET"}}
+                ]}
+                """);
+
+        assertEquals(List.of("any", "url", "urlPath", "urlPathPattern", "urlPattern"), getMatchingNames(get("/users?page=1")));
+        assertEquals(List.of("any", "urlPath", "urlPathPattern"), getMatchingNames(get("/users?page=x")));
+        assertEquals(List.of("any", "urlPath", "urlPathPattern"), getMatchingNames(get("/users")));
+    }
+
+    public void testNearMissesListFailedCriteria() {
+        addMappings("""
+                {"mappings": [
+                  {"name": "post", "request": {"method": "POST", "urlPath": "/users",
+                    "headers": {"Content-Type": {"contains": "json"}},
+                    "bodyPatterns": [{"equalToJson": {"name": "Ann"}, "ignoreExtraElements": true}]}},
+                  {"name": "cookie", "request": {"method": "GET", "urlPath": "/users", "cookies": {"session": {"equalTo": "1"}}}}
+                ]}
+                """);
+
+        WireMockRequest request = new WireMockRequest("GET", "/users", Map.of("content-type", "text/plain"), "{\"name\": \"Bob\", \"age\": 3}");
+        List<WireMockMatchResult> results = findMatches(request);
+
+        assertEquals(List.of("cookie", "post"), getNames(results));
+        assertFalse(results.get(0).isMatch());
+        assertEquals(List.of("cookies (not evaluated)"), results.get(0).getFailures());
+        assertEquals(List.of("method POST", "header Content-Type contains json", "body equalToJson {\"name\": \"Ann\"}"),
+                results.get(1).getFailures());
+
+        WireMockRequest matching = new WireMockRequest("POST", "/users", Map.of("content-type", "application/json"), "{\"name\": \"Ann\", \"age\": 3}");
+        assertTrue(findMatches(matching).get(0).isMatch());
+    }
+
+    public void testRepeatedQueryParameterMatchesAnyValue() {
+        addMappings("""
+                {"request": {"urlPath": "/users", "queryParameters": {"role": {"equalTo": "admin"}, "team": {"absent": true}}}}
+                """);
+
+        assertTrue(findMatches(get("/users?role=user&role=admin")).get(0).isMatch());
+        assertEquals(List.of("query parameter role equalTo admin"), findMatches(get("/users?role=user")).get(0).getFailures());
+        assertEquals(List.of("query parameter team absent true"), findMatches(get("/users?role=admin&team=a")).get(0).getFailures());
+    }
+
+    public void testStubsOfLargeMappingFilesAreEvaluated() {
+        RegistryValue threshold = Registry.get(WireMockUtils.LARGE_MAPPING_FILE_THRESHOLD_KEY);
+        int previous = threshold.asInteger();
+        threshold.setValue(1);
+        try {
+            PsiFile file = addMappings("""
+                    {"mappings": [
+                      {"name": "other", "request": {"method": "GET", "urlPath": "/other"}, "response": {"body": "%s"}},
+                      {"name": "users", "request": {"method": "GET", "urlPath": "/users"}}
+                    ]}
+                    """.formatted("x".repeat(2048)));
+            assertFalse("The mapping file must be above the large file threshold", file instanceof JsonFile);
+
+            List<WireMockMatchResult> results = findMatches(get("/users"));
+
+            assertEquals("users", getNames(results).get(0));
+            assertTrue(results.get(0).isMatch());
+        } finally {
+            threshold.setValue(previous);
+        }
+    }
+
+    private PsiFile addMappings(String text) {
+        return myFixture.addFileToProject(MAPPING_FILE, text);
+    }
+
+    private List<WireMockMatchResult> findMatches(WireMockRequest request) {
+        VirtualFile mappingFile = myFixture.findFileInTempDir(MAPPING_FILE);
+        WireMockRoot root = WireMockRootRegistry.getInstance(getProject()).findRoot(mappingFile);
+        assertNotNull(root);
+        return WireMockStubMatcher.findMatches(getProject(), root, request);
+    }
+
+    private List<String> getMatchingNames(WireMockRequest request) {
+        return findMatches(request).stream()
+                .filter(WireMockMatchResult::isMatch)
+                .map(result -> result.getLocation().getEntry().getName())
+                .sorted()
+                .toList();
+    }
+
+    private static List<String> getNames(List<WireMockMatchResult> results) {
+        return results.stream().map(result -> result.getLocation().getEntry().getName()).toList();
+    }
+
+    private static WireMockRequest get(String url) {
+        return new WireMockRequest("GET", url, Map.of(), "");
+    }
+}
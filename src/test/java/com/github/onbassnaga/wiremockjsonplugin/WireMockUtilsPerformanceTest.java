@@ -0,0 +1,84 @@
+package com.github.onbassnaga.wiremockjsonplugin;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Performance tests for resolving body files and finding the stubs that reference them,
+ * on the lookups the annotator, the line markers and find usages go through.
+ */
+public class WireMockUtilsPerformanceTest extends WireMockPerformanceTestCase {
+
+    private static final int FILES = 2000;
+
+    private final List<VirtualFile> mappingFiles = new ArrayList<>();
+    private final List<VirtualFile> bodyFiles = new ArrayList<>();
+    private final List<String> bodyFileNames = new ArrayList<>();
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        WireMockFixtureGenerator.Fixture fixture = generateRoot(new WireMockFixtureGenerator.Options()
+                .mappingFiles(FILES)
+                .bodyFiles(FILES)
+                .depth(3)
+                .bodySize(512));
+        // Mapping file i references body file i
+        for (int i = 0; i < FILES; i++) {
+            mappingFiles.add(findFile(fixture.getMappingFiles().get(i)));
+            bodyFiles.add(findFile(WireMockPaths.FILES_DIRECTORY + "/" + fixture.getBodyFileNames().get(i)));
+            bodyFileNames.add("/" + fixture.getBodyFileNames().get(i));
+        }
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            mappingFiles.clear();
+            bodyFiles.clear();
+            bodyFileNames.clear();
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testResolveBodyFile() throws Throwable {
+        List<PsiFile> psiFiles = new ArrayList<>();
+        for (VirtualFile mappingFile : mappingFiles) {
+            psiFiles.add(PsiManager.getInstance(getProject()).findFile(mappingFile));
+        }
+
+        // Drop the cached resolutions before every run, so the uncached lookup is measured
+        assertTiming("resolveBodyFile for " + FILES + " mapping files", 500, () -> {
+            WireMockModificationTracker.getInstance().incModificationCount();
+            for (int i = 0; i < FILES; i++) {
+                assertEquals(bodyFiles.get(i), WireMockUtils.resolveBodyFile(psiFiles.get(i), bodyFileNames.get(i)));
+            }
+        });
+    }
+
+    public void testFindBodyFile() throws Throwable {
+        assertTiming("findBodyFile for " + FILES + " mapping files", 500, () -> {
+            for (int i = 0; i < FILES; i++) {
+                assertEquals(bodyFiles.get(i), WireMockUtils.findBodyFile(getProject(), mappingFiles.get(i), bodyFileNames.get(i)));
+            }
+        });
+    }
+
+    public void testProcessStubsReferencingBodyFile() throws Throwable {
+        assertTiming("processStubsReferencingBodyFile for " + FILES / 10 + " body files", 1000, () -> {
+            for (int i = 0; i < FILES; i += 10) {
+                List<WireMockStubLocation> locations = new ArrayList<>();
+                WireMockUtils.processStubsReferencingBodyFile(getProject(), bodyFiles.get(i), locations::add);
+
+                assertEquals(1, locations.size());
+                assertEquals(mappingFiles.get(i), locations.get(0).getMappingFile());
+                assertEquals(0, locations.get(0).getEntry().getIndex());
+            }
+        });
+    }
+}